@@ -2,8 +2,10 @@ package com.example.AccountSystem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AccountSystemApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,8 @@
+package com.example.AccountSystem.aop;
+
+import java.util.List;
+
+// 여러 계좌에 동시에 락이 필요한 요청 (이체)
+public interface AccountLockIdsInterface {
+    List<String> getAccountNumbers();
+}
@@ -0,0 +1,8 @@
+package com.example.AccountSystem.aop;
+
+// 요청 스레드에서 읽어 둔 Idempotency-Key, 락 안쪽 단계는 헤더 대신 이 값을 쓴다
+public interface IdempotencyKeyInterface {
+    String getIdempotencyKey();
+
+    void setIdempotencyKey(String idempotencyKey);
+}
@@ -2,10 +2,9 @@ package com.example.AccountSystem.aop;
 
 import java.lang.annotation.*;
 
+// @ShardKey 파라미터로 샤드를 정한 뒤 트랜잭션을 시작한다
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Inherited
-public @interface AccountLock {
-    long tryLockTime() default  5000L;
+public @interface ShardRouted {
 }
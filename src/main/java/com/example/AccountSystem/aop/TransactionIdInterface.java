@@ -0,0 +1,6 @@
+package com.example.AccountSystem.aop;
+
+// 기존 거래를 대상으로 하는 요청의 거래 아이디
+public interface TransactionIdInterface {
+    String getTransactionId();
+}
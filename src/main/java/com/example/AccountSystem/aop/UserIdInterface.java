@@ -0,0 +1,6 @@
+package com.example.AccountSystem.aop;
+
+// 사용자별 요청 제한에 쓰는 사용자 ID
+public interface UserIdInterface {
+    Long getUserId();
+}
@@ -0,0 +1,416 @@
+package com.example.AccountSystem.archive;
+
+import com.example.AccountSystem.type.TransactionResultType;
+import com.example.AccountSystem.type.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 보관된 거래의 불변 세그먼트 파일 (열 단위 저장, 읽기 전용 메모리 매핑)
+ *
+ * 행은 (계좌번호, 거래 시각) 순서로 정렬하고 열마다 따로 모아 쓴다.
+ * - 계좌번호는 행마다 쓰지 않고 계좌별 [시작 행, 끝 행) 표로 대신한다.
+ * - 거래 아이디(32자리 hex)는 16바이트로 저장하고, 아이디 순서로 정렬한 (아이디, 행) 색인을 둔다.
+ * - 거래 시각/금액/스냅샷은 열의 최솟값을 기준으로 한 차이를 1/2/4/8 바이트 중 필요한 폭으로 저장한다.
+ * - 관련 거래 아이디는 값이 있는 행만 (행, 아이디) 로 저장한다.
+ * 모든 열이 고정 폭이라 압축을 풀지 않고 매핑된 파일에서 바로 이진 탐색한다.
+ */
+final class ArchiveSegment {
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x54584152;
+    // 거래 종류/결과는 enum 순서로 저장하므로 순서를 바꾸면 VERSION 을 올린다
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 72;
+    private static final int ID_SIZE = 16;
+    private static final int ACCOUNT_ENTRY = 16;
+    private static final int RELATED_ENTRY = 4 + ID_SIZE;
+    private static final int INDEX_ENTRY = ID_SIZE + 4;
+
+    private static final int TRANSACTED_AT = 0;
+    private static final int AMOUNT = 1;
+    private static final int SNAPSHOT = 2;
+    private static final int COLUMNS = 3;
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final int accountCount;
+    private final int relatedCount;
+    private final long[] columnBase = new long[COLUMNS];
+    private final int[] columnWidth = new int[COLUMNS];
+    private final int[] columnOffset = new int[COLUMNS];
+    private final int idsOffset;
+    private final int typesOffset;
+    private final int relatedOffset;
+    private final int indexOffset;
+
+    private ArchiveSegment(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not an archive segment : " + file);
+        }
+        this.rowCount = buffer.getInt(8);
+        this.accountCount = buffer.getInt(12);
+        this.relatedCount = buffer.getInt(16);
+
+        int offset = HEADER_SIZE + accountCount * ACCOUNT_ENTRY;
+        this.idsOffset = offset;
+        offset += rowCount * ID_SIZE;
+        this.typesOffset = offset;
+        offset += rowCount;
+        for (int column = 0; column < COLUMNS; column++) {
+            columnBase[column] = buffer.getLong(24 + column * 16);
+            columnWidth[column] = buffer.getInt(32 + column * 16);
+            columnOffset[column] = offset;
+            offset += rowCount * columnWidth[column];
+        }
+        this.relatedOffset = offset;
+        offset += relatedCount * RELATED_ENTRY;
+        this.indexOffset = offset;
+    }
+
+    static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지된다
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ArchiveSegment(file, buffer);
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 세그먼트에 담을 수 있는 행인지 (아이디는 32자리 소문자 hex, 계좌번호는 0으로 시작하지 않는 숫자)
+     */
+    static boolean isArchivable(String transactionId, String accountNumber,
+                                String relatedTransactionId) {
+        return isHexId(transactionId)
+                && (relatedTransactionId == null || isHexId(relatedTransactionId))
+                && isNumericAccount(accountNumber);
+    }
+
+    ArchivedTransaction find(String transactionId) {
+        if (!isHexId(transactionId)) {
+            return null;
+        }
+        long high = Long.parseUnsignedLong(transactionId.substring(0, 16), 16);
+        long low = Long.parseUnsignedLong(transactionId.substring(16), 16);
+
+        int from = 0;
+        int to = rowCount - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int pos = indexOffset + mid * INDEX_ENTRY;
+            int cmp = Long.compareUnsigned(buffer.getLong(pos), high);
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(buffer.getLong(pos + 8), low);
+            }
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                int row = buffer.getInt(pos + ID_SIZE);
+                return readRow(row, accountNumberOfRow(row));
+            }
+        }
+        return null;
+    }
+
+    // 아이디 색인 순서로 모든 거래 아이디를 넘긴다
+    void forEachTransactionId(Consumer<String> action) {
+        for (int i = 0; i < rowCount; i++) {
+            int pos = indexOffset + i * INDEX_ENTRY;
+            action.accept(toHex(buffer.getLong(pos), buffer.getLong(pos + 8)));
+        }
+    }
+
+    /**
+     * 계좌의 [from, to) 기간 거래를 거래 시각 순서로 넘긴다.
+     */
+    void forEachOfAccount(String accountNumber, LocalDateTime from, LocalDateTime to,
+                          Consumer<ArchivedTransaction> action) {
+        int entry = findAccount(accountNumber);
+        if (entry < 0) {
+            return;
+        }
+        int pos = HEADER_SIZE + entry * ACCOUNT_ENTRY;
+        int startRow = buffer.getInt(pos + 8);
+        int endRow = buffer.getInt(pos + 12);
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+
+        for (int row = startRow; row < endRow; row++) {
+            long transactedAt = readColumn(TRANSACTED_AT, row);
+            if (transactedAt >= toMicros) {
+                return;
+            }
+            if (transactedAt >= fromMicros) {
+                action.accept(readRow(row, accountNumber));
+            }
+        }
+    }
+
+    /**
+     * rows 로 세그먼트를 만들어 dir/name.seg 로 옮긴다. 임시 파일을 매핑해 채우고 디스크에 내려쓴 뒤 이름을 바꾼다.
+     */
+    static Path write(Path dir, String name, List<ArchivedTransaction> rows) throws IOException {
+        List<ArchivedTransaction> sorted = new ArrayList<>(rows);
+        // 같은 시각이면 넘겨받은 순서(거래 id 순서)를 유지한다
+        sorted.sort(Comparator
+                .comparingLong((ArchivedTransaction row) -> Long.parseLong(row.getAccountNumber()))
+                .thenComparing(ArchivedTransaction::getTransactedAt));
+        int rowCount = sorted.size();
+
+        List<long[]> accounts = new ArrayList<>();
+        int relatedCount = 0;
+        long[] high = new long[rowCount];
+        long[] low = new long[rowCount];
+        long[][] values = new long[COLUMNS][rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            ArchivedTransaction transaction = sorted.get(row);
+            long accountNumber = Long.parseLong(transaction.getAccountNumber());
+            if (accounts.isEmpty() || accounts.get(accounts.size() - 1)[0] != accountNumber) {
+                accounts.add(new long[]{accountNumber, row, row + 1});
+            } else {
+                accounts.get(accounts.size() - 1)[2] = row + 1;
+            }
+            high[row] = Long.parseUnsignedLong(transaction.getTransactionId().substring(0, 16), 16);
+            low[row] = Long.parseUnsignedLong(transaction.getTransactionId().substring(16), 16);
+            values[TRANSACTED_AT][row] = toMicros(transaction.getTransactedAt());
+            values[AMOUNT][row] = transaction.getAmount();
+            values[SNAPSHOT][row] = transaction.getBalanceSnapShot();
+            if (transaction.getRelatedTransactionId() != null) {
+                relatedCount++;
+            }
+        }
+
+        long[] base = new long[COLUMNS];
+        int[] width = new int[COLUMNS];
+        long size = HEADER_SIZE + (long) accounts.size() * ACCOUNT_ENTRY
+                + (long) rowCount * (ID_SIZE + 1 + INDEX_ENTRY)
+                + (long) relatedCount * RELATED_ENTRY;
+        for (int column = 0; column < COLUMNS; column++) {
+            long min = Arrays.stream(values[column]).min().orElse(0L);
+            long max = Arrays.stream(values[column]).max().orElse(0L);
+            base[column] = min;
+            width[column] = widthOf(max - min);
+            size += (long) rowCount * width[column];
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Archive segment too large : " + rowCount + " rows");
+        }
+
+        Integer[] index = new Integer[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            index[row] = row;
+        }
+        Arrays.sort(index, (a, b) -> {
+            int cmp = Long.compareUnsigned(high[a], high[b]);
+            return cmp != 0 ? cmp : Long.compareUnsigned(low[a], low[b]);
+        });
+
+        Path temp = dir.resolve(name + SUFFIX + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            out.putInt(MAGIC).putInt(VERSION).putInt(rowCount)
+                    .putInt(accounts.size()).putInt(relatedCount).putInt(0);
+            for (int column = 0; column < COLUMNS; column++) {
+                out.putLong(base[column]).putInt(width[column]).putInt(0);
+            }
+
+            for (long[] account : accounts) {
+                out.putLong(account[0]).putInt((int) account[1]).putInt((int) account[2]);
+            }
+            for (int row = 0; row < rowCount; row++) {
+                out.putLong(high[row]).putLong(low[row]);
+            }
+            for (ArchivedTransaction transaction : sorted) {
+                out.put((byte) (transaction.getTransactionType().ordinal() << 1
+                        | transaction.getTransactionResultType().ordinal()));
+            }
+            for (int column = 0; column < COLUMNS; column++) {
+                for (int row = 0; row < rowCount; row++) {
+                    putValue(out, width[column], values[column][row] - base[column]);
+                }
+            }
+            for (int row = 0; row < rowCount; row++) {
+                String related = sorted.get(row).getRelatedTransactionId();
+                if (related != null) {
+                    out.putInt(row)
+                            .putLong(Long.parseUnsignedLong(related.substring(0, 16), 16))
+                            .putLong(Long.parseUnsignedLong(related.substring(16), 16));
+                }
+            }
+            for (int row : index) {
+                out.putLong(high[row]).putLong(low[row]).putInt(row);
+            }
+            out.force();
+        }
+
+        Path file = dir.resolve(name + SUFFIX);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private ArchivedTransaction readRow(int row, String accountNumber) {
+        int idPos = idsOffset + row * ID_SIZE;
+        int types = buffer.get(typesOffset + row);
+        return ArchivedTransaction.builder()
+                .accountNumber(accountNumber)
+                .transactionType(TransactionType.values()[types >> 1])
+                .transactionResultType(TransactionResultType.values()[types & 1])
+                .amount(readColumn(AMOUNT, row))
+                .balanceSnapShot(readColumn(SNAPSHOT, row))
+                .transactionId(toHex(buffer.getLong(idPos), buffer.getLong(idPos + 8)))
+                .transactedAt(fromMicros(readColumn(TRANSACTED_AT, row)))
+                .relatedTransactionId(findRelated(row))
+                .build();
+    }
+
+    private long readColumn(int column, int row) {
+        int pos = columnOffset[column] + row * columnWidth[column];
+        long delta = switch (columnWidth[column]) {
+            case 1 -> buffer.get(pos) & 0xFFL;
+            case 2 -> buffer.getShort(pos) & 0xFFFFL;
+            case 4 -> buffer.getInt(pos) & 0xFFFFFFFFL;
+            default -> buffer.getLong(pos);
+        };
+        return columnBase[column] + delta;
+    }
+
+    private String findRelated(int row) {
+        int from = 0;
+        int to = relatedCount - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int pos = relatedOffset + mid * RELATED_ENTRY;
+            int cmp = Integer.compare(buffer.getInt(pos), row);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return toHex(buffer.getLong(pos + 4), buffer.getLong(pos + 12));
+            }
+        }
+        return null;
+    }
+
+    private int findAccount(String accountNumber) {
+        if (!isNumericAccount(accountNumber)) {
+            return -1;
+        }
+        long key = Long.parseLong(accountNumber);
+        int from = 0;
+        int to = accountCount - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            int cmp = Long.compare(buffer.getLong(HEADER_SIZE + mid * ACCOUNT_ENTRY), key);
+            if (cmp < 0) {
+                from = mid + 1;
+            } else if (cmp > 0) {
+                to = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    // row 를 포함하는 계좌 (시작 행 기준 이진 탐색)
+    private String accountNumberOfRow(int row) {
+        int from = 0;
+        int to = accountCount - 1;
+        while (from < to) {
+            int mid = (from + to + 1) >>> 1;
+            if (buffer.getInt(HEADER_SIZE + mid * ACCOUNT_ENTRY + 8) <= row) {
+                from = mid;
+            } else {
+                to = mid - 1;
+            }
+        }
+        return String.valueOf(buffer.getLong(HEADER_SIZE + from * ACCOUNT_ENTRY));
+    }
+
+    private static int widthOf(long range) {
+        if (range < 0) {
+            return 8;
+        }
+        if (range <= 0xFFL) {
+            return 1;
+        }
+        if (range <= 0xFFFFL) {
+            return 2;
+        }
+        return range <= 0xFFFFFFFFL ? 4 : 8;
+    }
+
+    private static void putValue(ByteBuffer out, int width, long value) {
+        switch (width) {
+            case 1 -> out.put((byte) value);
+            case 2 -> out.putShort((short) value);
+            case 4 -> out.putInt((int) value);
+            default -> out.putLong(value);
+        }
+    }
+
+    private static boolean isHexId(String id) {
+        if (id == null || id.length() != 32) {
+            return false;
+        }
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumericAccount(String accountNumber) {
+        return accountNumber != null && !accountNumber.isEmpty()
+                && accountNumber.length() <= 18 && accountNumber.charAt(0) != '0'
+                && accountNumber.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
+
+    private static String toHex(long high, long low) {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.AccountSystem.archive;
+
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.type.TransactionResultType;
+import com.example.AccountSystem.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 세그먼트에서 읽은 거래 한 건
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ArchivedTransaction {
+    private String accountNumber;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResultType;
+    private long amount;
+    private long balanceSnapShot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+    private String relatedTransactionId;
+
+    public TransactionDTO toDto() {
+        return TransactionDTO.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .amount(amount)
+                .balanceSnapShot(balanceSnapShot)
+                .transactionId(transactionId)
+                .transactedAt(transactedAt)
+                .build();
+    }
+}
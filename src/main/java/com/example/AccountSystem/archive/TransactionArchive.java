@@ -0,0 +1,122 @@
+package com.example.AccountSystem.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 보관 세그먼트 조회, DB 에서 찾지 못한 거래를 여기서 찾는다.
+ * 세그먼트 디렉터리는 노드 간 공유 볼륨을 가정하며, 다른 노드가 만든 세그먼트는 다음 refresh 에서 보인다.
+ */
+@Slf4j
+@Component
+public class TransactionArchive {
+    private final Path dir;
+
+    // 파일 이름 순서
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public TransactionArchive(@Value("${account.archive.dir:archive}") String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    Path getDir() {
+        return dir;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${account.archive.refresh-interval-millis:60000}")
+    public synchronized void refresh() {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        Map<Path, ArchiveSegment> opened = new HashMap<>();
+        for (ArchiveSegment segment : segments) {
+            opened.put(segment.getFile(), segment);
+        }
+
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(file -> file.getFileName().toString()
+                            .endsWith(ArchiveSegment.SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to list archive segments. dir : {}", dir, e);
+            return;
+        }
+
+        List<ArchiveSegment> refreshed = new ArrayList<>(files.size());
+        for (Path file : files) {
+            ArchiveSegment segment = opened.get(file);
+            if (segment == null) {
+                try {
+                    segment = ArchiveSegment.open(file);
+                } catch (IOException | RuntimeException e) {
+                    log.error("Failed to open archive segment. file : {}", file, e);
+                    continue;
+                }
+            }
+            refreshed.add(segment);
+        }
+        segments = List.copyOf(refreshed);
+    }
+
+    public Optional<ArchivedTransaction> findByTransactionId(String transactionId) {
+        for (ArchiveSegment segment : segments) {
+            ArchivedTransaction transaction = segment.find(transactionId);
+            if (transaction != null) {
+                return Optional.of(transaction);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 계좌의 [from, to) 기간 보관 거래 (거래 시각 순서)
+     */
+    public List<ArchivedTransaction> findByAccount(
+            String accountNumber, LocalDateTime from, LocalDateTime to) {
+        List<ArchivedTransaction> transactions = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ArchiveSegment segment : segments) {
+            // 보관 도중 중단됐다 다시 보관하면 같은 거래가 두 세그먼트에 있을 수 있다
+            segment.forEachOfAccount(accountNumber, from, to, transaction -> {
+                if (seen.add(transaction.getTransactionId())) {
+                    transactions.add(transaction);
+                }
+            });
+        }
+        transactions.sort(Comparator.comparing(ArchivedTransaction::getTransactedAt));
+        return transactions;
+    }
+
+    // 다시 보관된 거래는 두 번 넘길 수 있다
+    public void forEachTransactionId(Consumer<String> action) {
+        for (ArchiveSegment segment : segments) {
+            segment.forEachTransactionId(action);
+        }
+    }
+
+    Path write(String name, List<ArchivedTransaction> rows) {
+        try {
+            Files.createDirectories(dir);
+            return ArchiveSegment.write(dir, name, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
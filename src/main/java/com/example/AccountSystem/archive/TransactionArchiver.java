@@ -0,0 +1,194 @@
+package com.example.AccountSystem.archive;
+
+import com.example.AccountSystem.service.ShardContext;
+import com.example.AccountSystem.service.ShardRouter;
+import com.example.AccountSystem.type.TransactionResultType;
+import com.example.AccountSystem.type.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보관 기간이 지난 거래를 세그먼트 파일로 옮기고 transaction 테이블에서 삭제한다.
+ * 세그먼트를 디스크에 다 쓴 뒤에 삭제하며, 삭제와 같은 DB 트랜잭션에서 옮긴 성공 거래의 잔액 변화를
+ * account.initial_balance 에 더해 정합성 점검이 남은 거래만으로 잔액을 맞출 수 있게 한다.
+ * 삭제 전에 중단되면 다음 실행에서 같은 행을 다시 보관하며, 중복은 조회 시 걸러진다.
+ */
+@Slf4j
+@Service
+public class TransactionArchiver {
+    private static final String ARCHIVE_LOCK = "TRANSACTION_ARCHIVE";
+    private static final String ARCHIVE_QUERY =
+            "select t.id, a.id, a.account_number, t.transaction_id, t.transaction_type, " +
+                    "t.transaction_result_type, t.amount, t.balance_snap_shot, " +
+                    "t.transacted_at, t.related_transaction_id " +
+                    "from transaction t join account a on t.account_id = a.id " +
+                    "where t.transacted_at < ? and t.id > ? order by t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+    private final TransactionArchive transactionArchive;
+
+    private final long retentionDays;
+    private final int segmentRows;
+    private final int fetchSize;
+
+    public TransactionArchiver(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RedissonClient redissonClient,
+            ShardRouter shardRouter,
+            TransactionArchive transactionArchive,
+            @Value("${account.archive.retention-days:400}") long retentionDays,
+            @Value("${account.archive.segment-rows:500000}") int segmentRows,
+            @Value("${account.archive.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redissonClient = redissonClient;
+        this.shardRouter = shardRouter;
+        this.transactionArchive = transactionArchive;
+        this.retentionDays = retentionDays;
+        this.segmentRows = segmentRows;
+        this.fetchSize = fetchSize;
+    }
+
+    @Scheduled(cron = "${account.archive.cron:-}")
+    public void archiveExpired() {
+        RLock lock = redissonClient.getLock(ARCHIVE_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            archive(LocalDateTime.now().minusDays(retentionDays));
+        } catch (Exception e) {
+            log.error("Transaction archiving failed.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * before 이전 거래를 보관한다. 반환값은 보관한 행 수
+     */
+    public long archive(LocalDateTime before) {
+        long archived = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            archived += ShardContext.call(shard, () -> archiveShard(target, before));
+        }
+        transactionArchive.refresh();
+
+        log.info("Archived {} transactions before {}", archived, before);
+        return archived;
+    }
+
+    private long archiveShard(int shard, LocalDateTime before) {
+        long archived = 0;
+        long afterId = 0;
+        while (true) {
+            Batch batch = readBatch(before, afterId);
+            if (batch.scanned == 0) {
+                return archived;
+            }
+
+            if (!batch.rows.isEmpty()) {
+                transactionArchive.write(shard + "-" + batch.ids.get(0) + "-" + batch.lastId,
+                        batch.rows);
+                transactionTemplate.executeWithoutResult(status -> remove(batch));
+                archived += batch.rows.size();
+            }
+
+            if (batch.scanned < segmentRows) {
+                return archived;
+            }
+            afterId = batch.lastId;
+        }
+    }
+
+    private Batch readBatch(LocalDateTime before, long afterId) {
+        Batch batch = new Batch();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(ARCHIVE_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setMaxRows(segmentRows);
+            ps.setTimestamp(1, Timestamp.valueOf(before));
+            ps.setLong(2, afterId);
+            return ps;
+        }, rs -> {
+            long id = rs.getLong(1);
+            batch.scanned++;
+            batch.lastId = id;
+
+            String accountNumber = rs.getString(3);
+            String transactionId = rs.getString(4);
+            String related = rs.getString(10);
+            if (!ArchiveSegment.isArchivable(transactionId, accountNumber, related)) {
+                // 형식이 다른 옛 데이터는 테이블에 남긴다
+                return;
+            }
+
+            TransactionType type = TransactionType.valueOf(rs.getString(5));
+            TransactionResultType result = TransactionResultType.valueOf(rs.getString(6));
+            long amount = rs.getLong(7);
+            batch.ids.add(id);
+            batch.rows.add(ArchivedTransaction.builder()
+                    .accountNumber(accountNumber)
+                    .transactionType(type)
+                    .transactionResultType(result)
+                    .amount(amount)
+                    .balanceSnapShot(rs.getLong(8))
+                    .transactionId(transactionId)
+                    .transactedAt(rs.getTimestamp(9).toLocalDateTime())
+                    .relatedTransactionId(related)
+                    .build());
+
+            if (result == TransactionResultType.S) {
+                long change = switch (type) {
+                    case USE, TRANSFER_OUT -> -amount;
+                    case CANCEL, TRANSFER_IN -> amount;
+                };
+                batch.balanceChanges.merge(rs.getLong(2), change, Long::sum);
+            }
+        });
+        return batch;
+    }
+
+    private void remove(Batch batch) {
+        jdbcTemplate.batchUpdate("delete from transaction where id = ?",
+                batch.ids, 1000, (ps, id) -> ps.setLong(1, id));
+        jdbcTemplate.batchUpdate(
+                "update account set initial_balance = initial_balance + ? where id = ?",
+                new ArrayList<>(batch.balanceChanges.entrySet()), 1000, (ps, change) -> {
+                    ps.setLong(1, change.getValue());
+                    ps.setLong(2, change.getKey());
+                });
+    }
+
+    private static class Batch {
+        private int scanned;
+        private long lastId;
+        private final List<Long> ids = new ArrayList<>();
+        private final List<ArchivedTransaction> rows = new ArrayList<>();
+        // 계좌 id 별 보관된 성공 거래의 잔액 변화 합
+        private final Map<Long, Long> balanceChanges = new HashMap<>();
+    }
+}
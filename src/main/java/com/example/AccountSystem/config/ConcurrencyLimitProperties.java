@@ -0,0 +1,29 @@
+package com.example.AccountSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * /transaction/** 동시 처리 한도 설정
+ * 조회(GET)와 변경 요청은 서로 다른 한도를 사용한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("account.concurrency-limit")
+public class ConcurrencyLimitProperties {
+    private boolean enabled = true;
+    private Limit query = new Limit();
+    private Limit mutation = new Limit();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        // 장기 평균 응답 시간의 몇 배까지를 정상으로 볼지
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.AccountDTO;
+import com.example.AccountSystem.dto.CreateAccount;
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.repository.AccountRepository;
+import com.example.AccountSystem.repository.AccountUserRepository;
+import com.example.AccountSystem.repository.TransactionRepository;
+import com.example.AccountSystem.service.AccountProvisioningService;
+import com.example.AccountSystem.service.ShardContext;
+import com.example.AccountSystem.service.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static com.example.AccountSystem.type.TransactionType.USE;
+
+/**
+ * 성능 테스트용 데이터 생성 (account.seed.users 를 지정했을 때만 실행)
+ * 예) --account.seed.users=1000000 --account.seed.accounts-per-user=10
+ *     --account.seed.transactions-per-account=3 --account.seed.exit=true
+ * 사용자는 0번 샤드에 저장한 뒤 같은 id 로 나머지 샤드에 복사하고, 계좌는 일괄 개설과 같은 경로로 만든다.
+ * 거래는 계좌마다 잔액 스냅샷이 이어지는 사용 거래로 만들어 정합성 점검을 통과한다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "account.seed.users")
+public class DataSeeder implements ApplicationRunner {
+    private final AccountUserRepository accountUserRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountProvisioningService accountProvisioningService;
+    private final ShardRouter shardRouter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+
+    private final int users;
+    private final int accountsPerUser;
+    private final int transactionsPerAccount;
+    private final int batchSize;
+    private final boolean exit;
+
+    public DataSeeder(
+            AccountUserRepository accountUserRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            AccountProvisioningService accountProvisioningService,
+            ShardRouter shardRouter,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ConfigurableApplicationContext context,
+            @Value("${account.seed.users}") int users,
+            @Value("${account.seed.accounts-per-user:10}") int accountsPerUser,
+            @Value("${account.seed.transactions-per-account:0}") int transactionsPerAccount,
+            @Value("${account.seed.batch-size:1000}") int batchSize,
+            @Value("${account.seed.exit:false}") boolean exit) {
+        this.accountUserRepository = accountUserRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountProvisioningService = accountProvisioningService;
+        this.shardRouter = shardRouter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+        this.users = users;
+        this.accountsPerUser = Math.min(accountsPerUser, 10);
+        this.transactionsPerAccount = transactionsPerAccount;
+        this.batchSize = batchSize;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long startedAt = System.nanoTime();
+        long accounts = 0;
+        for (int from = 0; from < users; from += batchSize) {
+            List<AccountUser> created = createUsers(from, Math.min(batchSize, users - from));
+
+            List<CreateAccount.Request> requests = new ArrayList<>(created.size() * accountsPerUser);
+            for (AccountUser user : created) {
+                for (int i = 0; i < accountsPerUser; i++) {
+                    requests.add(new CreateAccount.Request(user.getId(),
+                            ThreadLocalRandom.current().nextLong(1, 1000) * 1000L));
+                }
+            }
+            accounts += accountProvisioningService.createAccounts(requests).stream()
+                    .filter(ServiceResult::isSuccess)
+                    .count();
+            log.info("Seeded {} users, {} accounts", from + created.size(), accounts);
+        }
+
+        long transactions = 0;
+        if (transactionsPerAccount > 0) {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                transactions += ShardContext.call(shard, () -> seedTransactions(target));
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Seeding finished in {} ms : {} users, {} accounts, {} transactions",
+                elapsedMillis, users, accounts, transactions);
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    // 0번 샤드에 저장해 id 를 받고, 나머지 샤드에는 같은 id 로 넣는다
+    private List<AccountUser> createUsers(int from, int count) {
+        List<AccountUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(AccountUser.builder().name("user" + (from + i)).build());
+        }
+        List<AccountUser> saved = ShardContext.call(0, () ->
+                transactionTemplate.execute(status -> accountUserRepository.saveAll(users)));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int shard = 1; shard < shardRouter.getShardCount(); shard++) {
+            ShardContext.call(shard, () -> jdbcTemplate.batchUpdate(
+                    "insert into account_user(id, name, active_account_count, " +
+                            "created_at, updated_at) values (?, ?, 0, ?, ?)",
+                    saved, batchSize, (ps, user) -> {
+                        ps.setLong(1, user.getId());
+                        ps.setString(2, user.getName());
+                        ps.setTimestamp(3, now);
+                        ps.setTimestamp(4, now);
+                    }));
+        }
+        return saved;
+    }
+
+    private long seedTransactions(int shard) {
+        long seeded = 0;
+        long[] afterId = {0L};
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Account> accounts = accountRepository.findByIdGreaterThanOrderById(
+                        afterId[0], PageRequest.of(0, batchSize));
+                if (accounts.isEmpty()) {
+                    return null;
+                }
+                afterId[0] = accounts.get(accounts.size() - 1).getId();
+
+                List<Transaction> transactions =
+                        new ArrayList<>(accounts.size() * transactionsPerAccount);
+                for (Account account : accounts) {
+                    addTransactions(shard, account, transactions);
+                }
+                transactionRepository.saveAll(transactions);
+                return transactions.size();
+            });
+            if (count == null) {
+                return seeded;
+            }
+            seeded += count;
+        }
+    }
+
+    // 최근 1년 안의 시각에 잔액 안에서 사용한 거래, 계좌 잔액도 함께 줄인다
+    private void addTransactions(int shard, Account account, List<Transaction> transactions) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime transactedAt = LocalDateTime.now().minusDays(365);
+        for (int i = 0; i < transactionsPerAccount && account.getBalance() > 0; i++) {
+            long amount = Math.min(account.getBalance(), random.nextLong(1, 100) * 100L);
+            account.setBalance(account.getBalance() - amount);
+            transactedAt = transactedAt.plusMinutes(random.nextLong(1,
+                    365L * 24 * 60 / transactionsPerAccount));
+            transactions.add(Transaction.builder()
+                    .transactionType(USE)
+                    .transactionResultType(S)
+                    .account(account)
+                    .amount(amount)
+                    .balanceSnapShot(account.getBalance())
+                    .transactionId(ShardRouter.newTransactionId(shard))
+                    .transactedAt(transactedAt)
+                    .cancellableAmount(amount)
+                    .build());
+        }
+    }
+}
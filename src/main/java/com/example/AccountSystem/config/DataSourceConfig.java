@@ -0,0 +1,101 @@
+package com.example.AccountSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 쓰기/읽기 DataSource 분리
+ * readOnly 트랜잭션(조회용 Repository 메서드 포함)은 읽기 전용 풀로, 나머지는 쓰기 풀로 보낸다.
+ * 실제 커넥션은 첫 쿼리 시점에 얻으므로 트랜잭션의 readOnly 설정이 반영된 뒤 풀이 결정된다.
+ * 샤드가 여러 개면 샤드별 쓰기/읽기 DataSource 앞에 ShardRoutingDataSource 를 둔다.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    // 읽기 전용 복제본 풀, 크기와 접속 정보를 쓰기 풀과 따로 설정한다
+    @Bean
+    @ConditionalOnProperty(name = "account.datasource.read.enabled", havingValue = "true")
+    @ConfigurationProperties("account.datasource.read.hikari")
+    public HikariDataSource readDataSource() {
+        return new HikariDataSource();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readDataSource") ObjectProvider<DataSource> readDataSource,
+            ShardProperties shardProperties) {
+        LazyConnectionDataSourceProxy primaryShard =
+                new LazyConnectionDataSourceProxy(writeDataSource);
+        readDataSource.ifAvailable(primaryShard::setReadOnlyDataSource);
+
+        List<ShardProperties.Shard> additional = shardProperties.getAdditional();
+        if (additional.isEmpty()) {
+            return primaryShard;
+        }
+
+        Map<Object, Object> shards = new HashMap<>();
+        shards.put(0, primaryShard);
+        for (int i = 0; i < additional.size(); i++) {
+            shards.put(i + 1, createShardDataSource(i + 1, additional.get(i)));
+        }
+
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(shards);
+        dataSource.setDefaultTargetDataSource(primaryShard);
+        dataSource.setLenientFallback(false);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    private static DataSource createShardDataSource(
+            int shard, ShardProperties.Shard properties) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                createPool("shard-" + shard + "-write-pool", properties.getUrl(),
+                        properties, false));
+        if (properties.getReadUrl() != null) {
+            dataSource.setReadOnlyDataSource(
+                    createPool("shard-" + shard + "-read-pool",
+                            properties.getReadUrl(), properties, true));
+        }
+        return dataSource;
+    }
+
+    private static HikariDataSource createPool(
+            String poolName, String url,
+            ShardProperties.Shard properties, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(poolName);
+        pool.setJdbcUrl(url);
+        pool.setUsername(properties.getUsername());
+        pool.setPassword(properties.getPassword());
+        pool.setDriverClassName(properties.getDriverClassName());
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
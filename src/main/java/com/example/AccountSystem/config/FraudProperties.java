@@ -0,0 +1,26 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.fraud.FraudRuleSettings;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사기 의심 규칙 설정
+ * rules 는 규칙 이름별 기본값이며, 실행 중에는 Redis 의 FRAUD_RULES 맵 값으로 덮어쓴다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("account.fraud")
+public class FraudProperties {
+    private boolean enabled = true;
+    // 규칙 하나에 허용하는 평가 시간
+    private long budgetMicros = 20;
+    // 연속으로 예산을 넘기면 다음 설정 반영 전까지 규칙을 건너뛴다
+    private int maxOverBudget = 3;
+    private long reloadIntervalMillis = 10_000;
+    private Map<String, FraudRuleSettings> rules = new LinkedHashMap<>();
+}
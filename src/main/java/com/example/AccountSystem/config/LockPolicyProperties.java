@@ -0,0 +1,44 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.service.LockPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 엔드포인트별 계좌 락 정책
+ * endpoints 는 파이프라인 엔드포인트 이름별 설정이며, 지정하지 않은 값은 각 파이프라인이 선언한 정책을 따른다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("account.lock")
+public class LockPolicyProperties {
+    private Map<String, Policy> endpoints = new LinkedHashMap<>();
+
+    public LockPolicy resolve(String endpoint, LockPolicy declared) {
+        Policy policy = endpoints.get(endpoint);
+        if (policy == null) {
+            return declared;
+        }
+        return new LockPolicy(
+                policy.getWaitMillis() != null
+                        ? policy.getWaitMillis() : declared.getWaitMillis(),
+                policy.getLeaseMillis() != null
+                        ? policy.getLeaseMillis() : declared.getLeaseMillis(),
+                policy.getFair() != null
+                        ? policy.getFair() : declared.isFair());
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private Long waitMillis;
+        // 락 유지 시간, -1 이면 Redisson watchdog 으로 자동 연장
+        private Long leaseMillis;
+        // 먼저 기다린 요청이 먼저 락을 얻는다
+        private Boolean fair;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.type.RateLimitMode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 사용자/계좌별 요청 제한 설정
+ * endpoints 는 컨트롤러 메서드 이름별 한도이며, 없으면 defaults 를 사용한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("account.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private RateLimitMode mode = RateLimitMode.LOCAL;
+    private Limit defaults = new Limit(20, 40);
+    private Map<String, Limit> endpoints = new LinkedHashMap<>();
+
+    public Limit getLimit(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private long permitsPerSecond;
+        // 한 번에 몰려도 허용하는 요청 수
+        private long burst;
+    }
+}
@@ -6,6 +6,7 @@ import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
 @Configuration
 public class RedisRepositoryConfig {
@@ -16,7 +17,9 @@ public class RedisRepositoryConfig {
     @Value("${spring.redis.port}")
     public int redisPort;
 
+    // 내장 Redis 가 먼저 떠 있어야 한다 (Redisson 을 쓰는 빈이 먼저 만들어지는 경우)
     @Bean
+    @DependsOn("localRedisConfig")
     public RedissonClient redissonClient() {
         Config config = new Config();
         config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
@@ -0,0 +1,39 @@
+package com.example.AccountSystem.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샤드 설정
+ * 0번 샤드는 spring.datasource(+ account.datasource.read) 를 그대로 사용하고,
+ * additional 에 적은 순서대로 1번 샤드부터 배정한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("account.shard")
+public class ShardProperties {
+    private int virtualNodes = 128;
+    // H2 등 개발 환경에서 0번 샤드의 스키마/기준 데이터를 나머지 샤드로 복사
+    private boolean replicateSchema = false;
+    private List<Shard> additional = new ArrayList<>();
+
+    public int getCount() {
+        return additional.size() + 1;
+    }
+
+    @Getter
+    @Setter
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        // 지정하면 해당 샤드의 readOnly 트랜잭션은 이 복제본으로 보낸다
+        private String readUrl;
+    }
+}
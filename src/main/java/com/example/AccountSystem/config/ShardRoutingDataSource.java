@@ -0,0 +1,15 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.service.ShardContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * ShardContext 의 샤드 번호로 커넥션을 얻을 DataSource 를 고른다.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
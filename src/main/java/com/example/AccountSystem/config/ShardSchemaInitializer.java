@@ -0,0 +1,45 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.service.ShardContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 개발/테스트용 (H2 전용)
+ * Hibernate 와 data.sql 은 0번 샤드에만 적용되므로, 0번 샤드의 스키마와 기준 데이터(account_user)를 나머지 샤드에 복사한다.
+ * 운영 환경에서는 샤드마다 마이그레이션을 따로 실행한다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.shard.replicate-schema", havingValue = "true")
+public class ShardSchemaInitializer implements ApplicationRunner {
+    private final DataSource dataSource;
+    private final ShardProperties shardProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> script = ShardContext.call(0, () ->
+                jdbcTemplate.queryForList("SCRIPT", String.class));
+
+        for (int shard = 1; shard < shardProperties.getCount(); shard++) {
+            ShardContext.call(shard, () -> {
+                script.forEach(jdbcTemplate::execute);
+                return null;
+            });
+            log.info("Replicated schema to shard {}", shard);
+        }
+    }
+}
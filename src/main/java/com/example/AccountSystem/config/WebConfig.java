@@ -0,0 +1,39 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.controller.ConcurrencyLimitInterceptor;
+import com.example.AccountSystem.controller.RateLimitInterceptor;
+import com.example.AccountSystem.service.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Optional;
+
+/**
+ * 본문 없는 요청에 사용자/계좌별 요청 제한을, /transaction/** 요청에 동시 처리 한도를 적용한다.
+ * 요청 제한을 먼저 확인해 거절될 요청이 동시 처리 한도를 차지하지 않게 한다.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    public WebConfig(ConcurrencyLimitProperties properties,
+                     RateLimiter rateLimiter,
+                     Optional<MeterRegistry> meterRegistry) {
+        this.rateLimitInterceptor =
+                new RateLimitInterceptor(rateLimiter, meterRegistry.orElse(null));
+        this.concurrencyLimitInterceptor =
+                new ConcurrencyLimitInterceptor(properties, meterRegistry.orElse(null));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/transaction/**");
+    }
+}
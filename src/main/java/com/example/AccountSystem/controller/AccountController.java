@@ -1,12 +1,17 @@
 package com.example.AccountSystem.controller;
 
 import com.example.AccountSystem.dto.AccountInfo;
+import com.example.AccountSystem.dto.BulkCreateAccount;
 import com.example.AccountSystem.dto.CreateAccount;
 import com.example.AccountSystem.dto.DeleteAccount;
+import com.example.AccountSystem.service.AccountProvisioningService;
 import com.example.AccountSystem.service.AccountService;
+import com.example.AccountSystem.service.AccountStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -16,6 +21,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final AccountProvisioningService accountProvisioningService;
+    private final AccountStreamService accountStreamService;
 
     @PostMapping("/account")
     public CreateAccount.Response createAccount(
@@ -25,6 +32,15 @@ public class AccountController {
                 request.getUserId(), request.getInitialBalance()));
     }
 
+    // 파트너 온보딩용 일괄 개설, 요청별 결과를 요청 순서대로 돌려준다
+    @PostMapping("/account/bulk")
+    public BulkCreateAccount.Response createAccounts(
+            @RequestBody @Valid BulkCreateAccount.Request request
+    ) {
+        return BulkCreateAccount.Response.from(request.getAccounts(),
+                accountProvisioningService.createAccounts(request.getAccounts()));
+    }
+
     @DeleteMapping("/account")
     public DeleteAccount.Response deleteAccount(
             @RequestBody @Valid DeleteAccount.Request request
@@ -42,4 +58,12 @@ public class AccountController {
                 .collect(Collectors.toList());
     }
 
+    // 잔액 변경이 커밋될 때마다 AccountInfo 를 보낸다
+    @GetMapping(value = "/account/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccounts(
+            @RequestParam("user_id") Long userId
+    ) {
+        return accountStreamService.subscribe(userId);
+    }
+
 }
@@ -0,0 +1,97 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.config.ConcurrencyLimitProperties;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import static com.example.AccountSystem.type.ErrorCode.SERVICE_BUSY;
+
+/**
+ * DB 커넥션 풀과 락 대기가 쌓이기 전에 동시 처리 수를 제한한다.
+ * 한도를 넘는 요청은 Retry-After 헤더와 함께 SERVICE_BUSY 로 바로 실패한다.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+    private static final String TICKET_ATTRIBUTE =
+            ConcurrencyLimitInterceptor.class.getName() + ".ticket";
+    private static final String METRIC_NAME = "account.concurrency-limit";
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter queryLimiter;
+    private final AdaptiveConcurrencyLimiter mutationLimiter;
+    private final Counter queryRejected;
+    private final Counter mutationRejected;
+
+    public ConcurrencyLimitInterceptor(
+            ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.queryLimiter = new AdaptiveConcurrencyLimiter(properties.getQuery());
+        this.mutationLimiter = new AdaptiveConcurrencyLimiter(properties.getMutation());
+
+        if (meterRegistry == null) {
+            this.queryRejected = null;
+            this.mutationRejected = null;
+        } else {
+            register(meterRegistry, "query", queryLimiter);
+            register(meterRegistry, "mutation", mutationLimiter);
+            this.queryRejected = rejectedCounter(meterRegistry, "query");
+            this.mutationRejected = rejectedCounter(meterRegistry, "mutation");
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        if (!enabled) {
+            return true;
+        }
+
+        boolean query = HttpMethod.GET.matches(request.getMethod());
+        AdaptiveConcurrencyLimiter.Ticket ticket =
+                (query ? queryLimiter : mutationLimiter).tryAcquire();
+        if (ticket == null) {
+            Counter rejected = query ? queryRejected : mutationRejected;
+            if (rejected != null) {
+                rejected.increment();
+            }
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            throw AccountException.of(SERVICE_BUSY);
+        }
+
+        request.setAttribute(TICKET_ATTRIBUTE, ticket);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object ticket = request.getAttribute(TICKET_ATTRIBUTE);
+        if (ticket != null) {
+            request.removeAttribute(TICKET_ATTRIBUTE);
+            ((AdaptiveConcurrencyLimiter.Ticket) ticket).release();
+        }
+    }
+
+    private static void register(MeterRegistry meterRegistry, String type,
+                                 AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder(METRIC_NAME + ".limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("type", type)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder(METRIC_NAME + ".rejected")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
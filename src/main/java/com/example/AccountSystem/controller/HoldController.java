@@ -0,0 +1,84 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.dto.AuthorizeBalance;
+import com.example.AccountSystem.dto.CaptureHold;
+import com.example.AccountSystem.dto.ReleaseHold;
+import com.example.AccountSystem.pipeline.Handler;
+import com.example.AccountSystem.pipeline.TransactionPipelineFactory;
+import com.example.AccountSystem.service.HoldService;
+import com.example.AccountSystem.service.LockPolicy;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 승인(authorize) 후 매입(capture) 또는 해제(release)
+ */
+@Slf4j
+@RestController
+public class HoldController {
+    private final HoldService holdService;
+
+    private final Handler<AuthorizeBalance.Request, AuthorizeBalance.Response> authorize;
+    private final Handler<CaptureHold.Request, CaptureHold.Response> capture;
+    private final Handler<ReleaseHold.Request, ReleaseHold.Response> release;
+
+    public HoldController(
+            HoldService holdService,
+            TransactionPipelineFactory pipelines) {
+        this.holdService = holdService;
+
+        this.authorize = pipelines.singleAccount("authorize", LockPolicy.DEFAULT,
+                this::doAuthorize, request -> log.error("Failed to authorize balance."));
+        this.capture = pipelines.singleAccount("capture", LockPolicy.DEFAULT,
+                this::doCapture, request -> log.error("Failed to capture hold."));
+        this.release = pipelines.singleAccount("release", LockPolicy.DEFAULT,
+                this::doRelease, request -> log.error("Failed to release hold."));
+    }
+
+    @PostMapping("/transaction/authorize")
+    public AuthorizeBalance.Response authorize(
+            @RequestBody @Valid AuthorizeBalance.Request request
+    ) throws Exception {
+        return authorize.handle(request);
+    }
+
+    @PostMapping("/transaction/capture")
+    public CaptureHold.Response capture(
+            @RequestBody @Valid CaptureHold.Request request
+    ) throws Exception {
+        return capture.handle(request);
+    }
+
+    @PostMapping("/transaction/release")
+    public ReleaseHold.Response release(
+            @RequestBody @Valid ReleaseHold.Request request
+    ) throws Exception {
+        return release.handle(request);
+    }
+
+    private AuthorizeBalance.Response doAuthorize(AuthorizeBalance.Request request) {
+        return AuthorizeBalance.Response.from(
+                holdService.authorize(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getAmount(),
+                        request.getTtlSeconds()));
+    }
+
+    private CaptureHold.Response doCapture(CaptureHold.Request request) {
+        return CaptureHold.Response.from(request.getHoldId(),
+                holdService.capture(
+                        request.getAccountNumber(),
+                        request.getHoldId()));
+    }
+
+    private ReleaseHold.Response doRelease(ReleaseHold.Request request) {
+        return ReleaseHold.Response.from(
+                holdService.release(
+                        request.getAccountNumber(),
+                        request.getHoldId()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.AccountLockIdsInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
+import com.example.AccountSystem.service.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * 요청 본문을 읽은 직후, 컨트롤러(락/DB)에 들어가기 전에 사용자/계좌별 요청 제한을 적용한다.
+ * 엔드포인트 이름은 컨트롤러 메서드 이름이다. 본문이 없는 요청은 RateLimitInterceptor 가 맡는다.
+ */
+@ControllerAdvice(assignableTypes = {
+        AccountController.class, TransactionController.class, HoldController.class})
+public class RateLimitAdvice extends RequestBodyAdviceAdapter {
+    private final RateLimitGate gate;
+
+    public RateLimitAdvice(RateLimiter rateLimiter, Optional<MeterRegistry> meterRegistry) {
+        this.gate = new RateLimitGate(rateLimiter, meterRegistry.orElse(null));
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage,
+                                MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        String endpoint = parameter.getExecutable().getName();
+
+        boolean limited = false;
+        if (body instanceof UserIdInterface request && request.getUserId() != null) {
+            limited = gate.isLimited(endpoint, "U" + request.getUserId());
+        }
+        if (!limited && body instanceof AccountLockIdInterface request
+                && request.getAccountNumber() != null) {
+            limited = gate.isLimited(endpoint, "A" + request.getAccountNumber());
+        }
+        if (!limited && body instanceof AccountLockIdsInterface request) {
+            for (String accountNumber : request.getAccountNumbers()) {
+                if (accountNumber != null
+                        && gate.isLimited(endpoint, "A" + accountNumber)) {
+                    limited = true;
+                    break;
+                }
+            }
+        }
+
+        gate.admit(endpoint, limited);
+        return body;
+    }
+}
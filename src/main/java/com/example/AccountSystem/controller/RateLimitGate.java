@@ -0,0 +1,53 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.AccountSystem.type.ErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * 요청 제한 판단과 엔드포인트별 허용/거절 집계
+ * 본문 요청은 RateLimitAdvice, 쿼리/경로 파라미터 요청은 RateLimitInterceptor 가 같은 지표로 남긴다.
+ */
+class RateLimitGate {
+    static final String METRIC_NAME = "account.rate-limit.requests";
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    RateLimitGate(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    boolean isLimited(String endpoint, String key) {
+        return rateLimiter.isLimited(endpoint, key);
+    }
+
+    // 결과를 집계하고, 한도를 넘었으면 TOO_MANY_REQUESTS 로 실패한다
+    void admit(String endpoint, boolean limited) {
+        count(endpoint, limited);
+        if (limited) {
+            throw AccountException.of(TOO_MANY_REQUESTS);
+        }
+    }
+
+    private void count(String endpoint, boolean limited) {
+        if (meterRegistry == null) {
+            return;
+        }
+
+        String outcome = limited ? "rejected" : "admitted";
+        counters.computeIfAbsent(endpoint + ":" + outcome,
+                k -> Counter.builder(METRIC_NAME)
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
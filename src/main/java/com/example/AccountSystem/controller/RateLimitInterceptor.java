@@ -0,0 +1,73 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.service.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 본문이 없는 요청(조회 등)에 쿼리/경로 파라미터로 사용자/계좌별 요청 제한을 적용한다.
+ * user_id 는 사용자, accountNumber 는 계좌, transactionId 는 거래 단위로 센다.
+ * 본문이 있는 요청은 본문을 읽은 뒤 RateLimitAdvice 가 맡는다.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final Set<Class<?>> LIMITED_CONTROLLERS = Set.of(
+            AccountController.class, TransactionController.class, HoldController.class);
+
+    private final RateLimitGate gate;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.gate = new RateLimitGate(rateLimiter, meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || !LIMITED_CONTROLLERS.contains(method.getBeanType())
+                || hasRequestBody(method)) {
+            return true;
+        }
+
+        String endpoint = method.getMethod().getName();
+        boolean limited = false;
+        String userId = request.getParameter("user_id");
+        if (userId != null) {
+            limited = gate.isLimited(endpoint, "U" + userId);
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!limited && pathVariables != null) {
+            String accountNumber = pathVariables.get("accountNumber");
+            if (accountNumber != null) {
+                limited = gate.isLimited(endpoint, "A" + accountNumber);
+            }
+            String transactionId = pathVariables.get("transactionId");
+            if (!limited && transactionId != null) {
+                limited = gate.isLimited(endpoint, "T" + transactionId);
+            }
+        }
+
+        gate.admit(endpoint, limited);
+        return true;
+    }
+
+    private static boolean hasRequestBody(HandlerMethod method) {
+        for (MethodParameter parameter : method.getMethodParameters()) {
+            if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
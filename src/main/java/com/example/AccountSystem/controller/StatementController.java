@@ -0,0 +1,54 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.StatementExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+import static com.example.AccountSystem.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 거래 내역서 다운로드 (gzip CSV)
+ */
+@RestController
+@RequiredArgsConstructor
+public class StatementController {
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final StatementExportService statementExportService;
+
+    // to 는 해당 날짜까지 포함
+    @GetMapping("/account/{accountNumber}/statement")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable String accountNumber,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (from.isAfter(to)) {
+            throw AccountException.of(INVALID_REQUEST);
+        }
+        // 응답을 쓰기 시작한 뒤에는 오류 응답을 보낼 수 없으므로 계좌는 먼저 확인한다
+        statementExportService.validateAccount(accountNumber);
+
+        StreamingResponseBody body = out -> statementExportService.writeStatement(
+                accountNumber, from.atStartOfDay(), to.plusDays(1).atStartOfDay(), out);
+
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + accountNumber + "-" + from + "-" + to + ".csv.gz")
+                        .build().toString())
+                .body(body);
+    }
+}
@@ -1,69 +1,71 @@
 package com.example.AccountSystem.controller;
 
-import com.example.AccountSystem.aop.AccountLock;
-import com.example.AccountSystem.dto.CancelBalance;
-import com.example.AccountSystem.dto.QueryTransactionResponse;
-import com.example.AccountSystem.dto.UseBalance;
-import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.dto.*;
+import com.example.AccountSystem.pipeline.Handler;
+import com.example.AccountSystem.pipeline.TransactionPipelineFactory;
+import com.example.AccountSystem.service.LockPolicy;
 import com.example.AccountSystem.service.TransactionService;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
-import static java.lang.Thread.sleep;
-
+/**
+ * 잔액 변경 요청은 계좌 락/멱등/실패 기록 파이프라인을 거친다.
+ * 파이프라인은 생성 시 한 번 조립해 final 필드에 보관한다.
+ */
 @Slf4j
 @RestController
-@RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
 
+    private final Handler<UseBalance.Request, UseBalance.Response> useBalance;
+    private final Handler<CancelBalance.Request, CancelBalance.Response> cancelBalance;
+    private final Handler<TransferBalance.Request, TransferBalance.Response> transferBalance;
+    private final Handler<BatchTransferBalance.Request, BatchTransferBalance.Response> batchTransferBalance;
+
+    public TransactionController(
+            TransactionService transactionService,
+            TransactionPipelineFactory pipelines) {
+        this.transactionService = transactionService;
+
+        this.useBalance = pipelines.singleAccount("use", LockPolicy.DEFAULT,
+                this::doUseBalance, this::saveFailedUse);
+        this.cancelBalance = pipelines.singleAccount("cancel", LockPolicy.DEFAULT,
+                this::doCancelBalance, this::saveFailedCancel);
+        this.transferBalance = pipelines.multiAccount("transfer", LockPolicy.DEFAULT,
+                this::doTransferBalance, this::saveFailedTransfer);
+        // 입금 계좌가 많으면 오래 걸리므로 락 만료 대신 watchdog 으로 연장
+        this.batchTransferBalance = pipelines.singleAccount("transfer-batch",
+                LockPolicy.DEFAULT.withLeaseMillis(-1L),
+                this::doBatchTransferBalance, this::saveFailedBatchTransfer);
+    }
+
     @PostMapping("/transaction/use")
-    @AccountLock
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request request
-    ) throws InterruptedException {
-        try {
-            Thread.sleep(3000L);
-            return UseBalance.Response.from(
-                    transactionService.useBalance(
-                            request.getUserId(),
-                            request.getAccountNumber(),
-                            request.getAmount()));
-        } catch (AccountException e) {
-            log.error("Failed to use balance.");
-
-            transactionService.saveFailedUseTransaction(
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
-
-            throw e;
-        }
+    ) throws Exception {
+        return useBalance.handle(request);
     }
 
     @PostMapping("/transaction/cancel")
-    @AccountLock
     public CancelBalance.Response cancelBalance(
             @RequestBody @Valid CancelBalance.Request request
-    ) {
-        try {
-            return CancelBalance.Response.from(
-                    transactionService.cancelBalance(
-                            request.getTransactionId(),
-                            request.getAccountNumber(),
-                            request.getAmount()));
-        } catch (AccountException e) {
-            log.error("Failed to cancel balance.");
-
-            transactionService.saveFailedCancelTransaction(
-                    request.getAccountNumber(),
-                    request.getAmount()
-            );
-
-            throw e;
-        }
+    ) throws Exception {
+        return cancelBalance.handle(request);
+    }
+
+    @PostMapping("/transaction/transfer")
+    public TransferBalance.Response transferBalance(
+            @RequestBody @Valid TransferBalance.Request request
+    ) throws Exception {
+        return transferBalance.handle(request);
+    }
+
+    @PostMapping("/transaction/transfer/batch")
+    public BatchTransferBalance.Response batchTransferBalance(
+            @RequestBody @Valid BatchTransferBalance.Request request
+    ) throws Exception {
+        return batchTransferBalance.handle(request);
     }
 
     @GetMapping("/transaction/{transactionId}")
@@ -73,4 +75,78 @@ public class TransactionController {
                 transactionService.queryTransaction(transactionId));
     }
 
+    private UseBalance.Response doUseBalance(
+            UseBalance.Request request) throws InterruptedException {
+        Thread.sleep(3000L);
+        return UseBalance.Response.from(
+                transactionService.useBalance(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getAmount()));
+    }
+
+    private void saveFailedUse(UseBalance.Request request) {
+        log.error("Failed to use balance.");
+
+        transactionService.saveFailedUseTransaction(
+                request.getAccountNumber(),
+                request.getAmount()
+        );
+    }
+
+    private CancelBalance.Response doCancelBalance(CancelBalance.Request request) {
+        return CancelBalance.Response.from(
+                transactionService.cancelBalance(
+                        request.getTransactionId(),
+                        request.getAccountNumber(),
+                        request.getAmount()));
+    }
+
+    private void saveFailedCancel(CancelBalance.Request request) {
+        log.error("Failed to cancel balance.");
+
+        transactionService.saveFailedCancelTransaction(
+                request.getAccountNumber(),
+                request.getAmount()
+        );
+    }
+
+    private TransferBalance.Response doTransferBalance(TransferBalance.Request request) {
+        return TransferBalance.Response.from(
+                transactionService.transferBalance(
+                        request.getUserId(),
+                        request.getFromAccountNumber(),
+                        request.getToAccountNumber(),
+                        request.getAmount()));
+    }
+
+    private void saveFailedTransfer(TransferBalance.Request request) {
+        log.error("Failed to transfer balance.");
+
+        transactionService.saveFailedTransferTransaction(
+                request.getFromAccountNumber(),
+                request.getAmount()
+        );
+    }
+
+    private BatchTransferBalance.Response doBatchTransferBalance(
+            BatchTransferBalance.Request request) {
+        return BatchTransferBalance.Response.from(
+                request.getAccountNumber(),
+                transactionService.batchTransferBalance(
+                        request.getUserId(),
+                        request.getAccountNumber(),
+                        request.getTransfers()));
+    }
+
+    private void saveFailedBatchTransfer(BatchTransferBalance.Request request) {
+        log.error("Failed to batch transfer balance.");
+
+        transactionService.saveFailedTransferTransaction(
+                request.getAccountNumber(),
+                request.getTransfers().stream()
+                        .mapToLong(BatchTransferBalance.Item::getAmount)
+                        .sum()
+        );
+    }
 }
@@ -1,10 +1,12 @@
 package com.example.AccountSystem.domain;
 
 import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.ExistenceFilterListener;
 import com.example.AccountSystem.type.AccountStatus;
 import com.example.AccountSystem.type.ErrorCode;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,37 +22,83 @@ import static com.example.AccountSystem.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
 @AllArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(columnList = "accountNumber", unique = true))
+@EntityListeners({AuditingEntityListener.class, ExistenceFilterListener.class})
 public class Account extends BaseEntity {
     @ManyToOne
     private AccountUser accountUser;
+
+    // DB 에는 BIGINT 로 저장
+    @Convert(converter = AccountNumberConverter.class)
     private String accountNumber;
 
     @Enumerated(EnumType.STRING)
     private AccountStatus accountStatus;
     private Long balance;
 
+    // 개설 시 잔액 (보관된 거래의 잔액 변화 포함), 정합성 점검에서 남은 거래 내역을 더해 balance 와 비교한다
+    // 컬럼 추가 전에 개설된 계좌는 null 이며 InitialBalanceBackfill 이 채운다
+    @Builder.Default
+    private Long initialBalance = 0L;
+
+    // 승인(hold)으로 묶여 있어 사용할 수 없는 금액, 사용 가능 잔액은 balance - heldBalance
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long heldBalance = 0L;
+
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
+    // 락 없이 입금되는 경우(일괄 이체)와 동시 수정을 막는다
+    @Version
+    private Long version;
+
     public void unregister() {
         accountStatus = UNREGISTERED;
         unRegisteredAt = LocalDateTime.now();
     }
 
+    public Long getAvailableBalance() {
+        return balance - heldBalance;
+    }
+
     public void useBalance(Long amount) {
-        if (amount > balance) {
-            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        if (amount > getAvailableBalance()) {
+            throw AccountException.of(AMOUNT_EXCEED_BALANCE);
         }
         balance -= amount;
     }
 
     public void cancelBalance(Long amount) {
         if(amount < 0) {
-            throw new AccountException(ErrorCode.INVALID_REQUEST);
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
         }
         balance += amount;
     }
 
+    public void hold(Long amount) {
+        if (amount > getAvailableBalance()) {
+            throw AccountException.of(AMOUNT_EXCEED_BALANCE);
+        }
+        heldBalance += amount;
+    }
+
+    // 승인 금액을 실제로 출금
+    public void captureHold(Long amount) {
+        heldBalance -= amount;
+        balance -= amount;
+    }
+
+    public void releaseHold(Long amount) {
+        heldBalance -= amount;
+    }
+
+    public void depositBalance(Long amount) {
+        if(amount < 0) {
+            throw AccountException.of(ErrorCode.INVALID_REQUEST);
+        }
+        balance += amount;
+    }
 
 }
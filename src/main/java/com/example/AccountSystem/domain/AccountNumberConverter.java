@@ -0,0 +1,22 @@
+package com.example.AccountSystem.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * 계좌번호는 API 와 엔티티에서는 문자열로 두고 DB 에는 BIGINT 로 저장한다.
+ * 조회 조건의 계좌번호 파라미터도 이 변환을 거치므로 형식이 틀린 번호는 -1 로 조회된다.
+ */
+@Converter
+public class AccountNumberConverter implements AttributeConverter<String, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(String accountNumber) {
+        return accountNumber == null ? null : AccountNumbers.toLong(accountNumber);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Long accountNumber) {
+        return accountNumber == null ? null : AccountNumbers.toString(accountNumber);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.AccountSystem.domain;
+
+/**
+ * 계좌번호 문자열 <-> long 변환
+ * 계좌번호는 0으로 시작하지 않는 10자리 숫자라 long 으로 바꿔도 문자열로 되돌릴 수 있다.
+ */
+public final class AccountNumbers {
+    public static final int LENGTH = 10;
+    // 계좌번호가 될 수 없는 값, 형식이 틀린 번호는 이 값으로 바꿔 조회 결과가 없게 한다
+    public static final long INVALID = -1L;
+
+    private AccountNumbers() {
+    }
+
+    // Long.parseLong 과 달리 예외/객체 생성 없이 형식만 확인하며 바꾼다
+    public static long toLong(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH
+                || accountNumber.charAt(0) == '0') {
+            return INVALID;
+        }
+        long value = 0L;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public static String toString(long accountNumber) {
+        return Long.toString(accountNumber);
+    }
+}
@@ -20,4 +20,9 @@ import java.time.LocalDateTime;
 @EntityListeners(AuditingEntityListener.class)
 public class AccountUser extends BaseEntity {
     private String name;
+
+    // 해지되지 않은 계좌 수, 계좌 개설/해지 시 조건부 update 로만 바꾼다
+    // 컬럼 추가 전에 만든 사용자는 null 이며 ActiveAccountCountBackfill 이 채울 때까지 개설이 거절된다
+    @Builder.Default
+    private Integer activeAccountCount = 0;
 }
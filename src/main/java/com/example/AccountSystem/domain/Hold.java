@@ -0,0 +1,51 @@
+package com.example.AccountSystem.domain;
+
+import com.example.AccountSystem.type.HoldStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 승인(hold) 내역
+ * 승인 금액은 매입(capture)되기 전까지 계좌의 heldBalance 로 묶인다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_hold", indexes = {
+        @Index(columnList = "holdId"),
+        // 만료 스윕은 (상태, 만료 시각) 범위로만 조회한다
+        @Index(columnList = "holdStatus, expiresAt")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class Hold extends BaseEntity {
+    @ManyToOne
+    private Account account;
+
+    private String holdId;
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    private HoldStatus holdStatus;
+
+    private LocalDateTime authorizedAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime finalizedAt;
+
+    // 매입 시 생성된 사용 거래
+    private String transactionId;
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    public void finish(HoldStatus holdStatus) {
+        this.holdStatus = holdStatus;
+        this.finalizedAt = LocalDateTime.now();
+    }
+}
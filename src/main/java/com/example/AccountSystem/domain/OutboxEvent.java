@@ -0,0 +1,51 @@
+package com.example.AccountSystem.domain;
+
+import com.example.AccountSystem.type.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 변경 이벤트 outbox
+ * 거래와 같은 DB 트랜잭션에서 저장하고, OutboxRelay 가 Redis 로 발행한 뒤 published 로 표시한다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "account_event_outbox", indexes = {
+        @Index(columnList = "published, id")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class OutboxEvent extends BaseEntity {
+    private String accountNumber;
+    private String transactionId;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    private Long amount;
+    private Long balanceSnapShot;
+    private LocalDateTime transactedAt;
+
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean published = false;
+
+    public static OutboxEvent from(Transaction transaction) {
+        return OutboxEvent.builder()
+                .accountNumber(transaction.getAccount().getAccountNumber())
+                .transactionId(transaction.getTransactionId())
+                .transactionType(transaction.getTransactionType())
+                .amount(transaction.getAmount())
+                .balanceSnapShot(transaction.getBalanceSnapShot())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.AccountSystem.domain;
 
+import com.example.AccountSystem.service.ExistenceFilterListener;
 import com.example.AccountSystem.type.TransactionResultType;
 import com.example.AccountSystem.type.TransactionType;
 import jakarta.persistence.*;
@@ -14,7 +15,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        @Index(columnList = "transactionId"),
+        @Index(columnList = "relatedTransactionId"),
+        @Index(columnList = "transactedAt"),
+        @Index(columnList = "account_id, id")
+})
+@EntityListeners({AuditingEntityListener.class, ExistenceFilterListener.class})
 public class Transaction extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
@@ -30,4 +37,11 @@ public class Transaction extends BaseEntity {
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 이체 입금 건은 짝이 되는 출금 거래, 취소 건은 원거래의 transactionId
+    private String relatedTransactionId;
+
+    // 아직 취소할 수 있는 금액 (성공한 사용 거래만 값을 가진다)
+    // 컬럼 추가 전의 성공한 사용 거래는 null 이며 CancellableAmountBackfill 이 채운다
+    private Long cancellableAmount;
+
 }
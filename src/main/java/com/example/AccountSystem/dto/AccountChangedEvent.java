@@ -0,0 +1,28 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.type.AccountStatus;
+import lombok.*;
+
+/**
+ * 계좌 잔액/상태 변경 이벤트 (커밋 이후 리스너에서 처리)
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AccountChangedEvent {
+    private Long userId;
+    private String accountNumber;
+    private Long balance;
+    private AccountStatus accountStatus;
+
+    public static AccountChangedEvent from(Account account) {
+        return AccountChangedEvent.builder()
+                .userId(account.getAccountUser().getId())
+                .accountNumber(account.getAccountNumber())
+                .balance(account.getBalance())
+                .accountStatus(account.getAccountStatus())
+                .build();
+    }
+}
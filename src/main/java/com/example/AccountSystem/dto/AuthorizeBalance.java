@@ -0,0 +1,60 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
+import com.example.AccountSystem.type.HoldStatus;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class AuthorizeBalance {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface, UserIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotNull
+        @Min(100)
+        @Max(1_000_000_000)
+        private Long amount;
+
+        // 비우면 기본 유효 시간(account.hold.ttl-seconds)을 사용
+        @Min(1)
+        @Max(2_592_000)
+        private Long ttlSeconds;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private HoldStatus holdStatus;
+        private Long amount;
+        private LocalDateTime expiresAt;
+
+        public static Response from(HoldDTO holdDTO) {
+            return Response.builder()
+                    .accountNumber(holdDTO.getAccountNumber())
+                    .holdId(holdDTO.getHoldId())
+                    .holdStatus(holdDTO.getHoldStatus())
+                    .amount(holdDTO.getAmount())
+                    .expiresAt(holdDTO.getExpiresAt())
+                    .build();
+        }
+    }
+}
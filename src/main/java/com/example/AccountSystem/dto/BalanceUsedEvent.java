@@ -0,0 +1,21 @@
+package com.example.AccountSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 잔액 사용(출금) 이벤트, 커밋 이후 사용 한도 집계에 반영한다.
+ * 거래 테이블에서 한도 집계를 다시 만들 때도 같은 형태로 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceUsedEvent {
+    private Long id;
+    private String accountNumber;
+    private Long amount;
+    private LocalDateTime usedAt;
+}
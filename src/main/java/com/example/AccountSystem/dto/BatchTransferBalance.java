@@ -0,0 +1,83 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
+import com.example.AccountSystem.type.TransactionResultType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 한 계좌에서 여러 계좌로 나눠 보내는 이체 (급여 지급 등)
+ * 출금 계좌 하나에만 락을 잡는다.
+ */
+public class BatchTransferBalance {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface, UserIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        // 출금 계좌
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        @NotEmpty
+        @Size(max = 10_000)
+        private List<@Valid Item> transfers;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Item {
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+
+        @NotNull
+        @Min(100)
+        @Max(1_000_000_000)
+        private Long amount;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private Long totalAmount;
+        private List<TransferBalance.Response> transfers;
+        private LocalDateTime transactedAt;
+
+        public static Response from(
+                String accountNumber, List<TransactionDTO> transactionDTOs) {
+            return Response.builder()
+                    .accountNumber(accountNumber)
+                    .transactionResult(TransactionResultType.S)
+                    .totalAmount(transactionDTOs.stream()
+                            .mapToLong(TransactionDTO::getAmount).sum())
+                    .transfers(transactionDTOs.stream()
+                            .map(TransferBalance.Response::from)
+                            .collect(Collectors.toList()))
+                    .transactedAt(transactionDTOs.isEmpty() ? null
+                            : transactionDTOs.get(0).getTransactedAt())
+                    .build();
+        }
+    }
+}
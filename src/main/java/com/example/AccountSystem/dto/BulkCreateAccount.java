@@ -0,0 +1,72 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.type.ErrorCode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreateAccount {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Request {
+        @NotEmpty
+        @Size(max = 10000)
+        @Valid
+        private List<CreateAccount.Request> accounts;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private int created;
+        // 요청 순서와 같다
+        private List<Result> results;
+
+        public static Response from(List<CreateAccount.Request> requests,
+                                    List<ServiceResult<AccountDTO>> results) {
+            List<Result> items = new ArrayList<>(results.size());
+            int created = 0;
+            for (int i = 0; i < results.size(); i++) {
+                ServiceResult<AccountDTO> result = results.get(i);
+                if (result.isSuccess()) {
+                    created++;
+                    items.add(Result.builder()
+                            .userId(result.getValue().getUserId())
+                            .accountNumber(result.getValue().getAccountNumber())
+                            .registeredAt(result.getValue().getRegisteredAt())
+                            .build());
+                } else {
+                    items.add(Result.builder()
+                            .userId(requests.get(i).getUserId())
+                            .errorCode(result.getErrorCode())
+                            .build());
+                }
+            }
+            return new Response(created, items);
+        }
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Result {
+        private Long userId;
+        private String accountNumber;
+        private LocalDateTime registeredAt;
+        // 개설하지 못한 경우의 사유
+        private ErrorCode errorCode;
+    }
+}
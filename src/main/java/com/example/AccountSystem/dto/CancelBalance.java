@@ -1,6 +1,7 @@
 package com.example.AccountSystem.dto;
 
 import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.TransactionIdInterface;
 import com.example.AccountSystem.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,7 +13,7 @@ public class CancelBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface, TransactionIdInterface {
         @NotBlank
         private String transactionId;
 
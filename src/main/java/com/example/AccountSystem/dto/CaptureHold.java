@@ -0,0 +1,51 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.type.TransactionResultType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+public class CaptureHold {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface {
+        @NotBlank
+        private String holdId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+
+        public static Response from(String holdId, TransactionDTO transactionDTO) {
+            return Response.builder()
+                    .accountNumber(transactionDTO.getAccountNumber())
+                    .holdId(holdId)
+                    .transactionResult(transactionDTO.getTransactionResultType())
+                    .transactionId(transactionDTO.getTransactionId())
+                    .amount(transactionDTO.getAmount())
+                    .transactedAt(transactionDTO.getTransactedAt())
+                    .build();
+        }
+    }
+}
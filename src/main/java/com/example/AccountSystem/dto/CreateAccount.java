@@ -1,5 +1,6 @@
 package com.example.AccountSystem.dto;
 
+import com.example.AccountSystem.aop.UserIdInterface;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -11,7 +12,7 @@ public class CreateAccount {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request {
+    public static class Request implements UserIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
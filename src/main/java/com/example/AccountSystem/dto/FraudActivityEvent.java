@@ -0,0 +1,17 @@
+package com.example.AccountSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 성공한 잔액 사용, 커밋 이후 사기 의심 규칙 통계에 반영한다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FraudActivityEvent {
+    private Long userId;
+    private String accountNumber;
+    private Long amount;
+}
@@ -0,0 +1,32 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.domain.Hold;
+import com.example.AccountSystem.type.HoldStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HoldDTO {
+    private String accountNumber;
+    private String holdId;
+    private Long amount;
+    private HoldStatus holdStatus;
+    private LocalDateTime authorizedAt;
+    private LocalDateTime expiresAt;
+
+    public static HoldDTO fromEntity(Hold hold) {
+        return HoldDTO.builder()
+                .accountNumber(hold.getAccount().getAccountNumber())
+                .holdId(hold.getHoldId())
+                .amount(hold.getAmount())
+                .holdStatus(hold.getHoldStatus())
+                .authorizedAt(hold.getAuthorizedAt())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
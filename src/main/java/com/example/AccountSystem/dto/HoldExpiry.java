@@ -0,0 +1,19 @@
+package com.example.AccountSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료 예약 정보
+ * 승인 커밋 이후 이벤트로 발행되어 타이머 휠에 등록되며, DB 스윕 결과도 같은 형태로 다시 등록된다.
+ */
+@Getter
+@AllArgsConstructor
+public class HoldExpiry {
+    private Long id;
+    private String holdId;
+    private String accountNumber;
+    private LocalDateTime expiresAt;
+}
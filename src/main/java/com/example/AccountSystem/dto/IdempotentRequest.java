@@ -0,0 +1,14 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.IdempotencyKeyInterface;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+// 요청 본문이 아니라 헤더에서 채워지므로 JSON 으로 주고받지 않는다
+@Getter
+@Setter
+public abstract class IdempotentRequest implements IdempotencyKeyInterface {
+    @JsonIgnore
+    private String idempotencyKey;
+}
@@ -0,0 +1,25 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.type.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 정산 파일의 거래 한 건 (USE: 사용, CANCEL: 취소)
+ * transactionType 이 null 이면 형식이 잘못된 레코드
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ImportRecord {
+    private int recordNo;
+    private TransactionType transactionType;
+    // 사용 레코드의 사용자 아이디
+    private Long userId;
+    // 취소 레코드의 원거래 아이디
+    private String originalTransactionId;
+    private long amount;
+    // 레코드 번호로 정해지는 거래 아이디, 다시 실행해도 같은 값이라 중복 반영을 막는다
+    private String transactionId;
+}
@@ -0,0 +1,24 @@
+package com.example.AccountSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 정산 파일 가져오기 결과 요약, 레코드별 결과는 결과 파일에 남는다.
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+    private String importId;
+    private int records;
+    private long applied;
+    private long rejected;
+    // 이전 실행에서 이미 반영된 레코드
+    private long skipped;
+    // 락 획득 실패 등으로 반영하지 못해 다음 실행에서 다시 시도할 레코드
+    private long retryable;
+
+    public boolean isComplete() {
+        return retryable == 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.AccountSystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 잔액 정합성 점검 결과 요약, 불일치 상세는 보고서 파일에 남는다.
+ */
+@Getter
+@AllArgsConstructor
+public class ReconciliationResult {
+    private String runId;
+    private long accounts;
+    private long transactions;
+    private long mismatches;
+    private int skippedRanges;
+}
@@ -0,0 +1,45 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.type.HoldStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+public class ReleaseHold {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface {
+        @NotBlank
+        private String holdId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String holdId;
+        private HoldStatus holdStatus;
+        private Long amount;
+
+        public static Response from(HoldDTO holdDTO) {
+            return Response.builder()
+                    .accountNumber(holdDTO.getAccountNumber())
+                    .holdId(holdDTO.getHoldId())
+                    .holdStatus(holdDTO.getHoldStatus())
+                    .amount(holdDTO.getAmount())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.type.ErrorCode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 예외 없이 처리 결과를 돌려준다.
+ * 거절(errorCode != null)이 흔한 호출 경로에서 예외 대신 사용한다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ServiceResult<T> {
+    private final T value;
+    private final ErrorCode errorCode;
+
+    public static <T> ServiceResult<T> success(T value) {
+        return new ServiceResult<>(value, null);
+    }
+
+    public static <T> ServiceResult<T> rejected(ErrorCode errorCode) {
+        return new ServiceResult<>(null, errorCode);
+    }
+
+    public boolean isSuccess() {
+        return errorCode == null;
+    }
+
+    public T getOrThrow() {
+        if (errorCode != null) {
+            throw AccountException.of(errorCode);
+        }
+        return value;
+    }
+}
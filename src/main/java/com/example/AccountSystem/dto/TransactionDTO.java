@@ -23,6 +23,9 @@ public class TransactionDTO {
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    // 이체 상대 계좌
+    private String counterpartAccountNumber;
+
     public static TransactionDTO fromEntity(Transaction transaction) {
         return TransactionDTO.builder()
                 .accountNumber(transaction.getAccount().getAccountNumber())
@@ -0,0 +1,69 @@
+package com.example.AccountSystem.dto;
+
+import com.example.AccountSystem.aop.AccountLockIdsInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
+import com.example.AccountSystem.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TransferBalance {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Request extends IdempotentRequest implements AccountLockIdsInterface, UserIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String fromAccountNumber;
+
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String toAccountNumber;
+
+        @NotNull
+        @Min(100)
+        @Max(1_000_000_000)
+        private Long amount;
+
+        @Override
+        @JsonIgnore
+        public List<String> getAccountNumbers() {
+            return List.of(fromAccountNumber, toAccountNumber);
+        }
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Response {
+        private String fromAccountNumber;
+        private String toAccountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+
+        public static Response from(TransactionDTO transactionDTO) {
+            return Response.builder()
+                    .fromAccountNumber(transactionDTO.getAccountNumber())
+                    .toAccountNumber(transactionDTO.getCounterpartAccountNumber())
+                    .transactionResult(transactionDTO.getTransactionResultType())
+                    .transactionId(transactionDTO.getTransactionId())
+                    .amount(transactionDTO.getAmount())
+                    .transactedAt(transactionDTO.getTransactedAt())
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.AccountSystem.dto;
 
 import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
 import com.example.AccountSystem.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -14,7 +15,7 @@ public class UseBalance {
     @AllArgsConstructor
     @NoArgsConstructor
     @Builder
-    public static class Request implements AccountLockIdInterface {
+    public static class Request extends IdempotentRequest implements AccountLockIdInterface, UserIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
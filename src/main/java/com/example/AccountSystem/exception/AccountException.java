@@ -1,18 +1,34 @@
 package com.example.AccountSystem.exception;
 
 import com.example.AccountSystem.type.ErrorCode;
-import lombok.*;
+import lombok.Getter;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 업무 규칙 위반(잔액 부족, 락 획득 실패 등)을 알리는 예외
+ * 원인 추적에 스택 트레이스가 필요 없으므로 생성하지 않고, ErrorCode 별로 하나의 인스턴스를 재사용한다.
+ */
 @Getter
-@Setter
-@NoArgsConstructor
-@Builder
 public class AccountException extends RuntimeException {
-    private ErrorCode errorCode;
+    private static final Map<ErrorCode, AccountException> CACHE =
+            new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            CACHE.put(errorCode, new AccountException(errorCode));
+        }
+    }
+
+    private final ErrorCode errorCode;
 
     public AccountException(ErrorCode errorCode) {
-        super(errorCode.getDescription());
+        super(errorCode.getDescription(), null, false, false);
         this.errorCode = errorCode;
     }
 
+    public static AccountException of(ErrorCode errorCode) {
+        return CACHE.get(errorCode);
+    }
 }
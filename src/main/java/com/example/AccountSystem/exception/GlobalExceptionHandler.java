@@ -1,23 +1,55 @@
 package com.example.AccountSystem.exception;
 
 import com.example.AccountSystem.dto.ErrorResponse;
+import com.example.AccountSystem.type.ErrorCode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
 import static com.example.AccountSystem.type.ErrorCode.INTERNAL_SERVER_ERROR;
 
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private final Map<ErrorCode, LogWindow> logWindows = new EnumMap<>(ErrorCode.class);
+    private final int maxLogsPerSecond;
+
+    public GlobalExceptionHandler(
+            @Value("${account.error-log.max-per-second:10}") int maxLogsPerSecond) {
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            logWindows.put(errorCode, new LogWindow());
+        }
+    }
 
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e) {
-        log.error("{} is occurred.", e.getErrorCode());
+        // 락 경합 등으로 같은 오류가 몰리면 초당 maxLogsPerSecond 건만 남기고 나머지는 건수로 요약한다
+        long suppressed = logWindows.get(e.getErrorCode())
+                .tryAcquire(maxLogsPerSecond);
+        if (suppressed > 0) {
+            log.error("{} is occurred. ({} suppressed)", e.getErrorCode(), suppressed);
+        } else if (suppressed == 0) {
+            log.error("{} is occurred.", e.getErrorCode());
+        }
 
         return new ErrorResponse(e.getErrorCode(), e.getMessage());
     }
 
+    // 일괄 이체는 입금 계좌를 락 없이 더하므로, 그 사이 같은 계좌를 수정한 요청은 커밋 시 @Version 충돌로 실패한다
+    // 다시 시도하면 되는 경합이므로 락 획득 실패와 같이 응답한다
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ErrorResponse handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return handleAccountException(AccountException.of(ACCOUNT_TRANSACTION_LOCK));
+    }
+
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("Exception is occurred.", e);
@@ -27,4 +59,27 @@ public class GlobalExceptionHandler {
                 INTERNAL_SERVER_ERROR.getDescription());
     }
 
+    /**
+     * 1초 단위 로그 허용량
+     * 로그를 남겨도 되면 직전 구간에서 생략된 건수(0 이상), 생략해야 하면 -1 을 반환한다.
+     */
+    static class LogWindow {
+        private final AtomicLong windowStart = new AtomicLong();
+        private final AtomicLong logged = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        long tryAcquire(int maxPerSecond) {
+            long now = System.currentTimeMillis();
+            long start = windowStart.get();
+            if (now - start >= 1000L && windowStart.compareAndSet(start, now)) {
+                logged.set(0);
+            }
+
+            if (logged.incrementAndGet() <= maxPerSecond) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1L;
+        }
+    }
 }
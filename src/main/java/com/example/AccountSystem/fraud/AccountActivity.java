@@ -0,0 +1,51 @@
+package com.example.AccountSystem.fraud;
+
+/**
+ * 계좌별 최근 사용 통계
+ * 최근 사용 시각 32건의 링 버퍼와 사용 금액의 지수 이동 평균만 들고 있다.
+ */
+public class AccountActivity {
+    static final int CAPACITY = 32;
+    private static final double ALPHA = 0.1;
+
+    private final long[] usedAt = new long[CAPACITY];
+    private int next;
+    private int size;
+    private double averageAmount;
+    private long samples;
+
+    public int countSince(long sinceMillis) {
+        int count = 0;
+        for (int i = 1; i <= size; i++) {
+            // 최신 기록부터 거꾸로 확인
+            if (usedAt[(next - i + CAPACITY) % CAPACITY] < sinceMillis) {
+                break;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    public double getAverageAmount() {
+        return averageAmount;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getLastUsedAt() {
+        return size == 0 ? 0L : usedAt[(next - 1 + CAPACITY) % CAPACITY];
+    }
+
+    void record(long nowMillis, long amount) {
+        usedAt[next] = nowMillis;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+
+        averageAmount = samples == 0
+                ? amount
+                : averageAmount + ALPHA * (amount - averageAmount);
+        samples++;
+    }
+}
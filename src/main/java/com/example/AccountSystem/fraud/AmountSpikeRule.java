@@ -0,0 +1,24 @@
+package com.example.AccountSystem.fraud;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용 금액이 계좌 평균 사용 금액의 threshold 배를 넘으면 의심
+ * 평균을 믿을 수 있을 만큼 사용 기록이 쌓인 계좌만 평가한다.
+ */
+@Component
+public class AmountSpikeRule implements FraudRule {
+    private static final int MIN_SAMPLES = 5;
+
+    @Override
+    public String getName() {
+        return "amount-spike";
+    }
+
+    @Override
+    public boolean isSuspicious(UseAttempt attempt, FraudRuleSettings settings) {
+        AccountActivity activity = attempt.getAccountActivity();
+        return activity.getSamples() >= MIN_SAMPLES
+                && attempt.getAmount() > activity.getAverageAmount() * settings.getThreshold();
+    }
+}
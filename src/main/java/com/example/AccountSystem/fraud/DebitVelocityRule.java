@@ -0,0 +1,26 @@
+package com.example.AccountSystem.fraud;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * windowSeconds 안의 사용 횟수가 threshold 이상이면 의심 (threshold 는 최대 32)
+ */
+@Component
+public class DebitVelocityRule implements FraudRule {
+    @Override
+    public String getName() {
+        return "debit-velocity";
+    }
+
+    @Override
+    public boolean isSuspicious(UseAttempt attempt, FraudRuleSettings settings) {
+        long since = attempt.getNowMillis() - settings.getWindowSeconds() * 1000L;
+        return attempt.getAccountActivity().countSince(since) >= settings.getThreshold();
+    }
+
+    // 계좌별 사용 시각은 최근 CAPACITY 건만 남는다
+    @Override
+    public double getMaxThreshold() {
+        return AccountActivity.CAPACITY;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.AccountSystem.fraud;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 한 사용자가 windowSeconds 안에 threshold 개를 넘는 계좌에서 사용하면 의심 (threshold 는 최대 16)
+ */
+@Component
+public class DistinctAccountsRule implements FraudRule {
+    @Override
+    public String getName() {
+        return "distinct-accounts";
+    }
+
+    @Override
+    public boolean isSuspicious(UseAttempt attempt, FraudRuleSettings settings) {
+        long since = attempt.getNowMillis() - settings.getWindowSeconds() * 1000L;
+        return attempt.getUserActivity()
+                .distinctAccountsSince(since, attempt.getAccountNumber()) > settings.getThreshold();
+    }
+
+    // 사용자별 사용 계좌는 최근 CAPACITY 건만 남는다
+    @Override
+    public double getMaxThreshold() {
+        return UserActivity.CAPACITY;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.AccountSystem.fraud;
+
+/**
+ * 잔액 사용 전 평가하는 사기 의심 규칙
+ * 메모리의 계좌/사용자 통계만 읽어야 하며 DB, Redis 를 호출하지 않는다.
+ */
+public interface FraudRule {
+    // 설정 키로 쓰는 이름 (account.fraud.rules.<name>)
+    String getName();
+
+    boolean isSuspicious(UseAttempt attempt, FraudRuleSettings settings);
+
+    // 통계가 담을 수 있는 범위를 넘는 threshold 는 규칙이 절대 걸리지 않으므로 설정을 거부한다
+    default double getMaxThreshold() {
+        return Double.MAX_VALUE;
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.AccountSystem.fraud;
+
+import com.example.AccountSystem.config.FraudProperties;
+import com.example.AccountSystem.dto.FraudActivityEvent;
+import com.example.AccountSystem.type.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.AccountSystem.type.ErrorCode.FRAUD_SUSPECTED;
+
+/**
+ * 잔액 사용 전 사기 의심 규칙 평가
+ * 규칙은 FraudRule 빈으로 추가하고, 설정은 Redis 의 FRAUD_RULES 맵을 주기적으로 읽어 교체한다.
+ * 잘못된 덮어쓰기 값은 그 규칙만 기본 설정으로 두고 건너뛰며, 기본 설정이 잘못되면 시작하지 않는다.
+ * 규칙마다 평가 시간을 측정해 예산을 연속으로 넘기면 다음 설정 반영 전까지 건너뛴다.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(FraudProperties.class)
+public class FraudRuleEngine {
+    private static final String FRAUD_RULES = "FRAUD_RULES";
+    private static final long IDLE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final List<FraudRule> rules;
+    private final FraudProperties properties;
+    private final RedissonClient redissonClient;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, AccountActivity> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, UserActivity> users = new ConcurrentHashMap<>();
+    private volatile ActiveRule[] activeRules = new ActiveRule[0];
+
+    public FraudRuleEngine(
+            List<FraudRule> rules,
+            FraudProperties properties,
+            RedissonClient redissonClient,
+            Optional<MeterRegistry> meterRegistry) {
+        this.rules = rules;
+        this.properties = properties;
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry.orElse(null);
+        apply(Map.of());
+    }
+
+    /**
+     * 의심 규칙에 걸리면 FRAUD_SUSPECTED, 아니면 null
+     */
+    public ErrorCode evaluate(Long userId, String accountNumber, long amount) {
+        ActiveRule[] current = activeRules;
+        if (!properties.isEnabled() || current.length == 0) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        AccountActivity accountActivity =
+                accounts.computeIfAbsent(accountNumber, k -> new AccountActivity());
+        UserActivity userActivity =
+                users.computeIfAbsent(userId, k -> new UserActivity());
+        UseAttempt attempt = new UseAttempt(
+                userId, accountNumber, amount, now, accountActivity, userActivity);
+
+        // 락 순서는 항상 계좌 -> 사용자
+        synchronized (accountActivity) {
+            synchronized (userActivity) {
+                for (ActiveRule rule : current) {
+                    if (rule.evaluate(attempt)) {
+                        log.warn("Fraud suspected. rule : {}, accountNumber : {}",
+                                rule.rule.getName(), accountNumber);
+                        return FRAUD_SUSPECTED;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 성공한 사용을 통계에 반영한다.
+     */
+    public void record(Long userId, String accountNumber, long amount) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        AccountActivity accountActivity =
+                accounts.computeIfAbsent(accountNumber, k -> new AccountActivity());
+        synchronized (accountActivity) {
+            accountActivity.record(now, amount);
+        }
+        UserActivity userActivity =
+                users.computeIfAbsent(userId, k -> new UserActivity());
+        synchronized (userActivity) {
+            userActivity.record(now, accountNumber);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUsed(FraudActivityEvent event) {
+        record(event.getUserId(), event.getAccountNumber(), event.getAmount());
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${account.fraud.reload-interval-millis:10000}")
+    public void reload() {
+        try {
+            Map<String, String> overrides =
+                    redissonClient.<String, String>getMap(FRAUD_RULES).readAllMap();
+            apply(overrides);
+        } catch (Exception e) {
+            // Redis 장애 시 기존 설정 유지
+            log.warn("Failed to reload fraud rules.", e);
+        }
+    }
+
+    // 한동안 사용이 없는 계좌/사용자 통계 정리
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        long before = System.currentTimeMillis() - IDLE_MILLIS;
+        accounts.values().removeIf(activity -> {
+            synchronized (activity) {
+                return activity.getLastUsedAt() < before;
+            }
+        });
+        users.values().removeIf(activity -> {
+            synchronized (activity) {
+                return activity.getLastUsedAt() < before;
+            }
+        });
+    }
+
+    void apply(Map<String, String> overrides) {
+        activeRules = build(overrides);
+    }
+
+    private ActiveRule[] build(Map<String, String> overrides) {
+        long budgetNanos = TimeUnit.MICROSECONDS.toNanos(properties.getBudgetMicros());
+        return rules.stream()
+                .map(rule -> {
+                    FraudRuleSettings settings = settingsOf(rule, overrides.get(rule.getName()));
+                    return settings.isEnabled()
+                            ? new ActiveRule(rule, settings, budgetNanos,
+                            properties.getMaxOverBudget(), meterRegistry)
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .toArray(ActiveRule[]::new);
+    }
+
+    private FraudRuleSettings settingsOf(FraudRule rule, String override) {
+        FraudRuleSettings settings = properties.getRules()
+                .getOrDefault(rule.getName(), new FraudRuleSettings());
+        validate(rule, settings);
+        if (override == null) {
+            return settings;
+        }
+
+        try {
+            FraudRuleSettings merged = settings.merge(override);
+            validate(rule, merged);
+            return merged;
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring invalid fraud rule override. rule : {}, value : {}",
+                    rule.getName(), override, e);
+            return settings;
+        }
+    }
+
+    private static void validate(FraudRule rule, FraudRuleSettings settings) {
+        if (settings.getThreshold() > rule.getMaxThreshold()) {
+            throw new IllegalArgumentException("Fraud rule " + rule.getName()
+                    + " threshold " + settings.getThreshold()
+                    + " exceeds " + rule.getMaxThreshold());
+        }
+    }
+
+    private static class ActiveRule {
+        private final FraudRule rule;
+        private final FraudRuleSettings settings;
+        private final long budgetNanos;
+        private final int maxOverBudget;
+        private final Timer latency;
+        private final Counter matched;
+        private final Counter overBudget;
+        // 연속 예산 초과 횟수, 평가는 계좌 락 안에서만 일어나지만 계좌가 달라도 공유하므로 대략적인 값
+        private volatile int strikes;
+
+        private ActiveRule(FraudRule rule, FraudRuleSettings settings, long budgetNanos,
+                           int maxOverBudget, MeterRegistry meterRegistry) {
+            this.rule = rule;
+            this.settings = settings;
+            this.budgetNanos = budgetNanos;
+            this.maxOverBudget = maxOverBudget;
+            if (meterRegistry == null) {
+                this.latency = null;
+                this.matched = null;
+                this.overBudget = null;
+            } else {
+                this.latency = Timer.builder("account.fraud.rule.latency")
+                        .tag("rule", rule.getName())
+                        .register(meterRegistry);
+                this.matched = Counter.builder("account.fraud.rule.matched")
+                        .tag("rule", rule.getName())
+                        .register(meterRegistry);
+                this.overBudget = Counter.builder("account.fraud.rule.over-budget")
+                        .tag("rule", rule.getName())
+                        .register(meterRegistry);
+            }
+        }
+
+        private boolean evaluate(UseAttempt attempt) {
+            if (strikes >= maxOverBudget) {
+                return false;
+            }
+
+            long start = System.nanoTime();
+            boolean suspicious = rule.isSuspicious(attempt, settings);
+            long elapsed = System.nanoTime() - start;
+
+            if (elapsed > budgetNanos) {
+                if (++strikes == maxOverBudget) {
+                    log.warn("Fraud rule {} exceeded its latency budget, skipping until reload.",
+                            rule.getName());
+                }
+                if (overBudget != null) {
+                    overBudget.increment();
+                }
+            } else if (strikes > 0) {
+                strikes = 0;
+            }
+
+            if (latency != null) {
+                latency.record(elapsed, TimeUnit.NANOSECONDS);
+                if (suspicious) {
+                    matched.increment();
+                }
+            }
+            return suspicious;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.AccountSystem.fraud;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 규칙 하나의 설정 값
+ * threshold, windowSeconds 의 의미는 규칙마다 다르다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FraudRuleSettings {
+    private boolean enabled = true;
+    private double threshold;
+    private int windowSeconds = 60;
+
+    /**
+     * "enabled=true,threshold=5,window-seconds=60" 형태의 값을 현재 설정 위에 덮어쓴다.
+     */
+    public FraudRuleSettings merge(String overrides) {
+        FraudRuleSettings merged =
+                new FraudRuleSettings(enabled, threshold, windowSeconds);
+        for (String entry : overrides.split(",")) {
+            String[] pair = entry.split("=", 2);
+            if (pair.length != 2) {
+                continue;
+            }
+            String value = pair[1].trim();
+            switch (pair[0].trim()) {
+                case "enabled" -> merged.enabled = Boolean.parseBoolean(value);
+                case "threshold" -> merged.threshold = Double.parseDouble(value);
+                case "window-seconds" -> merged.windowSeconds = Integer.parseInt(value);
+                default -> {
+                }
+            }
+        }
+        return merged;
+    }
+}
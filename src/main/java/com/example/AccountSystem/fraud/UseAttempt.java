@@ -0,0 +1,19 @@
+package com.example.AccountSystem.fraud;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 평가 대상 사용 요청과 해당 계좌/사용자의 최근 활동
+ * 활동 통계는 평가 중 잠겨 있으므로 규칙에서 그대로 읽는다.
+ */
+@Getter
+@AllArgsConstructor
+public class UseAttempt {
+    private final Long userId;
+    private final String accountNumber;
+    private final long amount;
+    private final long nowMillis;
+    private final AccountActivity accountActivity;
+    private final UserActivity userActivity;
+}
@@ -0,0 +1,53 @@
+package com.example.AccountSystem.fraud;
+
+/**
+ * 사용자별 최근 사용 계좌 (계좌번호 해시와 시각 16건의 링 버퍼)
+ */
+public class UserActivity {
+    static final int CAPACITY = 16;
+
+    private final int[] accountHashes = new int[CAPACITY];
+    private final long[] usedAt = new long[CAPACITY];
+    private int next;
+    private int size;
+
+    /**
+     * sinceMillis 이후 사용한 서로 다른 계좌 수 (accountNumber 포함)
+     */
+    public int distinctAccountsSince(long sinceMillis, String accountNumber) {
+        int[] seen = new int[CAPACITY + 1];
+        int distinct = 0;
+        seen[distinct++] = accountNumber.hashCode();
+
+        for (int i = 1; i <= size; i++) {
+            int index = (next - i + CAPACITY) % CAPACITY;
+            if (usedAt[index] < sinceMillis) {
+                break;
+            }
+            if (!contains(seen, distinct, accountHashes[index])) {
+                seen[distinct++] = accountHashes[index];
+            }
+        }
+        return distinct;
+    }
+
+    public long getLastUsedAt() {
+        return size == 0 ? 0L : usedAt[(next - 1 + CAPACITY) % CAPACITY];
+    }
+
+    void record(long nowMillis, String accountNumber) {
+        accountHashes[next] = accountNumber.hashCode();
+        usedAt[next] = nowMillis;
+        next = (next + 1) % CAPACITY;
+        size = Math.min(size + 1, CAPACITY);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.AccountSystem.importer;
+
+import com.example.AccountSystem.dto.ImportRecord;
+import com.example.AccountSystem.type.TransactionType;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * 메모리 매핑한 정산 파일
+ *
+ * 한 줄이 레코드 하나이며 빈 줄과 '#' 로 시작하는 줄은 건너뛴다.
+ *   D,{userId},{accountNumber},{amount}            사용
+ *   R,{originalTransactionId},{accountNumber},{amount}  취소
+ * 처음 한 번 훑으며 줄 시작 위치만 기록하고, 필드는 바이트에서 바로 숫자로 읽어 문자열을 만들지 않는다.
+ */
+final class ImportFile {
+    // 계좌번호(최대 34비트) 뒤에 붙이는 레코드 번호 비트 수
+    private static final int RECORD_BITS = 29;
+    private static final long RECORD_MASK = (1L << RECORD_BITS) - 1;
+    private static final long MAX_ACCOUNT_NUMBER = (1L << (63 - RECORD_BITS)) - 1;
+    private static final int TRANSACTION_ID_LENGTH = 32;
+
+    private final MappedByteBuffer buffer;
+    private final int[] lineStarts;
+    private final long checksum;
+
+    private ImportFile(MappedByteBuffer buffer, int[] lineStarts, long checksum) {
+        this.buffer = buffer;
+        this.lineStarts = lineStarts;
+        this.checksum = checksum;
+    }
+
+    static ImportFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Import file larger than 2GB must be split : " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            int[] lineStarts = new int[1024];
+            int count = 0;
+            int limit = (int) size;
+            int pos = 0;
+            while (pos < limit) {
+                int end = lineEnd(buffer, pos, limit);
+                byte first = buffer.get(pos);
+                if (end > pos && first != '#' && first != '\r') {
+                    if (count == lineStarts.length) {
+                        lineStarts = Arrays.copyOf(lineStarts, count * 2);
+                    }
+                    lineStarts[count++] = pos;
+                }
+                pos = end + 1;
+            }
+            if (count > RECORD_MASK) {
+                throw new IllegalArgumentException("Too many records in import file : " + file);
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate());
+            return new ImportFile(buffer, Arrays.copyOf(lineStarts, count), crc.getValue());
+        }
+    }
+
+    int size() {
+        return lineStarts.length;
+    }
+
+    // 같은 내용이면 같은 값, 레코드 거래 아이디의 seed 로 쓴다
+    long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * (계좌번호, 레코드 번호) 순서로 정렬한 키, 같은 계좌의 레코드가 파일 순서대로 붙어 있다.
+     * 계좌번호를 읽을 수 없는 레코드는 계좌번호 0 으로 맨 앞에 모인다.
+     */
+    long[] sortedKeys() {
+        long[] keys = new long[lineStarts.length];
+        for (int record = 0; record < keys.length; record++) {
+            keys[record] = accountNumberOf(record) << RECORD_BITS | record;
+        }
+        Arrays.parallelSort(keys);
+        return keys;
+    }
+
+    static long accountNumberOfKey(long key) {
+        return key >>> RECORD_BITS;
+    }
+
+    static int recordOfKey(long key) {
+        return (int) (key & RECORD_MASK);
+    }
+
+    /**
+     * 레코드를 읽는다. 형식이 잘못되면 transactionType 이 null 이다.
+     */
+    ImportRecord read(int record, String transactionId) {
+        int start = lineStarts[record];
+        int end = lineEnd(buffer, start, buffer.limit());
+        ImportRecord.ImportRecordBuilder builder = ImportRecord.builder()
+                .recordNo(record + 1)
+                .transactionId(transactionId);
+
+        int first = nextField(start, end);
+        int second = nextField(first, end);
+        int third = nextField(second, end);
+        if (first < 0 || second < 0 || third < 0 || first - start != 2) {
+            return builder.build();
+        }
+        long amount = parseLong(third, end);
+        if (amount <= 0) {
+            return builder.build();
+        }
+
+        byte type = buffer.get(start);
+        if (type == 'D') {
+            long userId = parseLong(first, second - 1);
+            return userId <= 0 ? builder.build() : builder
+                    .transactionType(TransactionType.USE)
+                    .userId(userId)
+                    .amount(amount)
+                    .build();
+        }
+        if (type == 'R' && second - 1 - first == TRANSACTION_ID_LENGTH) {
+            byte[] id = new byte[TRANSACTION_ID_LENGTH];
+            buffer.get(first, id);
+            return builder
+                    .transactionType(TransactionType.CANCEL)
+                    .originalTransactionId(new String(id, StandardCharsets.US_ASCII))
+                    .amount(amount)
+                    .build();
+        }
+        return builder.build();
+    }
+
+    private long accountNumberOf(int record) {
+        int start = lineStarts[record];
+        int end = lineEnd(buffer, start, buffer.limit());
+        int second = nextField(nextField(start, end), end);
+        int third = nextField(second, end);
+        if (second < 0 || third < 0) {
+            return 0;
+        }
+        long accountNumber = parseLong(second, third - 1);
+        return accountNumber > 0 && accountNumber <= MAX_ACCOUNT_NUMBER ? accountNumber : 0;
+    }
+
+    // 다음 필드 시작 위치, 없으면 -1
+    private int nextField(int from, int end) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int pos = from; pos < end; pos++) {
+            if (buffer.get(pos) == ',') {
+                return pos + 1;
+            }
+        }
+        return -1;
+    }
+
+    // [from, to) 의 10진수, 숫자가 아니거나 넘치면 -1
+    private long parseLong(int from, int to) {
+        if (from >= to || to - from > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int pos = from; pos < to; pos++) {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // 줄 끝('\n' 또는 '\r' 위치, 없으면 limit)
+    private static int lineEnd(MappedByteBuffer buffer, int from, int limit) {
+        for (int pos = from; pos < limit; pos++) {
+            byte b = buffer.get(pos);
+            if (b == '\n' || b == '\r') {
+                return pos;
+            }
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.AccountSystem.importer;
+
+import com.example.AccountSystem.dto.ImportRecord;
+import com.example.AccountSystem.dto.ImportResult;
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.LockPolicy;
+import com.example.AccountSystem.service.ShardRouter;
+import com.example.AccountSystem.service.TransactionService;
+import com.example.AccountSystem.type.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import static com.example.AccountSystem.type.ErrorCode.INTERNAL_SERVER_ERROR;
+import static com.example.AccountSystem.type.ErrorCode.INVALID_REQUEST;
+
+/**
+ * 정산 파일 가져오기
+ * 레코드를 계좌별로 모아 계좌마다 파일 순서대로, 계좌끼리는 병렬로 반영한다.
+ * 한 계좌의 레코드는 chunkSize 개씩 계좌 락을 잡고 한 DB 트랜잭션으로 반영하며,
+ * 끝난 묶음은 checkpoint 파일에 남겨 다시 실행하면 이어서 처리한다.
+ * 레코드의 거래 아이디는 (파일 내용, 레코드 번호)로 정해지므로 checkpoint 를 남기기 전에 중단돼도 두 번 반영되지 않는다.
+ * 레코드별 결과는 {importId}.result.csv 에 "레코드 번호,계좌번호,결과,거래 아이디" 로 쓴다 (계좌별 처리 순서).
+ */
+@Slf4j
+@Service
+public class TransactionImporter {
+    private static final String IMPORT_LOCK = "TRANSACTION_IMPORT";
+    private static final String APPLIED = "S";
+    private static final String ALREADY_APPLIED = "ALREADY_APPLIED";
+
+    private final TransactionService transactionService;
+    private final AccountLockCombiner accountLockCombiner;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+
+    private final int threads;
+    private final int chunkSize;
+    private final String inboxDir;
+    private final String resultDir;
+
+    public TransactionImporter(
+            TransactionService transactionService,
+            AccountLockCombiner accountLockCombiner,
+            RedissonClient redissonClient,
+            ShardRouter shardRouter,
+            @Value("${account.import.threads:8}") int threads,
+            @Value("${account.import.chunk-size:500}") int chunkSize,
+            @Value("${account.import.inbox-dir:import/inbox}") String inboxDir,
+            @Value("${account.import.result-dir:import/result}") String resultDir) {
+        this.transactionService = transactionService;
+        this.accountLockCombiner = accountLockCombiner;
+        this.redissonClient = redissonClient;
+        this.shardRouter = shardRouter;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.inboxDir = inboxDir;
+        this.resultDir = resultDir;
+    }
+
+    /**
+     * 수신 디렉터리의 *.csv 를 가져오고, 다 반영한 파일은 done 디렉터리로 옮긴다.
+     */
+    @Scheduled(fixedDelayString = "${account.import.poll-interval-millis:60000}")
+    public void pollInbox() {
+        Path inbox = Paths.get(inboxDir);
+        if (!Files.isDirectory(inbox)) {
+            return;
+        }
+        RLock lock = redissonClient.getLock(IMPORT_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try (Stream<Path> list = Files.list(inbox)) {
+            for (Path file : list.filter(f -> f.getFileName().toString().endsWith(".csv"))
+                    .sorted().toList()) {
+                try {
+                    if (importFile(file).isComplete()) {
+                        Path done = Files.createDirectories(inbox.resolve("done"));
+                        Files.move(file, done.resolve(file.getFileName()),
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.error("Transaction import failed. file : {}", file, e);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list import inbox. dir : {}", inbox, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ImportResult importFile(Path file) throws IOException, InterruptedException {
+        ImportFile importFile = ImportFile.open(file);
+        String importId = file.getFileName() + "-" + Long.toHexString(importFile.getChecksum());
+        Path dir = Files.createDirectories(Paths.get(resultDir));
+
+        Run run = new Run(importId, dir.resolve(importId + ".checkpoint"),
+                dir.resolve(importId + ".result.csv"));
+        long[] keys = importFile.sortedKeys();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            int from = 0;
+            while (from < keys.length) {
+                long accountNumber = ImportFile.accountNumberOfKey(keys[from]);
+                int to = from + 1;
+                while (to < keys.length && ImportFile.accountNumberOfKey(keys[to]) == accountNumber) {
+                    to++;
+                }
+                int start = from;
+                int end = to;
+                executor.execute(() -> importAccount(run, importFile, keys, start, end));
+                from = to;
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            run.close();
+        }
+
+        ImportResult result = new ImportResult(importId, keys.length, run.applied.sum(),
+                run.rejected.sum(), run.skipped.sum(), run.retryable.sum());
+        log.info("Imported {} : {} records, {} applied, {} rejected, {} skipped, {} to retry",
+                importId, result.getRecords(), result.getApplied(), result.getRejected(),
+                result.getSkipped(), result.getRetryable());
+        return result;
+    }
+
+    // 한 계좌의 레코드 keys[from, to) 를 묶음 단위로 차례대로 반영
+    private void importAccount(Run run, ImportFile importFile, long[] keys, int from, int to) {
+        long accountNumberValue = ImportFile.accountNumberOfKey(keys[from]);
+        String accountNumber = accountNumberValue == 0 ? "" : String.valueOf(accountNumberValue);
+        int shard = shardRouter.shardOfAccountNumber(accountNumber);
+
+        for (int start = from; start < to; start += chunkSize) {
+            int end = Math.min(start + chunkSize, to);
+            int chunkKey = ImportFile.recordOfKey(keys[start]);
+            if (run.isDone(chunkKey)) {
+                run.skipped.add(end - start);
+                continue;
+            }
+
+            List<ImportRecord> records = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                int record = ImportFile.recordOfKey(keys[i]);
+                records.add(importFile.read(record, ShardRouter.newTransactionId(
+                        shard, run.importId + ":" + (record + 1))));
+            }
+
+            if (accountNumberValue == 0) {
+                records.forEach(record -> run.write(record, accountNumber, INVALID_REQUEST.name(), ""));
+                run.rejected.add(records.size());
+                run.markDone(chunkKey);
+                continue;
+            }
+
+            if (!applyChunk(run, accountNumber, records)) {
+                // 이 계좌의 나머지 레코드는 순서를 지키기 위해 다음 실행으로 미룬다
+                run.retryable.add(to - end);
+                return;
+            }
+            run.markDone(chunkKey);
+        }
+    }
+
+    private boolean applyChunk(Run run, String accountNumber, List<ImportRecord> records) {
+        List<ServiceResult<TransactionDTO>> results;
+        try {
+            // 온라인 거래와 같은 계좌 락으로 순서를 맞춘다
+            results = accountLockCombiner.execute(accountNumber,
+                    LockPolicy.DEFAULT.withLeaseMillis(-1L),
+                    chunk -> transactionService.applyImportedRecords(accountNumber, chunk),
+                    records);
+        } catch (Throwable t) {
+            ErrorCode errorCode = t instanceof AccountException e
+                    ? e.getErrorCode() : INTERNAL_SERVER_ERROR;
+            log.warn("Failed to apply import records. accountNumber : {}", accountNumber, t);
+            records.forEach(record -> run.write(record, accountNumber, errorCode.name(), ""));
+            run.retryable.add(records.size());
+            return false;
+        }
+
+        if (results == null) {
+            records.forEach(record -> run.write(record, accountNumber, ALREADY_APPLIED,
+                    record.getTransactionId()));
+            run.skipped.add(records.size());
+            return true;
+        }
+
+        for (int i = 0; i < records.size(); i++) {
+            ServiceResult<TransactionDTO> result = results.get(i);
+            if (result.isSuccess()) {
+                run.write(records.get(i), accountNumber, APPLIED,
+                        result.getValue().getTransactionId());
+                run.applied.increment();
+            } else {
+                run.write(records.get(i), accountNumber, result.getErrorCode().name(), "");
+                run.rejected.increment();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 파일 하나를 가져오는 동안의 checkpoint 와 결과 파일
+     */
+    private static class Run {
+        private final String importId;
+        private final Set<Integer> done = new HashSet<>();
+        private final Writer checkpoint;
+        private final Writer results;
+
+        private final LongAdder applied = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder retryable = new LongAdder();
+
+        private Run(String importId, Path checkpointFile, Path resultFile) throws IOException {
+            this.importId = importId;
+            if (Files.exists(checkpointFile)) {
+                for (String line : Files.readAllLines(checkpointFile, StandardCharsets.UTF_8)) {
+                    if (!line.isEmpty()) {
+                        done.add(Integer.parseInt(line));
+                    }
+                }
+            }
+            this.checkpoint = open(checkpointFile);
+            this.results = open(resultFile);
+        }
+
+        private synchronized boolean isDone(int chunkKey) {
+            return done.contains(chunkKey);
+        }
+
+        private synchronized void markDone(int chunkKey) {
+            try {
+                // 결과를 먼저 내려써야 재시작 시 결과 행이 빠지지 않는다
+                results.flush();
+                checkpoint.write(chunkKey + "\n");
+                checkpoint.flush();
+                done.add(chunkKey);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void write(ImportRecord record, String accountNumber,
+                                        String result, String transactionId) {
+            try {
+                results.write(record.getRecordNo() + "," + accountNumber + ","
+                        + result + "," + transactionId + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private synchronized void close() {
+            try {
+                results.close();
+                checkpoint.close();
+            } catch (IOException e) {
+                log.warn("Failed to close import files. importId : {}", importId, e);
+            }
+        }
+
+        private static Writer open(Path file) throws IOException {
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+}
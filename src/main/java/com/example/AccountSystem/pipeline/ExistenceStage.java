@@ -0,0 +1,55 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.aop.TransactionIdInterface;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.ExistenceFilter;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.AccountSystem.type.ErrorCode.TRANSACTION_NOT_FOUND;
+
+/**
+ * 확실히 없는 계좌번호/거래 아이디 요청을 락을 잡기 전에 거절한다.
+ * 실패 거래 기록 단계보다 바깥에 있으므로 이렇게 거절된 요청은 실패 거래를 남기지 않는다.
+ */
+public final class ExistenceStage {
+
+    private ExistenceStage() {
+    }
+
+    public static <Q, R> Stage<Q, R> knownAccount(
+            ExistenceFilter existenceFilter,
+            Function<Q, String> accountNumber) {
+        return next -> request -> {
+            if (existenceFilter.isAccountAbsent(accountNumber.apply(request))) {
+                throw AccountException.of(ACCOUNT_NOT_FOUND);
+            }
+            checkTransaction(existenceFilter, request);
+            return next.handle(request);
+        };
+    }
+
+    public static <Q, R> Stage<Q, R> knownAccounts(
+            ExistenceFilter existenceFilter,
+            Function<Q, List<String>> accountNumbers) {
+        return next -> request -> {
+            for (String accountNumber : accountNumbers.apply(request)) {
+                if (existenceFilter.isAccountAbsent(accountNumber)) {
+                    throw AccountException.of(ACCOUNT_NOT_FOUND);
+                }
+            }
+            checkTransaction(existenceFilter, request);
+            return next.handle(request);
+        };
+    }
+
+    // 기존 거래를 대상으로 하는 요청(취소)은 거래 아이디도 확인한다
+    private static void checkTransaction(ExistenceFilter existenceFilter, Object request) {
+        if (request instanceof TransactionIdInterface transactionRequest
+                && existenceFilter.isTransactionAbsent(transactionRequest.getTransactionId())) {
+            throw AccountException.of(TRANSACTION_NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.exception.AccountException;
+
+import java.util.function.Consumer;
+
+/**
+ * 업무 규칙 위반으로 실패한 요청을 실패 거래로 남긴 뒤 예외를 그대로 던진다.
+ */
+public final class FailureRecordingStage {
+
+    private FailureRecordingStage() {
+    }
+
+    public static <Q, R> Stage<Q, R> recordFailure(Consumer<Q> recorder) {
+        return next -> request -> {
+            try {
+                return next.handle(request);
+            } catch (AccountException e) {
+                recorder.accept(request);
+                throw e;
+            }
+        };
+    }
+}
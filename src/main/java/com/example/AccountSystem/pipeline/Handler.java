@@ -0,0 +1,6 @@
+package com.example.AccountSystem.pipeline;
+
+@FunctionalInterface
+public interface Handler<Q, R> {
+    R handle(Q request) throws Exception;
+}
@@ -0,0 +1,75 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.aop.IdempotencyKeyInterface;
+import com.example.AccountSystem.aop.UserIdInterface;
+import com.example.AccountSystem.service.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청은 성공 응답을 저장해 두고, 같은 키로 다시 오면 저장된 응답을 돌려준다.
+ * 헤더는 락 바깥(요청 스레드)에서 읽어 요청 객체에 실어 두고, 저장/조회는 계좌 락 안쪽에서 해
+ * 같은 키의 중복 요청이 동시에 처리되지 않게 한다.
+ * 락 안쪽은 다른 요청 스레드에서 대신 실행될 수 있으므로 헤더를 다시 읽지 않는다.
+ */
+public final class IdempotencyStage {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private IdempotencyStage() {
+    }
+
+    public static <Q, R> Stage<Q, R> resolveKey() {
+        return next -> request -> {
+            if (request instanceof IdempotencyKeyInterface keyed) {
+                keyed.setIdempotencyKey(getIdempotencyKey());
+            }
+            return next.handle(request);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <Q, R> Stage<Q, R> idempotent(
+            IdempotencyStore idempotencyStore, String endpoint,
+            Function<Q, String> accountScope) {
+        return next -> request -> {
+            if (!(request instanceof IdempotencyKeyInterface keyed)
+                    || keyed.getIdempotencyKey() == null) {
+                return next.handle(request);
+            }
+
+            // 다른 사용자/계좌가 같은 키를 보내도 응답이 섞이지 않게 범위를 붙인다
+            String key = endpoint + ":" + userScope(request)
+                    + accountScope.apply(request) + ":" + keyed.getIdempotencyKey();
+            Optional<Object> saved = idempotencyStore.find(key);
+            if (saved.isPresent()) {
+                return (R) saved.get();
+            }
+
+            R response = next.handle(request);
+            idempotencyStore.save(key, response);
+            return response;
+        };
+    }
+
+    private static String userScope(Object request) {
+        return request instanceof UserIdInterface user
+                ? user.getUserId() + ":"
+                : "";
+    }
+
+    private static String getIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        HttpServletRequest httpRequest = servletAttributes.getRequest();
+        String key = httpRequest.getHeader(IDEMPOTENCY_KEY_HEADER);
+        return key == null || key.isBlank() ? null : key;
+    }
+}
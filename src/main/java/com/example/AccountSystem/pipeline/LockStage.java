@@ -0,0 +1,90 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.LockPolicy;
+import com.example.AccountSystem.service.LockService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 계좌 락 단계
+ * 단일 계좌 요청은 AccountLockCombiner 로 노드 안에서 줄을 세우고,
+ * 여러 계좌 요청(이체)은 계좌번호 순서대로 모두 잡는다.
+ */
+@Slf4j
+public final class LockStage {
+    // 클라이언트가 보낸 요청 타임아웃(ms), 이보다 오래 락을 기다리지 않는다
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private LockStage() {
+    }
+
+    public static <Q, R> Stage<Q, R> singleAccount(
+            AccountLockCombiner accountLockCombiner,
+            LockPolicy policy,
+            Function<Q, String> accountNumber) {
+        return next -> {
+            AccountLockCombiner.LockedCall<Q, R> call = next::handle;
+            return request -> {
+                try {
+                    return accountLockCombiner.execute(
+                            accountNumber.apply(request),
+                            resolvePolicy(policy), call, request);
+                } catch (Exception | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        };
+    }
+
+    public static <Q, R> Stage<Q, R> multiAccount(
+            LockService lockService,
+            LockPolicy policy,
+            Function<Q, List<String>> accountNumbers) {
+        return next -> request -> {
+            LockPolicy resolved = resolvePolicy(policy);
+
+            // 계좌번호 순서대로 락 취득
+            List<String> locked = lockService.lockAll(
+                    accountNumbers.apply(request), resolved);
+            try {
+                return next.handle(request);
+            } finally {
+                lockService.unlockAll(locked, resolved);
+            }
+        };
+    }
+
+    private static LockPolicy resolvePolicy(LockPolicy policy) {
+        long requestTimeout = getRequestTimeout();
+        return requestTimeout < 0 ? policy : policy.withDeadline(requestTimeout);
+    }
+
+    private static long getRequestTimeout() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return -1L;
+        }
+
+        HttpServletRequest httpRequest = servletAttributes.getRequest();
+        String timeout = httpRequest.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (timeout == null) {
+            return -1L;
+        }
+
+        try {
+            return Math.max(0L, Long.parseLong(timeout.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Invalid {} header : {}", REQUEST_TIMEOUT_HEADER, timeout);
+            return -1L;
+        }
+    }
+}
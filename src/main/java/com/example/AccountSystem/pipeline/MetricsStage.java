@@ -0,0 +1,42 @@
+package com.example.AccountSystem.pipeline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 시간 측정 단계
+ * 태그 조합별 Timer 를 미리 등록해 두고 요청마다 조회하지 않는다.
+ */
+public final class MetricsStage {
+    static final String METRIC_NAME = "account.transaction.requests";
+
+    private MetricsStage() {
+    }
+
+    public static <Q, R> Stage<Q, R> timed(MeterRegistry meterRegistry, String endpoint) {
+        Timer success = register(meterRegistry, endpoint, "success");
+        Timer failure = register(meterRegistry, endpoint, "failure");
+
+        return next -> request -> {
+            long start = System.nanoTime();
+            try {
+                R response = next.handle(request);
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return response;
+            } catch (Exception e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        };
+    }
+
+    private static Timer register(
+            MeterRegistry meterRegistry, String endpoint, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
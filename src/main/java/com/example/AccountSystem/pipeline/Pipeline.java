@@ -0,0 +1,37 @@
+package com.example.AccountSystem.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 단계를 바깥쪽부터 순서대로 쌓아 하나의 Handler 로 합친다.
+ * <pre>
+ * Pipeline.&lt;Request, Response&gt;builder()
+ *         .then(metrics)
+ *         .then(lock)
+ *         .build(handler);
+ * </pre>
+ */
+public final class Pipeline<Q, R> {
+    private final List<Stage<Q, R>> stages = new ArrayList<>();
+
+    private Pipeline() {
+    }
+
+    public static <Q, R> Pipeline<Q, R> builder() {
+        return new Pipeline<>();
+    }
+
+    public Pipeline<Q, R> then(Stage<Q, R> stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    public Handler<Q, R> build(Handler<Q, R> handler) {
+        Handler<Q, R> composed = handler;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            composed = stages.get(i).wrap(composed);
+        }
+        return composed;
+    }
+}
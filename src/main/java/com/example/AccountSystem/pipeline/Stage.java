@@ -0,0 +1,10 @@
+package com.example.AccountSystem.pipeline;
+
+/**
+ * 파이프라인 단계
+ * wrap 은 파이프라인을 만들 때 한 번만 호출되며, 요청마다 실행되는 것은 반환된 Handler 뿐이다.
+ */
+@FunctionalInterface
+public interface Stage<Q, R> {
+    Handler<Q, R> wrap(Handler<Q, R> next);
+}
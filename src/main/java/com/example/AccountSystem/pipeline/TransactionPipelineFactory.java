@@ -0,0 +1,90 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.aop.AccountLockIdsInterface;
+import com.example.AccountSystem.config.LockPolicyProperties;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.ExistenceFilter;
+import com.example.AccountSystem.service.IdempotencyStore;
+import com.example.AccountSystem.service.LockPolicy;
+import com.example.AccountSystem.service.LockService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * 잔액 변경 요청의 공통 파이프라인
+ * 측정 -> 존재 확인 -> 멱등 키 읽기 -> 계좌 락 -> 멱등 처리 -> 실패 거래 기록 -> 핸들러 순서로 감싼다.
+ * 애플리케이션 시작 시 엔드포인트마다 한 번 만들어 재사용한다.
+ * 락 정책은 엔드포인트가 선언한 값에 account.lock.endpoints 설정을 덮어쓴다.
+ */
+@Component
+@EnableConfigurationProperties(LockPolicyProperties.class)
+public class TransactionPipelineFactory {
+    private final AccountLockCombiner accountLockCombiner;
+    private final LockService lockService;
+    private final IdempotencyStore idempotencyStore;
+    private final ExistenceFilter existenceFilter;
+    private final LockPolicyProperties lockPolicyProperties;
+    private final MeterRegistry meterRegistry;
+
+    public TransactionPipelineFactory(
+            AccountLockCombiner accountLockCombiner,
+            LockService lockService,
+            IdempotencyStore idempotencyStore,
+            ExistenceFilter existenceFilter,
+            LockPolicyProperties lockPolicyProperties,
+            Optional<MeterRegistry> meterRegistry) {
+        this.accountLockCombiner = accountLockCombiner;
+        this.lockService = lockService;
+        this.idempotencyStore = idempotencyStore;
+        this.existenceFilter = existenceFilter;
+        this.lockPolicyProperties = lockPolicyProperties;
+        this.meterRegistry = meterRegistry.orElse(null);
+    }
+
+    public <Q extends AccountLockIdInterface, R> Handler<Q, R> singleAccount(
+            String endpoint,
+            LockPolicy policy,
+            Handler<Q, R> handler,
+            Consumer<Q> failureRecorder) {
+        return withMetrics(Pipeline.<Q, R>builder(), endpoint)
+                .then(ExistenceStage.knownAccount(existenceFilter,
+                        AccountLockIdInterface::getAccountNumber))
+                .then(IdempotencyStage.resolveKey())
+                .then(LockStage.singleAccount(accountLockCombiner,
+                        lockPolicyProperties.resolve(endpoint, policy),
+                        AccountLockIdInterface::getAccountNumber))
+                .then(IdempotencyStage.idempotent(idempotencyStore, endpoint,
+                        AccountLockIdInterface::getAccountNumber))
+                .then(FailureRecordingStage.recordFailure(failureRecorder))
+                .build(handler);
+    }
+
+    public <Q extends AccountLockIdsInterface, R> Handler<Q, R> multiAccount(
+            String endpoint,
+            LockPolicy policy,
+            Handler<Q, R> handler,
+            Consumer<Q> failureRecorder) {
+        return withMetrics(Pipeline.<Q, R>builder(), endpoint)
+                .then(ExistenceStage.knownAccounts(existenceFilter,
+                        AccountLockIdsInterface::getAccountNumbers))
+                .then(IdempotencyStage.resolveKey())
+                .then(LockStage.multiAccount(lockService,
+                        lockPolicyProperties.resolve(endpoint, policy),
+                        AccountLockIdsInterface::getAccountNumbers))
+                .then(IdempotencyStage.idempotent(idempotencyStore, endpoint,
+                        request -> String.join(",", request.getAccountNumbers())))
+                .then(FailureRecordingStage.recordFailure(failureRecorder))
+                .build(handler);
+    }
+
+    private <Q, R> Pipeline<Q, R> withMetrics(Pipeline<Q, R> pipeline, String endpoint) {
+        return meterRegistry == null
+                ? pipeline
+                : pipeline.then(MetricsStage.timed(meterRegistry, endpoint));
+    }
+}
@@ -2,17 +2,43 @@ package com.example.AccountSystem.repository;
 
 import com.example.AccountSystem.domain.Account;
 import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.type.AccountStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
-    Integer countByAccountUser(AccountUser accountUser);
-
     Boolean existsByAccountNumber(String accountNumber);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
     List<Account> findByAccountUser(AccountUser user);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("select a.accountNumber from Account a where a.accountNumber in :accountNumbers")
+    List<String> findExistingAccountNumbers(
+            @Param("accountNumbers") Collection<String> accountNumbers);
+
+    @EntityGraph(attributePaths = "accountUser")
+    List<Account> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    // 락 없이 입금할 때 사용, version 을 올려 엔티티로 수정 중인 쪽이 충돌을 감지하게 한다
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :amount, " +
+            "a.version = a.version + 1 " +
+            "where a.id = :id and a.accountStatus = :status")
+    int increaseBalance(@Param("id") Long id,
+                        @Param("amount") Long amount,
+                        @Param("status") AccountStatus status);
+
+    @Query("select a.balance from Account a where a.id = :id")
+    Long findBalanceById(@Param("id") Long id);
 }
@@ -2,7 +2,24 @@ package com.example.AccountSystem.repository;
 
 import com.example.AccountSystem.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
     // findById 메서드는 기본으로 제공해준다
+
+    // 늘린 뒤에도 max 이하일 때만 count 만큼 늘린다, 한 문장이라 동시에 개설해도 max 를 넘지 않는다 (0 이면 제한 초과)
+    // 아직 채워지지 않은(null) 사용자도 0 을 돌려받는다
+    @Modifying
+    @Query("update AccountUser u set u.activeAccountCount = u.activeAccountCount + :count " +
+            "where u.id = :userId and u.activeAccountCount + :count <= :max")
+    int increaseActiveAccountCount(@Param("userId") Long userId,
+                                   @Param("count") int count,
+                                   @Param("max") int max);
+
+    @Modifying
+    @Query("update AccountUser u set u.activeAccountCount = u.activeAccountCount - 1 " +
+            "where u.id = :userId and u.activeAccountCount > 0")
+    int decreaseActiveAccountCount(@Param("userId") Long userId);
 }
@@ -0,0 +1,29 @@
+package com.example.AccountSystem.repository;
+
+import com.example.AccountSystem.domain.Hold;
+import com.example.AccountSystem.dto.HoldExpiry;
+import com.example.AccountSystem.type.HoldStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    Optional<Hold> findByHoldId(String holdId);
+
+    // (상태, 만료 시각) 인덱스 범위 조회, id 기준으로 이어서 읽는다
+    @Query("select new com.example.AccountSystem.dto.HoldExpiry(" +
+            "h.id, h.holdId, a.accountNumber, h.expiresAt) " +
+            "from Hold h join h.account a " +
+            "where h.holdStatus = :status and h.expiresAt < :until " +
+            "and h.id > :afterId order by h.id")
+    List<HoldExpiry> findExpiring(@Param("status") HoldStatus status,
+                                  @Param("until") LocalDateTime until,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
+}
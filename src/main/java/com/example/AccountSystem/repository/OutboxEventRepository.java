@@ -0,0 +1,30 @@
+package com.example.AccountSystem.repository;
+
+import com.example.AccountSystem.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // (published, id) 인덱스 순서대로 발행되지 않은 이벤트를 읽는다
+    List<OutboxEvent> findByPublishedFalseOrderById(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent o set o.published = true where o.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent o " +
+            "where o.published = true and o.createdAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,11 +1,46 @@
 package com.example.AccountSystem.repository;
 
 import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.type.TransactionResultType;
+import com.example.AccountSystem.type.TransactionType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    List<Transaction> findByRelatedTransactionId(String relatedTransactionId);
+
+    boolean existsByTransactionIdIn(List<String> transactionIds);
+
+    // 남은 금액이 충분할 때만 차감하므로 같은 거래에 대한 동시 부분 취소도 초과 취소되지 않는다
+    @Modifying(flushAutomatically = true)
+    @Query("update Transaction t " +
+            "set t.cancellableAmount = t.cancellableAmount - :amount " +
+            "where t.id = :id and t.cancellableAmount >= :amount")
+    int decreaseCancellableAmount(@Param("id") Long id,
+                                  @Param("amount") Long amount);
+
+    // 사용 한도 집계 복원용, transactedAt 인덱스 범위를 id 순서로 이어서 읽는다
+    @Query("select new com.example.AccountSystem.dto.BalanceUsedEvent(" +
+            "t.id, a.accountNumber, t.amount, t.transactedAt) " +
+            "from Transaction t join t.account a " +
+            "where t.transactedAt >= :since and t.transactionType in :types " +
+            "and t.transactionResultType = :result and t.id > :afterId " +
+            "order by t.id")
+    List<BalanceUsedEvent> findUsedSince(@Param("since") LocalDateTime since,
+                                         @Param("types") Collection<TransactionType> types,
+                                         @Param("result") TransactionResultType result,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
 }
@@ -0,0 +1,129 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.AccountDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 계좌 목록 캐시 (Redis RMapCache)
+ * 잔액 변경이 커밋되면 해당 사용자의 캐시를 제거해 모든 노드가 다음 조회에서 DB 값을 읽게 한다.
+ * 제거할 때 사용자별 버전을 바꾸고, 조회 전에 읽은 버전과 함께 저장해 둔 목록은 버전이 다르면 쓰지 않는다.
+ * (DB 를 읽는 사이에 제거가 일어나면 변경 전 목록이 다시 캐시되는 것을 막는다)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountCacheService {
+    private static final String ACCOUNT_VIEW_CACHE = "ACCOUNT_VIEW";
+    private static final String ACCOUNT_VIEW_VERSION = "ACCOUNT_VIEW_VERSION";
+    // 버전은 캐시 항목보다 오래 남아야 한다
+    private static final long VERSION_TTL_MULTIPLIER = 10;
+
+    private final RedissonClient redissonClient;
+
+    @Value("${account.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${account.cache.enabled:true}")
+    private boolean enabled;
+
+    public Optional<List<AccountDTO>> getAccounts(Long userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        try {
+            CachedAccounts cached = getCache().get(userId);
+            if (cached == null
+                    || !Objects.equals(cached.getVersion(), getVersions().get(userId))) {
+                return Optional.empty();
+            }
+            return Optional.of(cached.getAccounts());
+        } catch (Exception e) {
+            // 캐시 장애 시 DB 조회로 대체
+            log.warn("Account cache read failed. userId : {}", userId, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * DB 조회 전에 읽어 두었다가 putAccounts 에 넘긴다. 제거된 적이 없으면 null
+     */
+    public Long getVersion(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+
+        try {
+            return getVersions().get(userId);
+        } catch (Exception e) {
+            log.warn("Account cache version read failed. userId : {}", userId, e);
+            return null;
+        }
+    }
+
+    public void putAccounts(Long userId, Long version, List<AccountDTO> accounts) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            getCache().fastPut(userId,
+                    new CachedAccounts(version, new ArrayList<>(accounts)),
+                    ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Account cache write failed. userId : {}", userId, e);
+        }
+    }
+
+    public void evict(Long userId) {
+        try {
+            // 버전을 먼저 바꿔 조회 중이던 요청이 저장하는 목록도 쓰이지 않게 한다
+            getVersions().fastPut(userId, ThreadLocalRandom.current().nextLong(),
+                    ttlSeconds * VERSION_TTL_MULTIPLIER, TimeUnit.SECONDS);
+            getCache().fastRemove(userId);
+        } catch (Exception e) {
+            log.warn("Account cache evict failed. userId : {}", userId, e);
+        }
+    }
+
+    @TransactionalEventListener(
+            phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        log.debug("Evict account cache for userId : {}", event.getUserId());
+        evict(event.getUserId());
+    }
+
+    private RMapCache<Long, CachedAccounts> getCache() {
+        return redissonClient.getMapCache(ACCOUNT_VIEW_CACHE);
+    }
+
+    private RMapCache<Long, Long> getVersions() {
+        return redissonClient.getMapCache(ACCOUNT_VIEW_VERSION);
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CachedAccounts {
+        private Long version;
+        private ArrayList<AccountDTO> accounts;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+
+/**
+ * 같은 계좌에 대한 요청을 노드 안에서 한 줄로 세운다.
+ * 처음 도착한 요청(leader)이 레인 소유로 Redis 락을 잡고 자기 작업을 처리한 뒤,
+ * 락을 놓지 않은 채 다음 대기 요청에게 차례를 넘긴다. 각 요청은 자기 스레드에서 자기 작업만 처리하고 바로 반환하며,
+ * 대기 중인 요청은 Redis 를 폴링하지 않고 차례를 기다린다. 마지막 요청이 락을 해제한다.
+ */
+@Slf4j
+@Component
+public class AccountLockCombiner {
+    // 레인마다 락 소유자 id 를 따로 쓴다, 스레드 id 와 겹치지 않도록 음수로 만든다
+    private static final AtomicLong OWNER_IDS = new AtomicLong();
+
+    private final LockService lockService;
+    private final int maxQueueDepth;
+    private final long maxWaitMillis;
+
+    private final ConcurrentHashMap<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    public AccountLockCombiner(
+            LockService lockService,
+            @Value("${account.lock.combiner.max-queue-depth:50}") int maxQueueDepth,
+            @Value("${account.lock.combiner.max-wait-millis:5000}") long maxWaitMillis) {
+        this.lockService = lockService;
+        this.maxQueueDepth = Math.max(1, maxQueueDepth);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @FunctionalInterface
+    public interface LockedOperation<T> {
+        T execute() throws Throwable;
+    }
+
+    // 요청 객체를 따로 넘겨 호출마다 람다를 만들지 않아도 되는 형태
+    @FunctionalInterface
+    public interface LockedCall<Q, T> {
+        T execute(Q request) throws Throwable;
+    }
+
+    public <T> T execute(String accountNumber, LockedOperation<T> operation)
+            throws Throwable {
+        return execute(accountNumber, LockPolicy.DEFAULT, operation);
+    }
+
+    public <T> T execute(
+            String accountNumber,
+            LockPolicy policy,
+            LockedOperation<T> operation) throws Throwable {
+        return execute(accountNumber, policy,
+                (LockedCall<Object, T>) ignored -> operation.execute(), null);
+    }
+
+    public <Q, T> T execute(
+            String accountNumber,
+            LockPolicy policy,
+            LockedCall<Q, T> call,
+            Q request) throws Throwable {
+        long waitMillis = Math.min(maxWaitMillis, policy.getWaitMillis());
+        Task<Q, T> task = new Task<>(call, request, policy);
+
+        Lane lane;
+        int depth;
+        while (true) {
+            lane = lanes.computeIfAbsent(accountNumber, k -> new Lane());
+            depth = lane.enter(maxQueueDepth);
+            if (depth != Lane.CLOSED) {
+                break;
+            }
+            // 마지막 요청이 막 닫은 레인이면 치우고 새 레인으로 다시 시도한다
+            lanes.remove(accountNumber, lane);
+        }
+        if (depth == Lane.FULL) {
+            log.error("Lock queue is full. accountNumber : {}", accountNumber);
+            throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
+        }
+        lane.queue.add(task);
+
+        // 앞선 요청이 차례를 넘겨줄 때까지 대기
+        if (depth > 0 && !task.awaitTurn(waitMillis)) {
+            return task.join();
+        }
+
+        lead(accountNumber, lane, task);
+        return task.join();
+    }
+
+    // 자기 요청까지만 처리하고 다음 요청에게 차례를 넘긴다
+    private void lead(String accountNumber, Lane lane, Task<?, ?> own) {
+        int finished = 0;
+        // 지목된 leader 는 이미 큐에서 꺼내졌고, 처음 leader 는 자기 앞에 먼저 큐에 들어간 요청부터 처리한다
+        Task<?, ?> task = own.isPromoted() ? own : lane.queue.poll();
+        while (true) {
+            runLocked(accountNumber, lane, task);
+            finished++;
+            if (task == own) {
+                break;
+            }
+            task = lane.queue.poll();
+        }
+
+        while (true) {
+            // 처리한 수만큼만 들어왔으면 레인을 닫는다, 닫힌 뒤 도착한 요청은 새 레인을 만든다
+            if (lane.close(finished)) {
+                release(accountNumber, lane);
+                lanes.remove(accountNumber, lane);
+                return;
+            }
+            Task<?, ?> next = lane.queue.poll();
+            if (next == null) {
+                // 카운트는 올렸지만 아직 큐에 넣지 못한 요청을 기다린다
+                Thread.onSpinWait();
+                continue;
+            }
+            if (next.promote()) {
+                lane.pending.addAndGet(-finished);
+                return;
+            }
+            // 대기 시간이 지나 취소된 요청
+            finished++;
+        }
+    }
+
+    private void runLocked(String accountNumber, Lane lane, Task<?, ?> task) {
+        if (task.isCancelled()) {
+            return;
+        }
+        // 락 만료 전에 놓고 다시 잡도록 임대 시간의 절반까지만 이어서 쓴다 (watchdog 이면 제한 없음)
+        if (lane.lockPolicy != null && System.currentTimeMillis() >= lane.deadline) {
+            release(accountNumber, lane);
+        }
+        if (lane.lockPolicy == null) {
+            LockPolicy policy = strictest(task.policy, lane.queue);
+            try {
+                lockService.lock(accountNumber, policy, lane.ownerId);
+            } catch (RuntimeException e) {
+                // 락 획득 실패는 이 요청만 끝내고, 다음 요청은 자기 정책으로 다시 시도한다
+                task.fail(e);
+                return;
+            }
+            lane.lockPolicy = policy;
+            lane.deadline = policy.getLeaseMillis() > 0
+                    ? System.currentTimeMillis() + policy.getLeaseMillis() / 2
+                    : Long.MAX_VALUE;
+        }
+        task.run();
+    }
+
+    // 이번 락으로 처리할 요청 중 가장 짧은 대기/임대 시간, 하나라도 공정 락이면 공정 락
+    private LockPolicy strictest(LockPolicy policy, Queue<Task<?, ?>> queued) {
+        long waitMillis = policy.getWaitMillis();
+        long leaseMillis = policy.getLeaseMillis();
+        boolean fair = policy.isFair();
+        boolean changed = false;
+        for (Task<?, ?> task : queued) {
+            LockPolicy other = task.policy;
+            if (other == policy) {
+                continue;
+            }
+            if (other.getWaitMillis() < waitMillis) {
+                waitMillis = other.getWaitMillis();
+                changed = true;
+            }
+            if (other.getLeaseMillis() > 0
+                    && (leaseMillis <= 0 || other.getLeaseMillis() < leaseMillis)) {
+                leaseMillis = other.getLeaseMillis();
+                changed = true;
+            }
+            if (other.isFair() && !fair) {
+                fair = true;
+                changed = true;
+            }
+        }
+        return changed ? new LockPolicy(waitMillis, leaseMillis, fair) : policy;
+    }
+
+    private void release(String accountNumber, Lane lane) {
+        LockPolicy policy = lane.lockPolicy;
+        if (policy == null) {
+            return;
+        }
+        lane.lockPolicy = null;
+        try {
+            lockService.unlock(accountNumber, policy, lane.ownerId);
+        } catch (RuntimeException e) {
+            // 이미 만료된 락이면 해제할 것이 없다, 남은 요청은 계속 처리한다
+            log.warn("Lock release failed. accountNumber : {}", accountNumber, e);
+        }
+    }
+
+    private static class Lane {
+        private static final int CLOSED = -1;
+        private static final int FULL = -2;
+
+        private final Queue<Task<?, ?>> queue = new ConcurrentLinkedQueue<>();
+        // 들어와서 아직 처리되지 않은 요청 수, 닫힌 레인은 CLOSED
+        private final AtomicInteger pending = new AtomicInteger();
+        private final long ownerId = -OWNER_IDS.incrementAndGet();
+
+        // 차례를 가진 요청만 바꾸며, 차례를 넘길 때 다음 요청에게 보인다
+        private volatile LockPolicy lockPolicy;
+        private volatile long deadline;
+
+        // 들어오기 전 대기 수 (0 이면 leader), 닫혔으면 CLOSED, 가득 찼으면 FULL
+        private int enter(int maxQueueDepth) {
+            while (true) {
+                int current = pending.get();
+                if (current == CLOSED) {
+                    return CLOSED;
+                }
+                if (current >= maxQueueDepth) {
+                    return FULL;
+                }
+                if (pending.compareAndSet(current, current + 1)) {
+                    return current;
+                }
+            }
+        }
+
+        private boolean close(int finished) {
+            return pending.compareAndSet(finished, CLOSED);
+        }
+    }
+
+    private static class Task<Q, T> {
+        private static final int NEW = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+        private static final int PROMOTED = 3;
+
+        private final LockedCall<Q, T> call;
+        private final Q request;
+        private final LockPolicy policy;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final CompletableFuture<Void> turn = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        private Task(LockedCall<Q, T> call, Q request, LockPolicy policy) {
+            this.call = call;
+            this.request = request;
+            this.policy = policy;
+        }
+
+        private boolean isPromoted() {
+            return state.get() == PROMOTED;
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        // 앞선 요청이 이 요청에게 차례를 넘긴다, 이미 취소됐으면 false
+        private boolean promote() {
+            if (!state.compareAndSet(NEW, PROMOTED)) {
+                return false;
+            }
+            turn.complete(null);
+            return true;
+        }
+
+        private void run() {
+            if (!state.compareAndSet(NEW, RUNNING)
+                    && !state.compareAndSet(PROMOTED, RUNNING)) {
+                return;
+            }
+            try {
+                result.complete(call.execute(request));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (state.compareAndSet(NEW, CANCELLED)
+                    || state.compareAndSet(PROMOTED, CANCELLED)) {
+                result.completeExceptionally(t);
+            }
+        }
+
+        // 차례를 넘겨받았으면 true, 앞선 요청이 대신 처리했으면 false
+        private boolean awaitTurn(long timeoutMillis) throws Throwable {
+            try {
+                CompletableFuture.anyOf(result, turn)
+                        .get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (state.compareAndSet(NEW, CANCELLED)) {
+                    throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
+                }
+                // 이미 실행 중이거나 차례를 넘겨받았으면 계속 진행한다
+            } catch (InterruptedException e) {
+                if (state.compareAndSet(NEW, CANCELLED)) {
+                    throw e;
+                }
+                // 차례를 넘겨받았으면 다음 요청에게 넘겨야 하므로 중단 표시만 남긴다
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                return false;
+            }
+            return state.get() == PROMOTED;
+        }
+
+        private T join() throws Throwable {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
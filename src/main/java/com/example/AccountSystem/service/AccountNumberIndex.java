@@ -0,0 +1,160 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.AccountNumbers;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 계좌번호 -> 계좌 id 메모리 색인
+ * 계좌번호를 long 으로 바꿔 long 배열 하나에 (키, 값) 을 나란히 두는 open addressing(선형 탐사) 해시 테이블이라
+ * 조회할 때 문자열 해시/비교, 박싱이 없다.
+ * 계좌는 해지해도 행이 남아 계좌번호와 id 의 관계가 바뀌지 않으므로 지우지 않는다.
+ * 시작 시 모든 샤드에서 채우고, 이후 새 계좌는 처음 조회될 때 넣는다. 없으면 0 을 돌려주고 호출하는 쪽이 DB 에서 찾는다.
+ * 쓰기는 synchronized 로 한 번에 하나씩, 읽기는 락 없이 한다.
+ */
+@Slf4j
+@Component
+public class AccountNumberIndex {
+    public static final long NOT_FOUND = 0L;
+
+    // 계좌번호는 10자리라 0 은 빈 칸 표시로 쓸 수 있다
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 1 << 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final int fetchSize;
+
+    private volatile Table table = new Table(MIN_CAPACITY);
+    // 쓰기는 락 안에서, 읽기는 락 없이 한다
+    private volatile int size;
+
+    public AccountNumberIndex(
+            JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            @Value("${account.account-index.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.fetchSize = fetchSize;
+    }
+
+    // 계좌 id, 없으면 NOT_FOUND
+    public long find(String accountNumber) {
+        long key = AccountNumbers.toLong(accountNumber);
+        return key <= 0 ? NOT_FOUND : table.get(key);
+    }
+
+    public void put(String accountNumber, Long id) {
+        long key = AccountNumbers.toLong(accountNumber);
+        if (key > 0 && id != null) {
+            put(key, id);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    synchronized void put(long key, long id) {
+        Table current = table;
+        if (current.put(key, id)) {
+            size++;
+            // 채움 비율 1/2 을 넘으면 두 배로 늘린다
+            if (size * 2L > current.capacity) {
+                table = current.resize(current.capacity * 2);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        long started = System.currentTimeMillis();
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                ShardContext.call(shard, () -> {
+                    jdbcTemplate.query(connection -> {
+                                PreparedStatement ps = connection.prepareStatement(
+                                        "select account_number, id from account",
+                                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                                ps.setFetchSize(fetchSize);
+                                return ps;
+                            },
+                            rs -> {
+                                put(rs.getLong(1), rs.getLong(2));
+                            });
+                    return null;
+                });
+            }
+            log.info("Account number index warmed in {} ms. accounts : {}",
+                    System.currentTimeMillis() - started, size);
+        } catch (Exception e) {
+            // 색인에 없는 계좌는 DB 에서 찾으므로 계속 진행한다
+            log.warn("Failed to warm account number index.", e);
+        }
+    }
+
+    // 칸 i 는 [2i] 키, [2i + 1] 값, 값을 먼저 쓰고 키를 써서 키가 보이면 값도 보이게 한다
+    private static final class Table {
+        private final AtomicLongArray slots;
+        private final int capacity;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.slots = new AtomicLongArray(capacity * 2);
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+        }
+
+        private long get(long key) {
+            for (int i = indexOf(key); ; i = (i + 1) & mask) {
+                long slotKey = slots.get(i * 2);
+                if (slotKey == key) {
+                    return slots.get(i * 2 + 1);
+                }
+                if (slotKey == EMPTY) {
+                    return NOT_FOUND;
+                }
+            }
+        }
+
+        // 새로 넣었으면 true
+        private boolean put(long key, long value) {
+            for (int i = indexOf(key); ; i = (i + 1) & mask) {
+                long slotKey = slots.get(i * 2);
+                if (slotKey == key) {
+                    slots.set(i * 2 + 1, value);
+                    return false;
+                }
+                if (slotKey == EMPTY) {
+                    slots.set(i * 2 + 1, value);
+                    slots.set(i * 2, key);
+                    return true;
+                }
+            }
+        }
+
+        private Table resize(int newCapacity) {
+            Table resized = new Table(newCapacity);
+            for (int i = 0; i < capacity; i++) {
+                long key = slots.get(i * 2);
+                if (key != EMPTY) {
+                    resized.put(key, slots.get(i * 2 + 1));
+                }
+            }
+            return resized;
+        }
+
+        private int indexOf(long key) {
+            long h = key * 0x9e3779b97f4a7c15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
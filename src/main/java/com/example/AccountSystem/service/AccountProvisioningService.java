@@ -0,0 +1,174 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.AccountDTO;
+import com.example.AccountSystem.dto.CreateAccount;
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.repository.AccountRepository;
+import com.example.AccountSystem.repository.AccountUserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.AccountSystem.service.AccountService.MAX_ACCOUNT_PER_USER;
+import static com.example.AccountSystem.type.AccountStatus.IN_USE;
+import static com.example.AccountSystem.type.ErrorCode.MAX_ACCOUNT_PER_USER_10;
+import static com.example.AccountSystem.type.ErrorCode.USER_NOT_FOUND;
+import static com.example.AccountSystem.type.ShardKeyType.USER_ID;
+
+/**
+ * 계좌 일괄 개설
+ * 요청을 사용자 샤드별로 나눠 batchSize 개씩 한 트랜잭션으로 처리한다.
+ * 묶음마다 사용자와 기존 계좌 수를 한 번에 읽어 사용자당 10개 제한을 메모리에서 검사하고,
+ * 계좌번호를 미리 뽑아 이미 쓰인 번호를 한 번의 조회로 거른 뒤 saveAll 로 배치 insert 한다.
+ */
+@Slf4j
+@Service
+public class AccountProvisioningService {
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AccountProvisioningService(
+            AccountRepository accountRepository,
+            AccountUserRepository accountUserRepository,
+            ApplicationEventPublisher eventPublisher,
+            ShardRouter shardRouter,
+            PlatformTransactionManager transactionManager,
+            @Value("${account.provisioning.batch-size:1000}") int batchSize) {
+        this.accountRepository = accountRepository;
+        this.accountUserRepository = accountUserRepository;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 요청 순서대로 결과를 돌려준다. 사용자가 없거나 계좌 수 제한을 넘는 요청만 거절된다.
+     */
+    public List<ServiceResult<AccountDTO>> createAccounts(List<CreateAccount.Request> requests) {
+        List<ServiceResult<AccountDTO>> results =
+                new ArrayList<>(Collections.nCopies(requests.size(), null));
+
+        Map<Integer, List<Integer>> byShard = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            byShard.computeIfAbsent(
+                    shardRouter.shardOf(USER_ID, requests.get(i).getUserId()),
+                    k -> new ArrayList<>()).add(i);
+        }
+
+        byShard.forEach((shard, indexes) -> {
+            for (int from = 0; from < indexes.size(); from += batchSize) {
+                List<Integer> batch = indexes.subList(from,
+                        Math.min(from + batchSize, indexes.size()));
+                ShardContext.call(shard, () -> transactionTemplate.execute(status ->
+                        createBatch(shard, requests, batch, results)));
+            }
+        });
+        return results;
+    }
+
+    private Void createBatch(int shard, List<CreateAccount.Request> requests,
+                             List<Integer> batch, List<ServiceResult<AccountDTO>> results) {
+        Set<Long> userIds = batch.stream()
+                .map(index -> requests.get(index).getUserId())
+                .collect(Collectors.toSet());
+        Map<Long, AccountUser> users = accountUserRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+        Map<Long, List<Integer>> acceptedByUser = new LinkedHashMap<>();
+        for (int index : batch) {
+            Long userId = requests.get(index).getUserId();
+            AccountUser user = users.get(userId);
+            if (user == null) {
+                results.set(index, ServiceResult.rejected(USER_NOT_FOUND));
+                continue;
+            }
+            List<Integer> indexes = acceptedByUser.computeIfAbsent(userId, k -> new ArrayList<>());
+            // 계좌 수를 아직 채우지 않은(null) 사용자는 단건 개설과 같이 거절한다
+            if (user.getActiveAccountCount() == null
+                    || user.getActiveAccountCount() + indexes.size() >= MAX_ACCOUNT_PER_USER) {
+                results.set(index, ServiceResult.rejected(MAX_ACCOUNT_PER_USER_10));
+                continue;
+            }
+            indexes.add(index);
+        }
+
+        // 사용자별로 한 번씩 조건부로 늘린다, 그 사이 다른 요청이 개설해 제한을 넘게 되면 그 사용자의 요청은 모두 거절
+        List<Integer> accepted = new ArrayList<>(batch.size());
+        acceptedByUser.forEach((userId, indexes) -> {
+            if (indexes.isEmpty()) {
+                return;
+            }
+            if (accountUserRepository.increaseActiveAccountCount(
+                    userId, indexes.size(), MAX_ACCOUNT_PER_USER) == 0) {
+                indexes.forEach(index ->
+                        results.set(index, ServiceResult.rejected(MAX_ACCOUNT_PER_USER_10)));
+                return;
+            }
+            accepted.addAll(indexes);
+        });
+        if (accepted.isEmpty()) {
+            return null;
+        }
+        accepted.sort(null);
+
+        Iterator<String> accountNumbers = allocateAccountNumbers(shard, accepted.size()).iterator();
+        LocalDateTime now = LocalDateTime.now();
+        List<Account> accounts = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            CreateAccount.Request request = requests.get(index);
+            accounts.add(Account.builder()
+                    .accountUser(users.get(request.getUserId()))
+                    .accountNumber(accountNumbers.next())
+                    .accountStatus(IN_USE)
+                    .balance(request.getInitialBalance())
+                    .initialBalance(request.getInitialBalance())
+                    .registeredAt(now)
+                    .build());
+        }
+        accountRepository.saveAll(accounts);
+
+        for (int i = 0; i < accounts.size(); i++) {
+            eventPublisher.publishEvent(AccountChangedEvent.from(accounts.get(i)));
+            results.set(accepted.get(i), ServiceResult.success(AccountDTO.fromEntity(accounts.get(i))));
+        }
+        return null;
+    }
+
+    /**
+     * shard 에 속하는 서로 다른 계좌번호 count 개, 이미 쓰인 번호는 부족한 만큼 다시 뽑는다.
+     */
+    List<String> allocateAccountNumbers(int shard, int count) {
+        Set<String> accountNumbers = new LinkedHashSet<>(count * 2);
+        while (accountNumbers.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (accountNumbers.size() + candidates.size() < count) {
+                String candidate = String.valueOf(ThreadLocalRandom.current()
+                        .nextLong(1000000000L, 10000000000L));
+                if (shardRouter.shardOfAccountNumber(candidate) == shard
+                        && !accountNumbers.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            candidates.removeAll(accountRepository.findExistingAccountNumbers(candidates));
+            accountNumbers.addAll(candidates);
+        }
+        return new ArrayList<>(accountNumbers);
+    }
+}
@@ -1,49 +1,74 @@
 package com.example.AccountSystem.service;
 
 
+import com.example.AccountSystem.aop.ShardKey;
+import com.example.AccountSystem.aop.ShardRouted;
 import com.example.AccountSystem.domain.Account;
 import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.dto.AccountChangedEvent;
 import com.example.AccountSystem.dto.AccountDTO;
 import com.example.AccountSystem.exception.AccountException;
 import com.example.AccountSystem.repository.AccountRepository;
 import com.example.AccountSystem.repository.AccountUserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 import static com.example.AccountSystem.type.AccountStatus.IN_USE;
 import static com.example.AccountSystem.type.AccountStatus.UNREGISTERED;
 import static com.example.AccountSystem.type.ErrorCode.*;
+import static com.example.AccountSystem.type.ShardKeyType.USER_ID;
 
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    static final int MAX_ACCOUNT_PER_USER = 10;
+
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final AccountCacheService accountCacheService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+
+    // 같은 사용자의 동시 조회는 DB 조회 한 번의 결과를 함께 받는다
+    private final SingleFlight<Long, List<AccountDTO>> accountQueries = new SingleFlight<>();
 
+    @Value("${account.single-flight.ttl-millis:0}")
+    private long singleFlightTtlMillis;
+
+    // 새 계좌는 사용자별 기본 샤드에 만든다
+    @ShardRouted
     @Transactional
-    public AccountDTO createAccount(Long userId, Long initialBalance) {
+    public AccountDTO createAccount(@ShardKey(USER_ID) Long userId, Long initialBalance) {
         AccountUser user = getAccountUser(userId);
 
         validateCreateAccount(user);
 
         String AccountNumber = createAccountNumber();
 
-        return AccountDTO.fromEntity(accountRepository.save(
+        Account account = accountRepository.save(
                     Account.builder()
                             .accountUser(user)
                             .accountNumber(AccountNumber)
                             .accountStatus(IN_USE)
                             .balance(initialBalance)
+                            .initialBalance(initialBalance)
                             .registeredAt(LocalDateTime.now())
                             .build()
-        ));
+        );
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
+
+        return AccountDTO.fromEntity(account);
     }
 
     private String createAccountNumber() {
@@ -52,57 +77,86 @@ public class AccountService {
             accountNumber = String.valueOf(
                     ThreadLocalRandom.current().nextLong(
                             1000000000L, 10000000000L));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
+        } while (shardRouter.belongsToOtherShard(accountNumber)
+                || accountRepository.existsByAccountNumber(accountNumber));
 
         return accountNumber;
     }
 
     private void validateCreateAccount(AccountUser accountUser) {
-        // 계좌가 10개인 경우
-        if(accountRepository.countByAccountUser(accountUser) >= 10) {
-            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
+        // 해지되지 않은 계좌가 10개인 경우, 검사와 증가를 한 번의 조건부 update 로 처리한다
+        if(accountUserRepository.increaseActiveAccountCount(
+                accountUser.getId(), 1, MAX_ACCOUNT_PER_USER) == 0) {
+            throw AccountException.of(MAX_ACCOUNT_PER_USER_10);
         }
     }
 
+    @ShardRouted
     @Transactional
-    public AccountDTO deleteAccount(Long userId, String accountNumber) {
+    public AccountDTO deleteAccount(Long userId, @ShardKey String accountNumber) {
         AccountUser user = getAccountUser(userId);
 
         Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
 
         validateDeleteAccount(user, account);
 
         account.unregister();
 
         accountRepository.save(account);
+        accountUserRepository.decreaseActiveAccountCount(user.getId());
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
 
         return AccountDTO.fromEntity(account);
     }
 
     private void validateDeleteAccount(AccountUser user, Account account) {
         if(!Objects.equals(user.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+            throw AccountException.of(USER_ACCOUNT_UN_MATCH);
         }
         if(account.getAccountStatus() == UNREGISTERED) {
-            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+            throw AccountException.of(ACCOUNT_ALREADY_UNREGISTERED);
         }
         if(account.getBalance() > 0) {
-            throw new AccountException(BALANCE_NOT_EMPTY);
+            throw AccountException.of(BALANCE_NOT_EMPTY);
         }
     }
 
+    @Transactional(readOnly = true)
     public List<AccountDTO> getAccountByUserId(Long userId) {
+        Optional<List<AccountDTO>> cached = accountCacheService.getAccounts(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        return accountQueries.execute(userId, singleFlightTtlMillis,
+                () -> loadAccounts(userId));
+    }
+
+    private List<AccountDTO> loadAccounts(Long userId) {
+        // DB 를 읽는 동안 캐시가 제거되면 이 목록은 캐시에 남아도 쓰이지 않는다
+        Long cacheVersion = accountCacheService.getVersion(userId);
         AccountUser user = getAccountUser(userId);
 
-        List<Account> accounts = accountRepository.findByAccountUser(user);
+        List<AccountDTO> accounts = shardRouter.getShardCount() > 1
+                // 계좌가 여러 샤드에 흩어져 있을 수 있으므로 모든 샤드를 병렬로 조회
+                ? shardRouter.fanOut(shard -> findAccounts(user))
+                : findAccounts(user);
+
+        accountCacheService.putAccounts(userId, cacheVersion, accounts);
+
+        return accounts;
+    }
 
-        return accounts.stream().map(AccountDTO::fromEntity)
+    private List<AccountDTO> findAccounts(AccountUser user) {
+        return accountRepository.findByAccountUser(user)
+                .stream().map(AccountDTO::fromEntity)
                 .collect(Collectors.toList());
     }
 
     private AccountUser getAccountUser(Long userId) {
         return accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
     }
 }
@@ -0,0 +1,202 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.AccountInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사용자별 계좌 잔액 변경 SSE 구독
+ * 구독 중에는 스레드를 점유하지 않고(비동기 요청), 전송만 가상 스레드에서 한다.
+ * 연결마다 보낼 이벤트를 큐에 쌓고 한 번에 한 스레드만 보내 변경 순서를 지킨다.
+ * 커밋된 변경은 Redis topic 으로 다른 노드에도 전달해 각 노드가 자기 구독자에게 보낸다.
+ */
+@Slf4j
+@Service
+public class AccountStreamService {
+    private static final String ACCOUNT_CHANGED_TOPIC = "ACCOUNT_CHANGED";
+    private static final String EVENT_NAME = "account";
+
+    private final RedissonClient redissonClient;
+    private final long timeoutMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private RTopic topic;
+
+    public AccountStreamService(
+            RedissonClient redissonClient,
+            @Value("${account.stream.timeout-millis:1800000}") long timeoutMillis) {
+        this.redissonClient = redissonClient;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @PostConstruct
+    public void subscribeTopic() {
+        try {
+            topic = redissonClient.getTopic(ACCOUNT_CHANGED_TOPIC, StringCodec.INSTANCE);
+            topic.addListener(String.class, (channel, message) -> onRemoteChange(message));
+        } catch (Exception e) {
+            // Redis 가 없으면 이 노드의 변경만 전달
+            log.warn("Account change topic is unavailable.", e);
+            topic = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(list -> list.forEach(s -> s.emitter.complete()));
+        sender.shutdown();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscribe(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        // unsubscribe 가 빈 목록을 지우는 것과 겹치지 않도록 맵 락 안에서 추가한다
+        subscribers.compute(userId, (k, list) -> {
+            List<Subscriber> target = list == null ? new CopyOnWriteArrayList<>() : list;
+            target.add(subscriber);
+            return target;
+        });
+
+        Runnable remove = () -> unsubscribe(userId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    @TransactionalEventListener(
+            phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        deliver(event.getUserId(), new AccountInfo(event.getAccountNumber(), event.getBalance()));
+
+        if (topic != null) {
+            try {
+                topic.publishAsync(nodeId + "|" + event.getUserId() + "|"
+                        + event.getAccountNumber() + "|" + event.getBalance());
+            } catch (Exception e) {
+                log.warn("Failed to publish account change. userId : {}", event.getUserId(), e);
+            }
+        }
+    }
+
+    // 끊어진 연결을 찾아내고 프록시의 유휴 연결 종료를 막는다
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        subscribers.values().forEach(list -> list.forEach(subscriber ->
+                subscriber.enqueue(SseEmitter.event().comment("heartbeat")))
+        );
+    }
+
+    int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    void deliver(Long userId, AccountInfo accountInfo) {
+        List<Subscriber> list = subscribers.get(userId);
+        if (list == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : list) {
+            subscriber.enqueue(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .data(accountInfo, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void unsubscribe(Long userId, Subscriber subscriber) {
+        subscribers.computeIfPresent(userId, (k, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void onRemoteChange(String message) {
+        String[] fields = message.split("\\|");
+        if (fields.length != 4 || nodeId.equals(fields[0])) {
+            return;
+        }
+
+        try {
+            deliver(Long.parseLong(fields[1]),
+                    new AccountInfo(fields[2], Long.parseLong(fields[3])));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid account change message : {}", message);
+        }
+    }
+
+    // 연결 하나의 전송 큐, 큐를 비우는 스레드는 항상 하나뿐이다
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            queue.add(event);
+            if (sending.compareAndSet(false, true)) {
+                // 느린 클라이언트가 커밋 스레드를 붙잡지 않도록 가상 스레드에서 보낸다
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while ((event = queue.poll()) != null) {
+                    if (!send(event)) {
+                        queue.clear();
+                        return;
+                    }
+                }
+                sending.set(false);
+                // 플래그를 내린 사이에 들어온 이벤트는 직접 이어서 보낸다
+            } while (!queue.isEmpty() && sending.compareAndSet(false, true));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(userId, this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.AccountSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * active_account_count 컬럼 추가 전에 만든 사용자(null)의 해지되지 않은 계좌 수를 채운다.
+ * 계좌 수 제한은 샤드마다 있는 사용자 행으로 확인하므로 샤드마다 그 샤드의 계좌만 센다.
+ * null 인 동안에는 개설(조건부 증가)이 거절되고 해지(감소)도 건너뛰므로, 채우는 동안 계좌 수가 바뀌지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveAccountCountBackfill {
+    static final String BACKFILL_QUERY =
+            "update account_user u set active_account_count = (" +
+                    "select count(*) from account a " +
+                    "where a.account_user_id = u.id and a.account_status = 'IN_USE'" +
+                    ") where u.active_account_count is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int updated = ShardContext.call(shard,
+                        () -> jdbcTemplate.update(BACKFILL_QUERY));
+                if (updated > 0) {
+                    log.info("Backfilled active account count of {} users on shard {}",
+                            updated, shard);
+                }
+            } catch (Exception e) {
+                // 채우지 못한 사용자는 계좌를 개설할 수 없으므로 다음 시작 때 다시 시도한다
+                log.error("Failed to backfill active account count on shard {}", shard, e);
+            }
+        }
+    }
+}
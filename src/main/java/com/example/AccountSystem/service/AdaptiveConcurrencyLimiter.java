@@ -0,0 +1,97 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간 기울기로 조정하는 동시 처리 한도
+ * 장기 평균 응답 시간(longRtt) 대비 최근 응답 시간이 늘어나면 한도를 줄이고,
+ * 한도 가까이 쓰면서도 응답 시간이 유지되면 sqrt(limit) 만큼 여유를 더한다.
+ * 한도를 넘는 요청은 대기하지 않고 바로 거절한다.
+ */
+public class AdaptiveConcurrencyLimiter {
+    // longRtt 는 최근 약 WINDOW 건의 평균
+    private static final double WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    // onSample 안에서만 변경
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Limit settings) {
+        this.minLimit = Math.max(1, settings.getMinLimit());
+        this.maxLimit = Math.max(minLimit, settings.getMaxLimit());
+        this.tolerance = settings.getTolerance();
+        this.smoothing = settings.getSmoothing();
+        this.estimatedLimit = Math.min(maxLimit, Math.max(minLimit, settings.getInitialLimit()));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * 한도 안이면 Ticket, 넘으면 null
+     */
+    public Ticket tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Ticket(System.nanoTime(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        longRttNanos = longRttNanos == 0
+                ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) / WINDOW;
+
+        // 한도의 절반도 쓰지 않았으면 한도에 대한 정보가 없다
+        if (inFlightAtStart * 2 < estimatedLimit) {
+            return;
+        }
+
+        // 부하가 오래 이어지면 longRtt 도 따라 올라가므로 최근 값보다 크게 벌어지면 되돌린다
+        if (longRttNanos > rttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5,
+                Math.min(1.0, tolerance * longRttNanos / Math.max(1, rttNanos)));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.min(maxLimit, Math.max(minLimit,
+                estimatedLimit * (1 - smoothing) + next * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public class Ticket {
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Ticket(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            inFlight.decrementAndGet();
+            onSample(System.nanoTime() - startNanos, inFlightAtStart);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.AccountSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * cancellable_amount 컬럼 추가 전에 성공한 사용 거래(null)의 취소 가능 금액을 거래 금액으로 채운다.
+ * 이전 버전의 취소 거래는 원거래를 기록하지 않았으므로, 추가 전과 같이 전액 취소할 수 있는 상태로 둔다.
+ * null 인 동안에는 취소가 거절된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CancellableAmountBackfill {
+    static final String BACKFILL_QUERY =
+            "update transaction set cancellable_amount = amount " +
+                    "where transaction_type = 'USE' and transaction_result_type = 'S' " +
+                    "and cancellable_amount is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int updated = ShardContext.call(shard,
+                        () -> jdbcTemplate.update(BACKFILL_QUERY));
+                if (updated > 0) {
+                    log.info("Backfilled cancellable amount of {} transactions on shard {}",
+                            updated, shard);
+                }
+            } catch (Exception e) {
+                // 채우지 못한 거래는 취소할 수 없으므로 다음 시작 때 다시 시도한다
+                log.error("Failed to backfill cancellable amount on shard {}", shard, e);
+            }
+        }
+    }
+}
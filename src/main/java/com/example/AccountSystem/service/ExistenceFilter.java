@@ -0,0 +1,214 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.archive.TransactionArchive;
+import com.example.AccountSystem.type.ExistenceFilterMode;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static com.example.AccountSystem.type.ExistenceFilterMode.LOCAL;
+import static com.example.AccountSystem.type.ExistenceFilterMode.REDIS;
+
+/**
+ * 없는 계좌번호/거래 아이디 요청을 락과 DB 조회 전에 걸러내는 Bloom filter
+ * Bloom filter 는 없는 값을 있다고 할 수는 있어도 있는 값을 없다고 하지는 않으므로 isXxxAbsent 가 true 면 확실히 없는 값이다.
+ * 시작 시 모든 샤드와 보관 세그먼트의 값으로 채우고, 다 채우기 전에는 아무것도 거르지 않는다.
+ * 이후 저장되는 계좌/거래는 ExistenceFilterListener 가 넣는다.
+ * 기본은 REDIS 이고, LOCAL 은 다른 노드가 만든 계좌를 모르므로 단일 노드임을 명시한 경우에만 쓴다.
+ * REDIS 는 조회마다 공유 완료 표시를 확인해, 다른 노드가 필터를 비활성화하면 바로 거르지 않는다.
+ */
+@Slf4j
+@Service
+public class ExistenceFilter {
+    private static final String ACCOUNT_FILTER = "KNOWN_ACCOUNT";
+    private static final String TRANSACTION_FILTER = "KNOWN_TRANSACTION";
+    private static final String BUILD_LOCK = "KNOWN_ID_BUILD_LOCK";
+    private static final String BUILT = "KNOWN_ID_BUILT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+    private final TransactionArchive transactionArchive;
+    private final ExistenceFilterMode mode;
+    private final int fetchSize;
+
+    private final IdFilter accounts;
+    private final IdFilter transactions;
+
+    private volatile boolean ready;
+
+    public ExistenceFilter(
+            JdbcTemplate jdbcTemplate,
+            RedissonClient redissonClient,
+            ShardRouter shardRouter,
+            TransactionArchive transactionArchive,
+            @Value("${account.existence-filter.mode:REDIS}") ExistenceFilterMode mode,
+            @Value("${account.existence-filter.expected-accounts:100000}") long expectedAccounts,
+            @Value("${account.existence-filter.expected-transactions:1000000}") long expectedTransactions,
+            @Value("${account.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${account.existence-filter.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redissonClient = redissonClient;
+        this.shardRouter = shardRouter;
+        this.transactionArchive = transactionArchive;
+        this.mode = mode;
+        this.fetchSize = fetchSize;
+        this.accounts = create(ACCOUNT_FILTER, expectedAccounts, falsePositiveRate);
+        this.transactions = create(TRANSACTION_FILTER, expectedTransactions, falsePositiveRate);
+    }
+
+    private IdFilter create(String name, long expected, double falsePositiveRate) {
+        return switch (mode) {
+            case OFF -> null;
+            case LOCAL -> new ScalableBloomFilter(expected, falsePositiveRate);
+            case REDIS -> new RedisBloomFilter(redissonClient, name, expected, falsePositiveRate);
+        };
+    }
+
+    public boolean isAccountAbsent(String accountNumber) {
+        return isAbsent(accounts, accountNumber);
+    }
+
+    public boolean isTransactionAbsent(String transactionId) {
+        return isAbsent(transactions, transactionId);
+    }
+
+    public void addAccount(String accountNumber) {
+        add(accounts, accountNumber);
+    }
+
+    public void addTransaction(String transactionId) {
+        add(transactions, transactionId);
+    }
+
+    private boolean isAbsent(IdFilter filter, String id) {
+        if (!ready || id == null) {
+            return false;
+        }
+        try {
+            if (mode == REDIS && !isSharedBuilt()) {
+                // 다른 노드에서 쓰기가 실패해 초기화되었다, 다시 채울 때까지 거르지 않는다
+                ready = false;
+                return false;
+            }
+            return !filter.mightContain(id);
+        } catch (Exception e) {
+            // 필터 장애 시 거르지 않고 DB 에서 확인한다
+            log.warn("Existence filter read failed. id : {}", id, e);
+            return false;
+        }
+    }
+
+    private void add(IdFilter filter, String id) {
+        if (filter == null || id == null) {
+            return;
+        }
+        try {
+            filter.add(id);
+        } catch (Exception e) {
+            // 빠진 값이 있으면 있는 계좌를 없다고 할 수 있으므로 다시 채울 때까지 거르지 않는다
+            log.error("Existence filter write failed, disabling until rebuilt. id : {}", id, e);
+            ready = false;
+            if (mode == REDIS) {
+                try {
+                    redissonClient.getBucket(BUILT).delete();
+                } catch (Exception ignored) {
+                    log.warn("Failed to reset existence filter state.");
+                }
+            }
+        }
+    }
+
+    private boolean isSharedBuilt() {
+        return Boolean.TRUE.equals(redissonClient.<Boolean>getBucket(BUILT).get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (mode != LOCAL) {
+            return;
+        }
+        try {
+            load();
+            ready = true;
+        } catch (Exception e) {
+            log.error("Failed to build existence filter.", e);
+        }
+    }
+
+    // 다른 노드가 채웠으면 그대로 쓰고, 아직이면 락을 잡은 한 노드만 채운다
+    @Scheduled(fixedDelayString = "${account.existence-filter.check-interval-millis:10000}")
+    public void checkShared() {
+        if (mode != REDIS) {
+            return;
+        }
+        try {
+            RBucket<Boolean> built = redissonClient.getBucket(BUILT);
+            if (Boolean.TRUE.equals(built.get())) {
+                ready = true;
+                return;
+            }
+            ready = false;
+
+            RLock lock = redissonClient.getLock(BUILD_LOCK);
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (!Boolean.TRUE.equals(built.get())) {
+                    load();
+                    built.set(true);
+                }
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to build shared existence filter.", e);
+        }
+    }
+
+    // 채우는 동안 저장되는 값은 리스너가 같은 필터에 넣으므로 빠지지 않는다
+    private void load() {
+        long started = System.currentTimeMillis();
+        long[] counts = new long[2];
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            ShardContext.call(shard, () -> {
+                counts[0] += scan("select account_number from account", accounts);
+                counts[1] += scan("select transaction_id from transaction", transactions);
+                return null;
+            });
+        }
+        transactionArchive.forEachTransactionId(transactionId -> {
+            transactions.add(transactionId);
+            counts[1]++;
+        });
+        log.info("Existence filter built in {} ms. accounts : {}, transactions : {}",
+                System.currentTimeMillis() - started, counts[0], counts[1]);
+    }
+
+    private long scan(String sql, IdFilter filter) {
+        long[] count = {0L};
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    return ps;
+                },
+                rs -> {
+                    filter.add(rs.getString(1));
+                    count[0]++;
+                });
+        return count[0];
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.Transaction;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 새로 저장된 계좌번호/거래 아이디를 ExistenceFilter 에 넣는 엔티티 리스너
+ * 커밋 전에 넣으므로 롤백되면 없는 값이 남지만, 오탐이 하나 늘 뿐 있는 값을 없다고 하지는 않는다.
+ * Hibernate 가 Spring 빈 컨테이너로 만들며, 필터 빈이 없는 테스트 슬라이스에서는 아무것도 하지 않는다.
+ */
+public class ExistenceFilterListener {
+    private final ObjectProvider<ExistenceFilter> existenceFilter;
+
+    public ExistenceFilterListener(ObjectProvider<ExistenceFilter> existenceFilter) {
+        this.existenceFilter = existenceFilter;
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        ExistenceFilter filter = existenceFilter.getIfAvailable();
+        if (filter == null) {
+            return;
+        }
+        if (entity instanceof Account account) {
+            filter.addAccount(account.getAccountNumber());
+        } else if (entity instanceof Transaction transaction) {
+            filter.addTransaction(transaction.getTransactionId());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.HoldExpiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 승인 만료 처리
+ * 새 승인은 커밋 직후 메모리 타이머 휠에 등록하고, 주기적인 DB 스윕이 곧 만료될 승인을 다시 등록해
+ * 재시작이나 다른 노드에서 만들어진 승인도 놓치지 않는다. 만료는 계좌 락을 잡은 상태에서 처리한다.
+ */
+@Slf4j
+@Component
+public class HoldExpiryScheduler {
+    private final HoldService holdService;
+    private final AccountLockCombiner accountLockCombiner;
+    private final ShardRouter shardRouter;
+    private final long sweepIntervalMillis;
+    private final int sweepBatchSize;
+
+    private final TimerWheel<HoldExpiry> wheel;
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "hold-expiry-wheel"));
+    private final ExecutorService expirer;
+
+    public HoldExpiryScheduler(
+            HoldService holdService,
+            AccountLockCombiner accountLockCombiner,
+            ShardRouter shardRouter,
+            @Value("${account.hold.tick-millis:1000}") long tickMillis,
+            @Value("${account.hold.sweep-interval-millis:60000}") long sweepIntervalMillis,
+            @Value("${account.hold.sweep-batch-size:1000}") int sweepBatchSize,
+            @Value("${account.hold.expiry-threads:4}") int expiryThreads) {
+        this.holdService = holdService;
+        this.accountLockCombiner = accountLockCombiner;
+        this.shardRouter = shardRouter;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.sweepBatchSize = sweepBatchSize;
+        this.wheel = new TimerWheel<>(tickMillis, System.currentTimeMillis());
+        this.expirer = Executors.newFixedThreadPool(expiryThreads);
+
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onHoldAuthorized(HoldExpiry holdExpiry) {
+        schedule(holdExpiry);
+    }
+
+    /**
+     * 다음 스윕 전까지 만료될 승인을 (상태, 만료 시각) 인덱스로 읽어 휠에 다시 등록한다.
+     * 이미 등록된 승인이 중복 등록되어도 만료 처리가 멱등이므로 문제없다.
+     */
+    @Scheduled(fixedDelayString = "${account.hold.sweep-interval-millis:60000}")
+    public void sweep() {
+        LocalDateTime until = LocalDateTime.now()
+                .plusNanos(TimeUnit.MILLISECONDS.toNanos(sweepIntervalMillis * 2));
+
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int swept = ShardContext.call(shard, () -> sweepShard(until));
+            if (swept > 0) {
+                log.debug("Scheduled {} expiring holds from shard {}", swept, shard);
+            }
+        }
+    }
+
+    private int sweepShard(LocalDateTime until) {
+        int swept = 0;
+        long afterId = 0L;
+        while (true) {
+            List<HoldExpiry> holds = holdService.findExpiring(until, afterId, sweepBatchSize);
+            holds.forEach(this::schedule);
+            swept += holds.size();
+            if (holds.size() < sweepBatchSize) {
+                return swept;
+            }
+            afterId = holds.get(holds.size() - 1).getId();
+        }
+    }
+
+    private void schedule(HoldExpiry holdExpiry) {
+        wheel.schedule(holdExpiry, holdExpiry.getExpiresAt()
+                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void tick() {
+        try {
+            wheel.advance(System.currentTimeMillis(),
+                    holdExpiry -> expirer.execute(() -> expire(holdExpiry)));
+        } catch (Exception e) {
+            log.error("Hold expiry tick failed.", e);
+        }
+    }
+
+    private void expire(HoldExpiry holdExpiry) {
+        try {
+            accountLockCombiner.execute(holdExpiry.getAccountNumber(), () ->
+                    holdService.expire(holdExpiry.getAccountNumber(), holdExpiry.getHoldId()));
+        } catch (Throwable t) {
+            // 다음 스윕에서 다시 등록된다
+            log.warn("Failed to expire hold. holdId : {}", holdExpiry.getHoldId(), t);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        expirer.shutdown();
+    }
+}
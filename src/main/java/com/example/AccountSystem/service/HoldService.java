@@ -0,0 +1,180 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.aop.ShardKey;
+import com.example.AccountSystem.aop.ShardRouted;
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.domain.Hold;
+import com.example.AccountSystem.domain.OutboxEvent;
+import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.dto.HoldDTO;
+import com.example.AccountSystem.dto.HoldExpiry;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.repository.AccountRepository;
+import com.example.AccountSystem.repository.AccountUserRepository;
+import com.example.AccountSystem.repository.HoldRepository;
+import com.example.AccountSystem.repository.OutboxEventRepository;
+import com.example.AccountSystem.repository.TransactionRepository;
+import com.example.AccountSystem.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import static com.example.AccountSystem.type.ErrorCode.*;
+import static com.example.AccountSystem.type.HoldStatus.*;
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static com.example.AccountSystem.type.TransactionType.USE;
+
+/**
+ * 승인(authorize) - 매입(capture) / 해제(release) 2단계 사용
+ * 승인은 잔액을 차감하지 않고 사용 가능 잔액만 줄이며, 매입되지 않은 승인은 만료 시 자동으로 해제된다.
+ * 사용 한도는 승인 중인 금액까지 더해 승인할 때 확인하고, 매입할 때 한 번 더 확인한 뒤 커밋되면 사용 금액으로 집계한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class HoldService {
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final TransactionRepository transactionRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SpendingLimitService spendingLimitService;
+
+    @Value("${account.hold.ttl-seconds:604800}")
+    private long defaultTtlSeconds;
+
+    @ShardRouted
+    @Transactional
+    public HoldDTO authorize(
+            Long userId, @ShardKey String accountNumber, Long amount, Long ttlSeconds) {
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
+
+        ErrorCode rejection = TransactionService.checkUseBalance(user, account, amount);
+        if (rejection == null) {
+            // 1시간/24시간 사용 한도, 아직 매입되지 않은 승인 금액도 곧 사용될 금액으로 본다
+            rejection = spendingLimitService.check(
+                    accountNumber, amount + account.getHeldBalance());
+        }
+        if (rejection != null) {
+            throw AccountException.of(rejection);
+        }
+
+        account.hold(amount);
+
+        LocalDateTime now = LocalDateTime.now();
+        Hold hold = holdRepository.save(Hold.builder()
+                .account(account)
+                .holdId(ShardRouter.newTransactionId(ShardContext.current()))
+                .amount(amount)
+                .holdStatus(AUTHORIZED)
+                .authorizedAt(now)
+                .expiresAt(now.plusSeconds(
+                        ttlSeconds != null ? ttlSeconds : defaultTtlSeconds))
+                .build());
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
+        // 커밋된 승인만 만료 예약
+        eventPublisher.publishEvent(new HoldExpiry(hold.getId(), hold.getHoldId(),
+                accountNumber, hold.getExpiresAt()));
+
+        return HoldDTO.fromEntity(hold);
+    }
+
+    @ShardRouted
+    @Transactional
+    public TransactionDTO capture(@ShardKey String accountNumber, String holdId) {
+        Hold hold = getAuthorizedHold(accountNumber, holdId);
+        if (hold.isExpired(LocalDateTime.now())) {
+            // 만료 처리 전이라도 매입할 수 없다
+            throw AccountException.of(HOLD_EXPIRED);
+        }
+        // 승인 이후 다른 사용으로 한도가 찼을 수 있으므로 실제 출금 직전에 다시 확인한다
+        ErrorCode rejection = spendingLimitService.check(accountNumber, hold.getAmount());
+        if (rejection != null) {
+            throw AccountException.of(rejection);
+        }
+
+        Account account = hold.getAccount();
+        account.captureHold(hold.getAmount());
+
+        Transaction captured = TransactionService.buildTransaction(USE, S, account,
+                hold.getAmount(), account.getBalance(), hold.getHoldId());
+        Transaction transaction = transactionRepository.save(captured);
+        outboxEventRepository.save(OutboxEvent.from(captured));
+        hold.setTransactionId(transaction.getTransactionId());
+        hold.finish(CAPTURED);
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
+        eventPublisher.publishEvent(new BalanceUsedEvent(transaction.getId(),
+                accountNumber, transaction.getAmount(), transaction.getTransactedAt()));
+
+        return TransactionDTO.fromEntity(transaction);
+    }
+
+    @ShardRouted
+    @Transactional
+    public HoldDTO release(@ShardKey String accountNumber, String holdId) {
+        Hold hold = getAuthorizedHold(accountNumber, holdId);
+
+        hold.getAccount().releaseHold(hold.getAmount());
+        hold.finish(RELEASED);
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(hold.getAccount()));
+
+        return HoldDTO.fromEntity(hold);
+    }
+
+    /**
+     * 만료 시각이 지난 승인을 해제한다.
+     * 이미 매입/해제되었거나 아직 만료 전이면 아무것도 하지 않는다.
+     */
+    @ShardRouted
+    @Transactional
+    public boolean expire(@ShardKey String accountNumber, String holdId) {
+        Hold hold = holdRepository.findByHoldId(holdId).orElse(null);
+        if (hold == null || hold.getHoldStatus() != AUTHORIZED
+                || !hold.isExpired(LocalDateTime.now())) {
+            return false;
+        }
+
+        hold.getAccount().releaseHold(hold.getAmount());
+        hold.finish(EXPIRED);
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(hold.getAccount()));
+        return true;
+    }
+
+    // 현재 샤드에서 until 이전에 만료되는 승인 (DB 스윕용)
+    public List<HoldExpiry> findExpiring(LocalDateTime until, Long afterId, int limit) {
+        return holdRepository.findExpiring(
+                AUTHORIZED, until, afterId, PageRequest.of(0, limit));
+    }
+
+    private Hold getAuthorizedHold(String accountNumber, String holdId) {
+        Hold hold = holdRepository.findByHoldId(holdId)
+                .orElseThrow(() -> AccountException.of(HOLD_NOT_FOUND));
+
+        if (!Objects.equals(hold.getAccount().getAccountNumber(), accountNumber)) {
+            throw AccountException.of(HOLD_ACCOUNT_UN_MATCH);
+        }
+        if (hold.getHoldStatus() != AUTHORIZED) {
+            throw AccountException.of(HOLD_ALREADY_FINALIZED);
+        }
+        return hold;
+    }
+}
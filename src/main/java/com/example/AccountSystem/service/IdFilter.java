@@ -0,0 +1,11 @@
+package com.example.AccountSystem.service;
+
+/**
+ * 아이디 Bloom filter
+ * mightContain 이 false 면 넣은 적이 없는 아이디다. true 는 오탐일 수 있다.
+ */
+interface IdFilter {
+    boolean mightContain(String id);
+
+    void add(String id);
+}
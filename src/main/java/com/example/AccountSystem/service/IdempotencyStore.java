@@ -0,0 +1,48 @@
+package com.example.AccountSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멱등 키별 성공 응답 저장소 (Redis RMapCache)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyStore {
+    private static final String IDEMPOTENT_RESPONSE = "IDEMPOTENT_RESPONSE";
+
+    private final RedissonClient redissonClient;
+
+    @Value("${account.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    public Optional<Object> find(String key) {
+        try {
+            return Optional.ofNullable(getStore().get(key));
+        } catch (Exception e) {
+            // 저장소 장애 시 중복 확인 없이 처리한다
+            log.warn("Idempotency store read failed. key : {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    public void save(String key, Object response) {
+        try {
+            getStore().fastPut(key, response, ttlHours, TimeUnit.HOURS);
+        } catch (Exception e) {
+            log.warn("Idempotency store write failed. key : {}", key, e);
+        }
+    }
+
+    private RMapCache<String, Object> getStore() {
+        return redissonClient.getMapCache(IDEMPOTENT_RESPONSE);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.AccountSystem.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * initial_balance 컬럼 추가 전에 개설된 계좌(null)의 개설 잔액을 채운다.
+ * 개설 잔액 = 현재 잔액 - 남아 있는 성공 거래의 잔액 변화, 보관된 거래는 이미 잔액에 반영되어 있으므로 따로 더하지 않는다.
+ * 계좌 하나를 한 문장으로 계산하므로 실행 중에 들어온 거래도 잔액과 함께 반영되고, 이미 채운 계좌는 건드리지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InitialBalanceBackfill {
+    static final String BACKFILL_QUERY =
+            "update account a set initial_balance = a.balance - coalesce((" +
+                    "select sum(case when t.transaction_type in ('CANCEL', 'TRANSFER_IN') " +
+                    "then t.amount else -t.amount end) from transaction t " +
+                    "where t.account_id = a.id and t.transaction_result_type = 'S' " +
+                    "and t.transaction_type in ('USE', 'CANCEL', 'TRANSFER_OUT', 'TRANSFER_IN')" +
+                    "), 0) where a.initial_balance is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            try {
+                int updated = ShardContext.call(shard,
+                        () -> jdbcTemplate.update(BACKFILL_QUERY));
+                if (updated > 0) {
+                    log.info("Backfilled initial balance of {} accounts on shard {}",
+                            updated, shard);
+                }
+            } catch (Exception e) {
+                // 채우지 못한 계좌는 정합성 점검에서 건너뛰고 다음 시작 때 다시 시도한다
+                log.error("Failed to backfill initial balance on shard {}", shard, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.ReconciliationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 계좌 잔액 정합성 점검
+ * 잔액 = 개설 잔액 - 사용 + 취소 - 이체 출금 + 이체 입금 (성공 거래만)
+ * 각 거래의 balanceSnapShot 은 (account_id, id) 순서로 누적한 잔액과 같아야 한다.
+ *
+ * 계좌 id 를 rangeSize 단위 구간으로 나눠 fork-join 으로 처리하고, 구간마다 거래를 커서로 한 행씩 읽어
+ * 계좌 하나의 누적값만 들고 있으므로 메모리는 거래 수와 무관하게 구간 크기로 정해진다.
+ * 끝난 구간은 checkpoint 파일에 남겨 같은 runId 로 다시 실행하면 이어서 처리한다.
+ *
+ * 계좌와 거래는 따로 읽으므로 그 사이에 커밋된 거래 때문에 어긋나 보일 수 있다.
+ * 불일치가 보인 계좌는 계좌와 거래를 한 쿼리로 다시 읽어 확인한 뒤에만 보고한다.
+ * 개설 잔액이 채워지지 않은(initial_balance 가 null 인) 계좌는 InitialBalanceBackfill 이 채울 때까지 점검하지 않는다.
+ */
+@Slf4j
+@Service
+public class LedgerReconciler {
+    private static final String ACCOUNT_QUERY =
+            "select id, account_number, initial_balance, balance from account " +
+                    "where id >= ? and id < ? order by id";
+    private static final String TRANSACTION_QUERY =
+            "select account_id, transaction_id, transaction_type, " +
+                    "transaction_result_type, amount, balance_snap_shot " +
+                    "from transaction where account_id >= ? and account_id < ? " +
+                    "order by account_id, id";
+    // 계좌 하나를 한 쿼리(한 시점)로 다시 읽는다
+    private static final String RECHECK_QUERY =
+            "select a.id, a.account_number, a.initial_balance, a.balance, " +
+                    "t.transaction_id, t.transaction_type, t.transaction_result_type, " +
+                    "t.amount, t.balance_snap_shot " +
+                    "from account a left join transaction t on t.account_id = a.id " +
+                    "where a.id = ? order by t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final int parallelism;
+    private final int rangeSize;
+    private final int fetchSize;
+    private final String reportDir;
+
+    public LedgerReconciler(
+            JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            @Value("${account.reconciliation.parallelism:4}") int parallelism,
+            @Value("${account.reconciliation.range-size:1000}") int rangeSize,
+            @Value("${account.reconciliation.fetch-size:1000}") int fetchSize,
+            @Value("${account.reconciliation.report-dir:reconciliation}") String reportDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.parallelism = parallelism;
+        this.rangeSize = rangeSize;
+        this.fetchSize = fetchSize;
+        this.reportDir = reportDir;
+    }
+
+    @Scheduled(cron = "${account.reconciliation.cron:0 0 3 * * *}")
+    public void reconcileNightly() {
+        ReconciliationResult result = reconcile(LocalDate.now().toString());
+        if (result.getMismatches() > 0) {
+            log.error("Ledger reconciliation found {} mismatches. runId : {}",
+                    result.getMismatches(), result.getRunId());
+        }
+    }
+
+    public ReconciliationResult reconcile(String runId) {
+        Path dir = Paths.get(reportDir);
+        Run run;
+        try {
+            Files.createDirectories(dir);
+            run = new Run(runId, dir.resolve(runId + ".checkpoint"),
+                    dir.resolve(runId + ".mismatch.csv"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                Map<String, Object> bounds = ShardContext.call(shard, () ->
+                        jdbcTemplate.queryForMap(
+                                "select min(id) as min_id, max(id) as max_id from account"));
+                if (bounds.get("min_id") == null) {
+                    continue;
+                }
+
+                long minId = ((Number) bounds.get("min_id")).longValue();
+                long maxId = ((Number) bounds.get("max_id")).longValue();
+                long ranges = (maxId - minId) / rangeSize + 1;
+                pool.invoke(new RangeTask(run, target, minId, 0, ranges));
+            }
+        } finally {
+            pool.shutdown();
+            run.close();
+        }
+
+        ReconciliationResult result = new ReconciliationResult(runId,
+                run.accounts.sum(), run.transactions.sum(), run.mismatches.sum(),
+                run.skippedRanges.get());
+        log.info("Ledger reconciliation {} : {} accounts, {} transactions, " +
+                        "{} mismatches, {} ranges resumed from checkpoint",
+                runId, result.getAccounts(), result.getTransactions(),
+                result.getMismatches(), result.getSkippedRanges());
+        return result;
+    }
+
+    /**
+     * [fromRange, toRange) 번째 구간을 반씩 나눠 처리한다.
+     */
+    private class RangeTask extends RecursiveAction {
+        private final Run run;
+        private final int shard;
+        private final long minId;
+        private final long fromRange;
+        private final long toRange;
+
+        private RangeTask(Run run, int shard, long minId, long fromRange, long toRange) {
+            this.run = run;
+            this.shard = shard;
+            this.minId = minId;
+            this.fromRange = fromRange;
+            this.toRange = toRange;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRange - fromRange > 1) {
+                long mid = fromRange + (toRange - fromRange) / 2;
+                invokeAll(new RangeTask(run, shard, minId, fromRange, mid),
+                        new RangeTask(run, shard, minId, mid, toRange));
+                return;
+            }
+
+            long fromId = minId + fromRange * rangeSize;
+            String key = shard + ":" + fromId;
+            if (run.isDone(key)) {
+                run.skippedRanges.incrementAndGet();
+                return;
+            }
+
+            ShardContext.call(shard, () -> {
+                reconcileRange(run, fromId, fromId + rangeSize);
+                return null;
+            });
+            run.markDone(key);
+        }
+    }
+
+    private void reconcileRange(Run run, long fromId, long toId) {
+        RangeState state = new RangeState(run, rangeSize, false);
+
+        jdbcTemplate.query(con -> prepare(con.prepareStatement(ACCOUNT_QUERY,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY), fromId, toId),
+                rs -> {
+                    addAccount(state, rs);
+                });
+
+        jdbcTemplate.query(con -> prepare(con.prepareStatement(TRANSACTION_QUERY,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY), fromId, toId),
+                rs -> {
+                    state.apply(rs.getLong(1), rs.getString(2), rs.getString(3),
+                            rs.getString(4), rs.getLong(5), rs.getLong(6));
+                });
+
+        state.finishAll();
+
+        for (long accountId : state.suspects()) {
+            recheckAccount(run, accountId);
+        }
+        for (Orphan orphan : state.orphans()) {
+            // 점검 중에 개설된 계좌의 거래일 수 있다
+            Integer exists = jdbcTemplate.queryForObject(
+                    "select count(*) from account where id = ?", Integer.class,
+                    orphan.accountId());
+            if (exists == null || exists == 0) {
+                run.report("", "ORPHAN", orphan.transactionId(), orphan.accountId(), 0);
+            }
+        }
+    }
+
+    private void recheckAccount(Run run, long accountId) {
+        RangeState state = new RangeState(run, 1, true);
+        jdbcTemplate.query(RECHECK_QUERY, rs -> {
+            if (state.size == 0) {
+                addAccount(state, rs);
+            }
+            if (rs.getString(5) != null) {
+                state.apply(rs.getLong(1), rs.getString(5), rs.getString(6),
+                        rs.getString(7), rs.getLong(8), rs.getLong(9));
+            }
+        }, accountId);
+        state.finishAll();
+    }
+
+    private static void addAccount(RangeState state, ResultSet rs) throws java.sql.SQLException {
+        long initialBalance = rs.getLong(3);
+        boolean backfilled = !rs.wasNull();
+        state.addAccount(rs.getLong(1), rs.getString(2),
+                backfilled ? initialBalance : null, rs.getLong(4));
+    }
+
+    private PreparedStatement prepare(PreparedStatement ps, long fromId, long toId)
+            throws java.sql.SQLException {
+        ps.setFetchSize(fetchSize);
+        ps.setLong(1, fromId);
+        ps.setLong(2, toId);
+        return ps;
+    }
+
+    // 계좌 구간에 없는 거래
+    record Orphan(String transactionId, long accountId) {
+    }
+
+    /**
+     * 구간 하나의 계좌(원시 배열)와 현재 계좌의 누적 잔액
+     * 첫 점검에서는 불일치 계좌를 모아 두기만 하고, 다시 읽은 계좌(recheck)만 보고서에 기록한다.
+     */
+    static class RangeState {
+        private final Run run;
+        private final boolean recheck;
+        private final long[] ids;
+        private final String[] accountNumbers;
+        private final long[] initialBalances;
+        private final boolean[] backfilled;
+        private final long[] balances;
+        private int size;
+
+        private int next;
+        private int current = -1;
+        private long running;
+        private boolean snapshotBroken;
+        private long transactions;
+
+        private final List<Long> suspects = new ArrayList<>();
+        private final List<Orphan> orphans = new ArrayList<>();
+
+        RangeState(Run run, int capacity, boolean recheck) {
+            this.run = run;
+            this.recheck = recheck;
+            this.ids = new long[capacity];
+            this.accountNumbers = new String[capacity];
+            this.initialBalances = new long[capacity];
+            this.backfilled = new boolean[capacity];
+            this.balances = new long[capacity];
+        }
+
+        void addAccount(long id, String accountNumber, Long initialBalance, long balance) {
+            ids[size] = id;
+            accountNumbers[size] = accountNumber;
+            initialBalances[size] = initialBalance == null ? 0L : initialBalance;
+            backfilled[size] = initialBalance != null;
+            balances[size] = balance;
+            size++;
+        }
+
+        List<Long> suspects() {
+            return suspects;
+        }
+
+        List<Orphan> orphans() {
+            return orphans;
+        }
+
+        void apply(long accountId, String transactionId, String type, String result,
+                   long amount, long balanceSnapShot) {
+            transactions++;
+            if (current < 0 || ids[current] != accountId) {
+                moveTo(accountId);
+                if (current < 0) {
+                    // 계좌 구간에 없는 거래
+                    orphans.add(new Orphan(transactionId, accountId));
+                    return;
+                }
+            }
+            if (!backfilled[current]) {
+                return;
+            }
+
+            if ("S".equals(result)) {
+                switch (type) {
+                    case "USE", "TRANSFER_OUT" -> running -= amount;
+                    case "CANCEL", "TRANSFER_IN" -> running += amount;
+                    default -> {
+                    }
+                }
+            }
+
+            if (balanceSnapShot != running) {
+                if (!snapshotBroken) {
+                    // 한 계좌에서 한 번만 보고하고 기록된 값으로 이어서 누적한다
+                    if (recheck) {
+                        run.report(accountNumbers[current], "SNAPSHOT", transactionId,
+                                running, balanceSnapShot);
+                    }
+                    snapshotBroken = true;
+                }
+                running = balanceSnapShot;
+            }
+        }
+
+        void finishAll() {
+            if (current >= 0) {
+                finish(current);
+                current = -1;
+            }
+            while (next < size) {
+                start(next);
+                finish(next++);
+            }
+            if (!recheck) {
+                run.transactions.add(transactions);
+            }
+        }
+
+        // 현재 계좌를 마무리하고, 거래 없는 계좌를 지나 accountId 계좌로 이동한다
+        private void moveTo(long accountId) {
+            if (current >= 0) {
+                finish(current);
+                current = -1;
+            }
+            while (next < size && ids[next] < accountId) {
+                start(next);
+                finish(next++);
+            }
+            if (next < size && ids[next] == accountId) {
+                current = next++;
+                start(current);
+            }
+        }
+
+        private void start(int index) {
+            running = initialBalances[index];
+            snapshotBroken = false;
+        }
+
+        private void finish(int index) {
+            if (!recheck) {
+                run.accounts.increment();
+            }
+            if (!backfilled[index]) {
+                return;
+            }
+            boolean balanceBroken = running != balances[index];
+            if (!recheck) {
+                if (balanceBroken || snapshotBroken) {
+                    suspects.add(ids[index]);
+                }
+            } else if (balanceBroken) {
+                run.report(accountNumbers[index], "BALANCE", "", running, balances[index]);
+            }
+        }
+    }
+
+    /**
+     * 실행 하나의 checkpoint(끝난 구간)와 불일치 보고서
+     */
+    static class Run {
+        private final String runId;
+        private final Set<String> done = new HashSet<>();
+        private final Writer checkpoint;
+        private final Writer mismatchReport;
+
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder transactions = new LongAdder();
+        private final LongAdder mismatches = new LongAdder();
+        private final AtomicInteger skippedRanges = new AtomicInteger();
+
+        Run(String runId, Path checkpointFile, Path reportFile) throws IOException {
+            this.runId = runId;
+            if (Files.exists(checkpointFile)) {
+                List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+                done.addAll(lines);
+            }
+            this.checkpoint = open(checkpointFile);
+            this.mismatchReport = open(reportFile);
+        }
+
+        synchronized boolean isDone(String key) {
+            return done.contains(key);
+        }
+
+        synchronized void markDone(String key) {
+            try {
+                // 보고서를 먼저 내려써야 재시작 시 해당 구간의 불일치가 빠지지 않는다
+                mismatchReport.flush();
+                checkpoint.write(key);
+                checkpoint.write('\n');
+                checkpoint.flush();
+                done.add(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void report(String accountNumber, String type, String transactionId,
+                                 long expected, long actual) {
+            mismatches.increment();
+            try {
+                mismatchReport.write(accountNumber + "," + type + "," + transactionId
+                        + "," + expected + "," + actual + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        synchronized void close() {
+            try {
+                mismatchReport.close();
+                checkpoint.close();
+            } catch (IOException e) {
+                log.warn("Failed to close reconciliation files. runId : {}", runId, e);
+            }
+        }
+
+        private static Writer open(Path file) throws IOException {
+            return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        }
+    }
+}
@@ -1,36 +0,0 @@
-package com.example.AccountSystem.service;
-
-import com.example.AccountSystem.aop.AccountLockIdInterface;
-import com.example.AccountSystem.dto.UseBalance;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-@Slf4j
-@RequiredArgsConstructor
-public class LockAopAspect {
-    private final LockService lockService;
-
-    @Around("@annotation(com.example.account.aop.AccountLock) && args(request")
-    public Object aroundMethod (
-            ProceedingJoinPoint pjp,
-            AccountLockIdInterface request
-    ) throws Throwable {
-        // lock 취득 시도
-        lockService.lock(request.getAccountNumber());
-
-        try {
-            return pjp.proceed(); // 실제 동작
-        } finally {
-            // lock 해제
-            lockService.unlock(request.getAccountNumber());
-        }
-
-    }
-
-}
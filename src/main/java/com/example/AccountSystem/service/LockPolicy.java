@@ -0,0 +1,27 @@
+package com.example.AccountSystem.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LockPolicy {
+    public static final LockPolicy DEFAULT = new LockPolicy(5000L, 15000L, false);
+
+    private final long waitMillis;
+    private final long leaseMillis;
+    private final boolean fair;
+
+    // -1 이면 Redisson watchdog 으로 자동 연장
+    public LockPolicy withLeaseMillis(long leaseMillis) {
+        return new LockPolicy(waitMillis, leaseMillis, fair);
+    }
+
+    // 요청 타임아웃이 더 짧으면 남은 시간만큼만 기다린다
+    public LockPolicy withDeadline(long remainingMillis) {
+        if (remainingMillis >= waitMillis) {
+            return this;
+        }
+        return new LockPolicy(Math.max(0L, remainingMillis), leaseMillis, fair);
+    }
+}
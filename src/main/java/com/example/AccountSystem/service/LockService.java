@@ -8,6 +8,10 @@ import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
@@ -19,25 +23,110 @@ public class LockService {
     private final RedissonClient redissonClient;    // @Bean 이름과 같으면 자동 주입
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        lock(accountNumber, LockPolicy.DEFAULT);
+    }
+
+    public void lock(String accountNumber, LockPolicy policy) {
+        RLock lock = getLock(accountNumber, policy);
         log.debug("Trying lock for accountNumber : {}", accountNumber);
 
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS); // 1초 동안 락을 시도하고, 성공하면 락을 5초 동안 유지
+            // waitMillis 동안 락을 시도하고, 성공하면 leaseMillis 동안 유지
+            boolean isLock = lock.tryLock(
+                    policy.getWaitMillis(),
+                    policy.getLeaseMillis(),
+                    TimeUnit.MILLISECONDS);
             if(!isLock) {
                 log.error("==========Lock acquisition failed==========");
-                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+                throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
             }
         } catch (AccountException e) {
             throw e;
+        } catch (InterruptedException e) {
+            // 요청이 취소되면 락 없이 진행하지 않고 즉시 중단
+            Thread.currentThread().interrupt();
+            log.error("Lock wait interrupted. accountNumber : {}", accountNumber);
+            throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
         } catch (Exception e) {
             log.error("Redis lock failed", e);
         }
     }
 
+    /**
+     * 소유자 id 를 직접 정해 락을 잡는다. 같은 id 로 다른 스레드에서 이어서 쓰거나 해제할 수 있다.
+     * 스레드 id 와 겹치지 않도록 음수 id 를 쓴다.
+     */
+    public void lock(String accountNumber, LockPolicy policy, long ownerId) {
+        RLock lock = getLock(accountNumber, policy);
+        log.debug("Trying lock for accountNumber : {}", accountNumber);
+
+        try {
+            boolean isLock = lock.tryLockAsync(
+                    policy.getWaitMillis(),
+                    policy.getLeaseMillis(),
+                    TimeUnit.MILLISECONDS,
+                    ownerId).get();
+            if(!isLock) {
+                log.error("==========Lock acquisition failed==========");
+                throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
+            }
+        } catch (AccountException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Lock wait interrupted. accountNumber : {}", accountNumber);
+            throw AccountException.of(ACCOUNT_TRANSACTION_LOCK);
+        } catch (Exception e) {
+            log.error("Redis lock failed", e);
+        }
+    }
+
+    public void unlock(String accountNumber, LockPolicy policy, long ownerId) {
+        log.debug("Unlock for accountNumber : {}", accountNumber);
+        getLock(accountNumber, policy).unlockAsync(ownerId).toCompletableFuture().join();
+    }
+
+    /**
+     * 여러 계좌의 락을 계좌번호 순서대로 잡는다. 모든 요청이 같은 순서로 잡으므로 교착 상태가 생기지 않는다.
+     * 하나라도 실패하면 이미 잡은 락을 풀고 예외를 던진다.
+     * @return 락을 잡은 순서대로 정렬된 계좌번호
+     */
+    public List<String> lockAll(Collection<String> accountNumbers, LockPolicy policy) {
+        List<String> ordered = new ArrayList<>(new TreeSet<>(accountNumbers));
+        List<String> locked = new ArrayList<>(ordered.size());
+
+        try {
+            for (String accountNumber : ordered) {
+                lock(accountNumber, policy);
+                locked.add(accountNumber);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(locked, policy);
+            throw e;
+        }
+
+        return ordered;
+    }
+
+    public void unlockAll(List<String> orderedAccountNumbers, LockPolicy policy) {
+        for (int i = orderedAccountNumbers.size() - 1; i >= 0; i--) {
+            unlock(orderedAccountNumbers.get(i), policy);
+        }
+    }
+
     public void unlock(String accountNumber) {
+        unlock(accountNumber, LockPolicy.DEFAULT);
+    }
+
+    public void unlock(String accountNumber, LockPolicy policy) {
         log.debug("Unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        getLock(accountNumber, policy).unlock();
+    }
+
+    private RLock getLock(String accountNumber, LockPolicy policy) {
+        return policy.isFair()
+                ? redissonClient.getFairLock(getLockKey(accountNumber))
+                : redissonClient.getLock(getLockKey(accountNumber));
     }
 
     private static String getLockKey(String accountNumber) {
@@ -0,0 +1,191 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.OutboxEvent;
+import com.example.AccountSystem.repository.OutboxEventRepository;
+import com.example.AccountSystem.type.OutboxSink;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.RBatch;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * outbox 에 쌓인 잔액 변경 이벤트를 묶음 단위로 Redis 에 발행한다.
+ * 한 노드만 발행하도록 Redis 락을 잡고, 이벤트 추가와 샤드별 마지막 발행 묶음 기록을 하나의 MULTI/EXEC 로 보낸다.
+ * DB 에 발행 표시를 하기 전에 중단되면 다음 실행에서 같은 행을 다시 읽지만, 마지막 묶음에 있던 이벤트는 건너뛴다.
+ * 계좌별 이벤트는 outbox id 순서로 발행되며, 소비자는 eventId(샤드:outbox id) 로 중복을 거를 수 있다.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+    static final String ACCOUNT_EVENTS = "ACCOUNT_EVENTS";
+    // 샤드별 마지막으로 발행한 묶음의 outbox id (재시작 위치)
+    static final String LAST_BATCH_PREFIX = "OUTBOX_LAST_BATCH:";
+    private static final String RELAY_LOCK = "OUTBOX_RELAY";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+    private final ObjectMapper objectMapper;
+
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final int maxLength;
+    private final long retentionHours;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            RedissonClient redissonClient,
+            ShardRouter shardRouter,
+            ObjectMapper objectMapper,
+            @Value("${account.outbox.sink:LIST}") OutboxSink sink,
+            @Value("${account.outbox.batch-size:500}") int batchSize,
+            @Value("${account.outbox.max-length:1000000}") int maxLength,
+            @Value("${account.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.redissonClient = redissonClient;
+        this.shardRouter = shardRouter;
+        this.objectMapper = objectMapper;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxLength = maxLength;
+        this.retentionHours = retentionHours;
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.relay-interval-millis:200}")
+    public void relay() {
+        RLock lock = redissonClient.getLock(RELAY_LOCK);
+        if (!lock.tryLock()) {
+            return;
+        }
+
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                ShardContext.call(shard, this::relayShard);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox relay failed.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 발행이 끝난 행은 보관 기간이 지나면 삭제
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void purge() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int deleted = ShardContext.call(shard,
+                    () -> outboxEventRepository.deletePublishedBefore(before));
+            log.debug("Purged {} outbox events from shard {}", deleted, shard);
+        }
+    }
+
+    private int relayShard() {
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> events = outboxEventRepository
+                    .findByPublishedFalseOrderById(PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return relayed;
+            }
+
+            publish(events);
+            outboxEventRepository.markPublished(events.stream()
+                    .map(OutboxEvent::getId)
+                    .collect(Collectors.toList()));
+            relayed += events.size();
+
+            if (events.size() < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    private void publish(List<OutboxEvent> events) {
+        String lastBatchKey = LAST_BATCH_PREFIX + ShardContext.current();
+        Set<String> lastBatch = redissonClient
+                .<String>getSet(lastBatchKey, StringCodec.INSTANCE)
+                .readAll();
+
+        List<OutboxEvent> unpublished = skipPublished(events, lastBatch);
+        if (unpublished.isEmpty()) {
+            return;
+        }
+
+        RBatch batch = redissonClient.createBatch(BatchOptions.defaults()
+                .executionMode(BatchOptions.ExecutionMode.IN_MEMORY_ATOMIC));
+        if (sink == OutboxSink.STREAM) {
+            for (OutboxEvent event : unpublished) {
+                batch.<String, String>getStream(ACCOUNT_EVENTS, StringCodec.INSTANCE)
+                        .addAsync(StreamAddArgs.entries(toEntries(ShardContext.current(), event))
+                                .trimNonStrict().maxLen(maxLength).noLimit());
+            }
+        } else {
+            List<String> payloads = new ArrayList<>(unpublished.size());
+            for (OutboxEvent event : unpublished) {
+                payloads.add(toJson(ShardContext.current(), event));
+            }
+            batch.<String>getList(ACCOUNT_EVENTS, StringCodec.INSTANCE).addAllAsync(payloads);
+            batch.<String>getList(ACCOUNT_EVENTS, StringCodec.INSTANCE)
+                    .trimAsync(-maxLength, -1);
+        }
+        batch.<String>getSet(lastBatchKey, StringCodec.INSTANCE).deleteAsync();
+        batch.<String>getSet(lastBatchKey, StringCodec.INSTANCE)
+                .addAllAsync(unpublished.stream()
+                        .map(event -> String.valueOf(event.getId()))
+                        .collect(Collectors.toList()));
+        batch.execute();
+    }
+
+    /**
+     * 직전 실행에서 이미 발행했지만 DB 에 표시하지 못한 이벤트를 제외한다.
+     */
+    static List<OutboxEvent> skipPublished(List<OutboxEvent> events, Set<String> lastBatch) {
+        if (lastBatch.isEmpty()) {
+            return events;
+        }
+
+        List<OutboxEvent> unpublished = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (!lastBatch.contains(String.valueOf(event.getId()))) {
+                unpublished.add(event);
+            }
+        }
+        return unpublished;
+    }
+
+    // outbox id 는 샤드마다 따로 증가하므로 샤드 번호를 붙여야 전체에서 유일하다
+    static Map<String, String> toEntries(int shard, OutboxEvent event) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("eventId", shard + ":" + event.getId());
+        entries.put("accountNumber", event.getAccountNumber());
+        entries.put("transactionId", event.getTransactionId());
+        entries.put("transactionType", event.getTransactionType().name());
+        entries.put("amount", String.valueOf(event.getAmount()));
+        entries.put("balanceSnapShot", String.valueOf(event.getBalanceSnapShot()));
+        entries.put("transactedAt", String.valueOf(event.getTransactedAt()));
+        return entries;
+    }
+
+    private String toJson(int shard, OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(toEntries(shard, event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
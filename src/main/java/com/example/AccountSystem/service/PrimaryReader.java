@@ -0,0 +1,37 @@
+package com.example.AccountSystem.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 복제 지연에 민감한 조회를 쓰기 DB 에서 다시 읽는다.
+ * 방금 커밋된 거래를 바로 조회하는 경우처럼 복제본에 아직 없는 데이터를 놓치지 않기 위해 사용한다.
+ */
+@Component
+public class PrimaryReader {
+    private final TransactionTemplate transactionTemplate;
+    private final boolean readReplicaEnabled;
+
+    public PrimaryReader(
+            PlatformTransactionManager transactionManager,
+            @Value("${account.datasource.read.enabled:false}") boolean readReplicaEnabled) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readReplicaEnabled = readReplicaEnabled;
+    }
+
+    // 복제본을 쓰지 않으면 이미 쓰기 DB 에서 읽었으므로 다시 조회하지 않는다
+    public <T> Optional<T> readFromPrimary(Supplier<Optional<T>> query) {
+        if (!readReplicaEnabled) {
+            return Optional.empty();
+        }
+        return transactionTemplate.execute(status -> query.get());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.RateLimitProperties;
+import com.example.AccountSystem.type.RateLimitMode;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔드포인트 + 사용자/계좌 키별 요청 제한
+ * LOCAL 은 노드 메모리의 토큰 버킷(GCRA, CAS 한 번), REDIS 는 Redisson RRateLimiter 를 사용한다.
+ * REDIS 는 burst / permitsPerSecond 초 윈도에 burst 개를 허용해 평균 속도와 최대 순간 허용량을 LOCAL 과 맞춘다.
+ * Redis 호출이 실패하면 해당 요청은 노드 버킷으로 판단한다.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private static final String RATE_LIMIT_PREFIX = "RATE_LIMIT:";
+    private static final long IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+    // Redis 키 만료(1시간) 전에 핸들을 다시 만들어 만료 시간을 늘린다
+    private static final long REFRESH_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final RedissonClient redissonClient;
+    private final RateLimitProperties properties;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RedisLimiter> redisLimiters = new ConcurrentHashMap<>();
+
+    public RateLimiter(RedissonClient redissonClient, RateLimitProperties properties) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+    }
+
+    /**
+     * 한도를 넘었으면 true
+     */
+    public boolean isLimited(String endpoint, String key) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+
+        RateLimitProperties.Limit limit = properties.getLimit(endpoint);
+        if (limit.getPermitsPerSecond() <= 0) {
+            return false;
+        }
+
+        String bucketKey = endpoint + ":" + key;
+        if (properties.getMode() == RateLimitMode.REDIS) {
+            try {
+                return !redisLimiters
+                        .computeIfAbsent(bucketKey, k -> new RedisLimiter(
+                                createRedisLimiter(k, limit), System.nanoTime()))
+                        .tryAcquire(System.nanoTime());
+            } catch (Exception e) {
+                log.warn("Redis rate limiter failed. key : {}", bucketKey, e);
+            }
+        }
+
+        return !buckets
+                .computeIfAbsent(bucketKey, k -> new TokenBucket(limit))
+                .tryAcquire(System.nanoTime());
+    }
+
+    // 오래 쓰지 않은 버킷은 가득 찬 상태와 같으므로 제거
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, IDLE_NANOS));
+        redisLimiters.values().removeIf(limiter -> limiter.isStale(now));
+    }
+
+    private RRateLimiter createRedisLimiter(String bucketKey, RateLimitProperties.Limit limit) {
+        RRateLimiter limiter = redissonClient.getRateLimiter(RATE_LIMIT_PREFIX + bucketKey);
+        // 한 번에 burst 개까지, 평균은 초당 permitsPerSecond 개 (이미 설정된 한도가 있으면 유지된다)
+        long burst = Math.max(1, limit.getBurst());
+        limiter.trySetRate(RateType.OVERALL, burst,
+                Math.max(1L, burst * 1000L / limit.getPermitsPerSecond()),
+                RateIntervalUnit.MILLISECONDS);
+        limiter.expire(Duration.ofHours(1));
+        return limiter;
+    }
+
+    // Redisson 핸들과 생성/마지막 사용 시각
+    private static class RedisLimiter {
+        private final RRateLimiter limiter;
+        private final long createdNanos;
+        private volatile long lastUsedNanos;
+
+        private RedisLimiter(RRateLimiter limiter, long now) {
+            this.limiter = limiter;
+            this.createdNanos = now;
+            this.lastUsedNanos = now;
+        }
+
+        private boolean tryAcquire(long now) {
+            lastUsedNanos = now;
+            return limiter.tryAcquire();
+        }
+
+        private boolean isStale(long now) {
+            return now - lastUsedNanos > IDLE_NANOS || now - createdNanos > REFRESH_NANOS;
+        }
+    }
+
+    /**
+     * GCRA 토큰 버킷
+     * 다음 요청이 허용되는 이론상 도착 시각(tat) 하나만 AtomicLong 으로 들고 있다.
+     */
+    static class TokenBucket {
+        private final long emissionNanos;
+        private final long toleranceNanos;
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        TokenBucket(RateLimitProperties.Limit limit) {
+            this.emissionNanos = TimeUnit.SECONDS.toNanos(1) / limit.getPermitsPerSecond();
+            this.toleranceNanos = emissionNanos * Math.max(0, limit.getBurst() - 1);
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = tat.get();
+                long base = current == Long.MIN_VALUE ? now : Math.max(current, now);
+                if (base - now > toleranceNanos) {
+                    return false;
+                }
+                if (tat.compareAndSet(current, base + emissionNanos)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            long current = tat.get();
+            return current == Long.MIN_VALUE || now - current > idleNanos;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.AccountSystem.service;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * 여러 노드가 함께 쓰는 확장형 Bloom filter (Redisson RBloomFilter 를 층으로 쌓는다)
+ * RBloomFilter 는 만들 때 정한 용량을 넘으면 오탐률이 올라가므로, 층별로 넣은 수를 세다가 용량이 차면
+ * 용량 두 배, 오탐률 절반인 층을 새로 만든다. 층 수는 {name}:layers, 층별로 넣은 수는 {name}:{층}:count 에 둔다.
+ */
+class RedisBloomFilter implements IdFilter {
+    private final RedissonClient redissonClient;
+    private final String name;
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+
+    RedisBloomFilter(RedissonClient redissonClient, String name,
+                     long initialCapacity, double falsePositiveRate) {
+        this.redissonClient = redissonClient;
+        this.name = name;
+        this.initialCapacity = Math.max(1L, initialCapacity);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Override
+    public boolean mightContain(String id) {
+        for (int layer = layerCount() - 1; layer >= 0; layer--) {
+            if (layer(layer).contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(String id) {
+        int layers = layerCount();
+        int last = layers - 1;
+        if (!layer(last).add(id)) {
+            // 이미 있거나 오탐
+            return;
+        }
+        if (counter(last).incrementAndGet() < capacity(last)) {
+            return;
+        }
+
+        // 다른 노드가 새 층에 넣기 전에 초기화돼 있어야 하므로 먼저 만들고 층 수를 올린다
+        layer(layers).tryInit(capacity(layers), falsePositiveRate(layers));
+        layerCounter().compareAndSet(layers, layers + 1);
+    }
+
+    private int layerCount() {
+        RAtomicLong layers = layerCounter();
+        long count = layers.get();
+        if (count > 0) {
+            return (int) count;
+        }
+        layer(0).tryInit(capacity(0), falsePositiveRate(0));
+        layers.compareAndSet(0, 1);
+        return 1;
+    }
+
+    private long capacity(int layer) {
+        return initialCapacity << Math.min(layer, 30);
+    }
+
+    private double falsePositiveRate(int layer) {
+        return falsePositiveRate / (2L << Math.min(layer, 30));
+    }
+
+    private RBloomFilter<String> layer(int layer) {
+        return redissonClient.getBloomFilter(name + ":" + layer, StringCodec.INSTANCE);
+    }
+
+    private RAtomicLong counter(int layer) {
+        return redissonClient.getAtomicLong(name + ":" + layer + ":count");
+    }
+
+    private RAtomicLong layerCounter() {
+        return redissonClient.getAtomicLong(name + ":layers");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.AccountSystem.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * 노드 메모리의 확장형 Bloom filter
+ * 마지막 층이 용량만큼 차면 용량은 두 배, 오탐률은 절반인 층을 뒤에 붙인다.
+ * 첫 층의 오탐률을 목표의 절반으로 잡으므로 층이 늘어도 전체 오탐률은 목표를 넘지 않는다.
+ * 비트 배열은 CAS 로 갱신해 락 없이 동시에 넣고 확인한다.
+ */
+class ScalableBloomFilter implements IdFilter {
+    private static final LongBinaryOperator OR = (bits, mask) -> bits | mask;
+
+    private volatile Layer[] layers;
+
+    ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        this.layers = new Layer[]{new Layer(Math.max(1L, initialCapacity), falsePositiveRate / 2)};
+    }
+
+    @Override
+    public boolean mightContain(String id) {
+        long h1 = ShardRouter.hash(id);
+        long h2 = secondHash(h1);
+        Layer[] current = layers;
+        // 최근 아이디가 더 자주 조회되므로 새 층부터 본다
+        for (int i = current.length - 1; i >= 0; i--) {
+            if (current[i].mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(String id) {
+        long h1 = ShardRouter.hash(id);
+        long h2 = secondHash(h1);
+        Layer[] current = layers;
+        for (Layer layer : current) {
+            if (layer.mightContain(h1, h2)) {
+                return;
+            }
+        }
+
+        Layer last = current[current.length - 1];
+        last.add(h1, h2);
+        if (last.count.incrementAndGet() >= last.capacity) {
+            grow(last);
+        }
+    }
+
+    int getLayerCount() {
+        return layers.length;
+    }
+
+    private synchronized void grow(Layer full) {
+        Layer[] current = layers;
+        if (current[current.length - 1] != full) {
+            return;
+        }
+        Layer[] grown = new Layer[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = new Layer(full.capacity * 2, full.falsePositiveRate / 2);
+        layers = grown;
+    }
+
+    // 두 해시로 k 개의 위치를 만든다 (Kirsch-Mitzenmacher), 두 번째 해시는 홀수로 만들어 위치가 겹치지 않게 한다
+    private static long secondHash(long h1) {
+        long h = h1 ^ 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h | 1L;
+    }
+
+    private static final class Layer {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final double falsePositiveRate;
+        private final AtomicLong count = new AtomicLong();
+
+        private Layer(long capacity, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(
+                    -capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        private void add(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(combined, bitCount);
+                bits.getAndAccumulate((int) (bit >>> 6), 1L << bit, OR);
+                combined += h2;
+            }
+        }
+    }
+}
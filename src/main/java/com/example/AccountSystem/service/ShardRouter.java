@@ -0,0 +1,170 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.ShardProperties;
+import com.example.AccountSystem.type.ShardKeyType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+/**
+ * 계좌번호를 consistent hashing 으로 샤드에 배정한다.
+ * 거래는 계좌와 같은 샤드에 저장되며, transactionId 앞 두 자리(16진수)에 샤드 번호를 넣어 바로 찾아갈 수 있게 한다.
+ */
+@Component
+public class ShardRouter {
+    private final int shardCount;
+    private final long[] ringPoints;
+    private final int[] ringShards;
+    private final ExecutorService fanOutExecutor;
+
+    @Autowired
+    public ShardRouter(ShardProperties shardProperties) {
+        this(shardProperties.getCount(), shardProperties.getVirtualNodes());
+    }
+
+    public ShardRouter(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || shardCount > 256) {
+            throw new IllegalArgumentException("shardCount must be 1..256");
+        }
+        this.shardCount = shardCount;
+
+        int points = shardCount * virtualNodes;
+        long[][] ring = new long[points][];
+        for (int shard = 0, i = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++, i++) {
+                ring[i] = new long[]{hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+        Arrays.sort(ring, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.ringPoints = new long[points];
+        this.ringShards = new int[points];
+        for (int i = 0; i < points; i++) {
+            ringPoints[i] = ring[i][0];
+            ringShards[i] = (int) ring[i][1];
+        }
+
+        this.fanOutExecutor = shardCount > 1
+                ? Executors.newFixedThreadPool(shardCount)
+                : null;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(ShardKeyType type, Object key) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        return switch (type) {
+            case ACCOUNT_NUMBER -> shardOfAccountNumber((String) key);
+            case TRANSACTION_ID -> shardOfTransactionId((String) key);
+            case USER_ID -> locate(hash(String.valueOf(key)));
+        };
+    }
+
+    public int shardOfAccountNumber(String accountNumber) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        return locate(hash(accountNumber));
+    }
+
+    public int shardOfTransactionId(String transactionId) {
+        if (shardCount == 1 || transactionId == null || transactionId.length() < 2) {
+            return 0;
+        }
+        int high = Character.digit(transactionId.charAt(0), 16);
+        int low = Character.digit(transactionId.charAt(1), 16);
+        int shard = high * 16 + low;
+        return high >= 0 && low >= 0 && shard < shardCount ? shard : 0;
+    }
+
+    // 현재 샤드에 속하지 않는 계좌인지
+    public boolean belongsToOtherShard(String accountNumber) {
+        return shardOfAccountNumber(accountNumber) != ShardContext.current();
+    }
+
+    /**
+     * 모든 샤드에서 병렬로 조회한 결과를 샤드 번호 순서대로 합친다.
+     */
+    public <T> List<T> fanOut(IntFunction<List<T>> query) {
+        if (shardCount == 1) {
+            return ShardContext.call(0, () -> query.apply(0));
+        }
+
+        List<Future<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(fanOutExecutor.submit(() ->
+                    ShardContext.call(target, () -> query.apply(target))));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            for (Future<List<T>> future : futures) {
+                results.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Shard fan-out interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    public static String newTransactionId(int shard) {
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        return String.format("%02x", shard) + uuid.substring(2);
+    }
+
+    // seed 가 같으면 같은 아이디 (파일 가져오기처럼 다시 실행해도 같은 거래로 알아봐야 할 때)
+    public static String newTransactionId(int shard, String seed) {
+        String uuid = UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8))
+                .toString().replace("-", "");
+        return String.format("%02x", shard) + uuid.substring(2);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdown();
+        }
+    }
+
+    private int locate(long hash) {
+        int index = Arrays.binarySearch(ringPoints, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return ringShards[index == ringPoints.length ? 0 : index];
+    }
+
+    // FNV-1a + murmur3 finalizer
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.aop.ShardKey;
+import com.example.AccountSystem.type.ShardKeyType;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @ShardRouted 메서드의 @ShardKey 파라미터로 샤드를 정한다.
+ * 트랜잭션이 커넥션을 얻기 전에 실행되어야 하므로 가장 바깥쪽 advice 로 둔다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+    private final ShardRouter shardRouter;
+
+    private final ConcurrentHashMap<Method, Optional<KeyParameter>> keyParameters =
+            new ConcurrentHashMap<>();
+
+    @Around("@annotation(com.example.AccountSystem.aop.ShardRouted)")
+    public Object route(ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Optional<KeyParameter> keyParameter = keyParameters.computeIfAbsent(
+                method, ShardRoutingAspect::findKeyParameter);
+        if (keyParameter.isEmpty()) {
+            return pjp.proceed();
+        }
+
+        Object key = pjp.getArgs()[keyParameter.get().index()];
+        Integer previous = ShardContext.set(
+                shardRouter.shardOf(keyParameter.get().type(), key));
+        try {
+            return pjp.proceed();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static Optional<KeyParameter> findKeyParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey shardKey) {
+                    return Optional.of(new KeyParameter(i, shardKey.value()));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record KeyParameter(int index, ShardKeyType type) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.AccountSystem.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 조회를 하나로 합친다.
+ * 먼저 온 요청이 조회하는 동안 나머지는 그 결과를 기다려 함께 받는다.
+ * ttlMillis 가 0 보다 크면 조회가 끝난 뒤에도 그 시간 동안 결과를 재사용한다.
+ */
+public class SingleFlight<K, V> {
+    // 재사용 기간이 지난 결과를 정리하기 시작하는 키 수
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final ConcurrentHashMap<K, Call<V>> calls = new ConcurrentHashMap<>();
+
+    public V execute(K key, long ttlMillis, Supplier<V> loader) {
+        while (true) {
+            Call<V> call = calls.get(key);
+            if (call != null) {
+                if (!call.isExpired(System.currentTimeMillis(), ttlMillis)) {
+                    return call.join();
+                }
+                calls.remove(key, call);
+                continue;
+            }
+
+            Call<V> mine = new Call<>();
+            if (calls.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            return load(key, ttlMillis, loader, mine);
+        }
+    }
+
+    int size() {
+        return calls.size();
+    }
+
+    private V load(K key, long ttlMillis, Supplier<V> loader, Call<V> call) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            // 실패한 결과는 재사용하지 않는다
+            calls.remove(key, call);
+            call.fail(e);
+            throw e;
+        }
+
+        call.complete(value);
+        if (ttlMillis <= 0) {
+            calls.remove(key, call);
+        } else if (calls.size() > PURGE_THRESHOLD) {
+            long now = System.currentTimeMillis();
+            calls.values().removeIf(c -> c.isExpired(now, ttlMillis));
+        }
+        return value;
+    }
+
+    private static class Call<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        // 조회가 끝난 시각, 진행 중이면 0
+        private volatile long completedAt;
+
+        private boolean isExpired(long now, long ttlMillis) {
+            long completed = completedAt;
+            return completed != 0 && now - completed >= ttlMillis;
+        }
+
+        private void complete(V value) {
+            completedAt = System.currentTimeMillis();
+            result.complete(value);
+        }
+
+        private void fail(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        private V join() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
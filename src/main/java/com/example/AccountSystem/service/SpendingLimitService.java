@@ -0,0 +1,223 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.repository.TransactionRepository;
+import com.example.AccountSystem.type.ErrorCode;
+import com.example.AccountSystem.type.TransactionType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.AccountSystem.type.ErrorCode.DAILY_LIMIT_EXCEEDED;
+import static com.example.AccountSystem.type.ErrorCode.HOURLY_LIMIT_EXCEEDED;
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static com.example.AccountSystem.type.TransactionType.TRANSFER_OUT;
+import static com.example.AccountSystem.type.TransactionType.USE;
+
+/**
+ * 계좌별 1시간/24시간 사용 한도 (사용과 이체 출금을 함께 센다)
+ * 사용 금액은 노드 메모리의 분 단위 링 버퍼에 집계하고, 거래 테이블은 시작 시 복원할 때만 읽는다.
+ * 여러 노드가 있으면 Redis topic 으로 사용 내역을 서로 전달한다.
+ */
+@Slf4j
+@Service
+public class SpendingLimitService {
+    private static final String SPENDING_TOPIC = "SPENDING_WINDOW";
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // 한도에 포함되는 출금 (사용, 이체 출금)
+    private static final List<TransactionType> DEBIT_TYPES = List.of(USE, TRANSFER_OUT);
+
+    private final TransactionRepository transactionRepository;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+
+    private final boolean enabled;
+    private final long dailyLimit;
+    private final long hourlyLimit;
+    private final boolean mirror;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, SpendingWindow> windows = new ConcurrentHashMap<>();
+    private RTopic topic;
+
+    public SpendingLimitService(
+            TransactionRepository transactionRepository,
+            RedissonClient redissonClient,
+            ShardRouter shardRouter,
+            @Value("${account.spending-limit.enabled:true}") boolean enabled,
+            @Value("${account.spending-limit.daily:10000000}") long dailyLimit,
+            @Value("${account.spending-limit.hourly:2000000}") long hourlyLimit,
+            @Value("${account.spending-limit.mirror:true}") boolean mirror) {
+        this.transactionRepository = transactionRepository;
+        this.redissonClient = redissonClient;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.dailyLimit = dailyLimit;
+        this.hourlyLimit = hourlyLimit;
+        this.mirror = mirror;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled || !mirror) {
+            return;
+        }
+
+        try {
+            topic = redissonClient.getTopic(SPENDING_TOPIC);
+            topic.addListener(String.class, (channel, message) -> onRemoteSpending(message));
+        } catch (Exception e) {
+            // Redis 가 없으면 노드 안에서만 집계
+            log.warn("Spending window mirror is unavailable.", e);
+            topic = null;
+        }
+    }
+
+    /**
+     * amount 를 더 사용하면 한도를 넘는지 확인한다. 넘지 않으면 null
+     * 같은 계좌 요청은 계좌 락 안에서 호출되므로 확인과 기록 사이에 다른 사용이 끼어들지 않는다.
+     */
+    public ErrorCode check(String accountNumber, long amount) {
+        if (!enabled) {
+            return null;
+        }
+
+        long daySum = 0L;
+        long hourSum = 0L;
+        SpendingWindow window = windows.get(accountNumber);
+        if (window != null) {
+            long nowMinute = currentMinute();
+            synchronized (window) {
+                daySum = window.getDaySum(nowMinute);
+                hourSum = window.getHourSum(nowMinute);
+            }
+        }
+
+        if (hourSum + amount > hourlyLimit) {
+            return HOURLY_LIMIT_EXCEEDED;
+        }
+        if (daySum + amount > dailyLimit) {
+            return DAILY_LIMIT_EXCEEDED;
+        }
+        return null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBalanceUsed(BalanceUsedEvent event) {
+        long minute = toMinute(event.getUsedAt());
+        record(event.getAccountNumber(), minute, event.getAmount());
+
+        if (topic != null) {
+            try {
+                topic.publishAsync(nodeId + "|" + event.getAccountNumber()
+                        + "|" + minute + "|" + event.getAmount());
+            } catch (Exception e) {
+                log.warn("Failed to mirror spending. accountNumber : {}",
+                        event.getAccountNumber(), e);
+            }
+        }
+    }
+
+    /**
+     * 최근 24시간의 성공한 사용/이체 출금 거래로 집계를 다시 만든다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime since = LocalDateTime.now()
+                .minusMinutes(SpendingWindow.DAY_MINUTES);
+        long restored = 0L;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            restored += ShardContext.call(shard, () -> rebuildShard(since));
+        }
+        log.info("Rebuilt spending windows from {} transactions", restored);
+    }
+
+    // 하루 동안 사용이 없는 계좌의 버퍼를 정리
+    // 기록과 같은 키 잠금 안에서 지워야 방금 기록된 버퍼를 지우지 않는다
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        long nowMinute = currentMinute();
+        for (String accountNumber : windows.keySet()) {
+            windows.computeIfPresent(accountNumber, (k, window) -> {
+                synchronized (window) {
+                    return window.isEmpty(nowMinute) ? null : window;
+                }
+            });
+        }
+    }
+
+    void record(String accountNumber, long minute, long amount) {
+        if (!enabled) {
+            return;
+        }
+
+        windows.compute(accountNumber, (k, window) -> {
+            if (window == null) {
+                window = new SpendingWindow(currentMinute());
+            }
+            synchronized (window) {
+                window.add(minute, amount);
+            }
+            return window;
+        });
+    }
+
+    private long rebuildShard(LocalDateTime since) {
+        long restored = 0L;
+        long afterId = 0L;
+        while (true) {
+            List<BalanceUsedEvent> used = transactionRepository.findUsedSince(
+                    since, DEBIT_TYPES, S, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (BalanceUsedEvent event : used) {
+                record(event.getAccountNumber(), toMinute(event.getUsedAt()),
+                        event.getAmount());
+            }
+            restored += used.size();
+            if (used.size() < REBUILD_BATCH_SIZE) {
+                return restored;
+            }
+            afterId = used.get(used.size() - 1).getId();
+        }
+    }
+
+    private void onRemoteSpending(String message) {
+        String[] fields = message.split("\\|");
+        if (fields.length != 4 || nodeId.equals(fields[0])) {
+            return;
+        }
+
+        try {
+            record(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid spending message : {}", message);
+        }
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000L;
+    }
+
+    private static long toMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 60_000L;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.AccountSystem.service;
+
+import java.util.Arrays;
+
+/**
+ * 계좌 하나의 최근 24시간 사용 금액 (분 단위 버킷 1440개 링 버퍼)
+ * 1시간/24시간 합계를 누적값으로 들고 있어, 조회는 창을 현재 분까지 밀어낸 뒤 값을 읽기만 한다.
+ * 호출하는 쪽에서 동기화한다.
+ */
+class SpendingWindow {
+    static final int DAY_MINUTES = 1440;
+    static final int HOUR_MINUTES = 60;
+
+    private final long[] buckets = new long[DAY_MINUTES];
+    private long currentMinute;
+    private long daySum;
+    private long hourSum;
+
+    SpendingWindow(long nowMinute) {
+        this.currentMinute = nowMinute;
+    }
+
+    long getDaySum(long nowMinute) {
+        advance(nowMinute);
+        return daySum;
+    }
+
+    long getHourSum(long nowMinute) {
+        advance(nowMinute);
+        return hourSum;
+    }
+
+    boolean isEmpty(long nowMinute) {
+        advance(nowMinute);
+        return daySum == 0;
+    }
+
+    void add(long minute, long amount) {
+        advance(minute);
+        long age = currentMinute - minute;
+        if (age >= DAY_MINUTES) {
+            return;
+        }
+
+        buckets[index(minute)] += amount;
+        daySum += amount;
+        if (age < HOUR_MINUTES) {
+            hourSum += amount;
+        }
+    }
+
+    private void advance(long nowMinute) {
+        if (nowMinute <= currentMinute) {
+            return;
+        }
+
+        if (nowMinute - currentMinute >= DAY_MINUTES) {
+            Arrays.fill(buckets, 0L);
+            daySum = 0;
+            hourSum = 0;
+            currentMinute = nowMinute;
+            return;
+        }
+
+        while (currentMinute < nowMinute) {
+            currentMinute++;
+            // 1시간 창에서 빠지는 분
+            hourSum -= buckets[index(currentMinute - HOUR_MINUTES)];
+            // 24시간 창에서 빠지는 분 (새로 들어오는 분과 같은 칸)
+            int entering = index(currentMinute);
+            daySum -= buckets[entering];
+            buckets[entering] = 0;
+        }
+    }
+
+    private static int index(long minute) {
+        return (int) Math.floorMod(minute, (long) DAY_MINUTES);
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.archive.ArchivedTransaction;
+import com.example.AccountSystem.archive.TransactionArchive;
+import com.example.AccountSystem.domain.AccountNumbers;
+import com.example.AccountSystem.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_NOT_FOUND;
+
+/**
+ * 계좌 거래 내역서(gzip CSV) 내보내기
+ * 거래 행은 엔티티로 만들지 않고 forward-only JDBC 커서에서 한 행씩 읽어 바로 압축 스트림에 쓰므로,
+ * 행 수가 늘어도 힙 사용량은 커서 fetch 크기와 버퍼 크기로 고정된다.
+ * 보관 기간이 지나 세그먼트로 옮겨진 거래는 테이블의 거래보다 먼저 쓴다.
+ */
+@Slf4j
+@Service
+public class StatementExportService {
+    private static final String HEADER =
+            "transactionId,transactedAt,transactionType,transactionResultType," +
+                    "amount,balanceSnapShot,relatedTransactionId\n";
+    private static final String STATEMENT_QUERY =
+            "select t.transaction_id, t.transacted_at, t.transaction_type, " +
+                    "t.transaction_result_type, t.amount, t.balance_snap_shot, " +
+                    "t.related_transaction_id " +
+                    "from transaction t join account a on t.account_id = a.id " +
+                    "where a.account_number = ? " +
+                    "and t.transacted_at >= ? and t.transacted_at < ? " +
+                    "order by t.transacted_at, t.id";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final TransactionArchive transactionArchive;
+    private final int fetchSize;
+    private final int exportThreads;
+    private final String exportDir;
+
+    public StatementExportService(
+            JdbcTemplate jdbcTemplate,
+            ShardRouter shardRouter,
+            TransactionArchive transactionArchive,
+            @Value("${account.statement.fetch-size:1000}") int fetchSize,
+            @Value("${account.statement.export-threads:4}") int exportThreads,
+            @Value("${account.statement.export-dir:statements}") String exportDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.transactionArchive = transactionArchive;
+        this.fetchSize = fetchSize;
+        this.exportThreads = exportThreads;
+        this.exportDir = exportDir;
+    }
+
+    public void validateAccount(String accountNumber) {
+        Integer count = ShardContext.call(shardRouter.shardOfAccountNumber(accountNumber),
+                () -> jdbcTemplate.queryForObject(
+                        "select count(*) from account where account_number = ?",
+                        Integer.class, AccountNumbers.toLong(accountNumber)));
+        if (count == null || count == 0) {
+            throw AccountException.of(ACCOUNT_NOT_FOUND);
+        }
+    }
+
+    /**
+     * [from, to) 기간의 거래 내역을 gzip CSV 로 out 에 쓴다. 반환값은 행 수
+     */
+    public long writeStatement(String accountNumber, LocalDateTime from, LocalDateTime to,
+                               OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows;
+        try {
+            writer.write(HEADER);
+            rows = writeArchivedRows(accountNumber, from, to, writer);
+            rows += ShardContext.call(shardRouter.shardOfAccountNumber(accountNumber),
+                    () -> writeRows(accountNumber, from, to, writer));
+            writer.flush();
+            gzip.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows;
+    }
+
+    /**
+     * 전월 거래 내역서를 모든 계좌에 대해 파일로 만든다 (기본은 비활성, cron 으로 켠다).
+     */
+    @Scheduled(cron = "${account.statement.cron:-}")
+    public void exportLastMonth() throws InterruptedException {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        exportAll(lastMonth.atDay(1).atStartOfDay(),
+                lastMonth.plusMonths(1).atDay(1).atStartOfDay(),
+                Paths.get(exportDir, lastMonth.toString()));
+    }
+
+    /**
+     * 모든 샤드의 계좌를 커서로 읽으며 계좌별 파일 내보내기를 고정 크기 풀에 넘긴다.
+     * 풀의 대기열이 차면 커서를 읽는 스레드가 직접 처리해 대기 작업이 쌓이지 않는다.
+     */
+    public int exportAll(LocalDateTime from, LocalDateTime to, Path dir)
+            throws InterruptedException {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                exportThreads, exportThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(exportThreads * 2),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicInteger exported = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                int target = shard;
+                ShardContext.call(shard, () -> {
+                    jdbcTemplate.query(con -> forwardOnly(con.prepareStatement(
+                                    "select account_number from account order by id",
+                                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)),
+                            rs -> {
+                                String accountNumber = rs.getString(1);
+                                executor.execute(() -> ShardContext.call(target, () -> {
+                                    if (exportToFile(accountNumber, from, to, dir)) {
+                                        exported.incrementAndGet();
+                                    } else {
+                                        failed.incrementAndGet();
+                                    }
+                                    return null;
+                                }));
+                            });
+                    return null;
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        log.info("Exported {} statements to {} ({} failed)", exported.get(), dir, failed.get());
+        return exported.get();
+    }
+
+    private boolean exportToFile(String accountNumber, LocalDateTime from, LocalDateTime to,
+                                 Path dir) {
+        Path file = dir.resolve(accountNumber + ".csv.gz");
+        Path temp = dir.resolve(accountNumber + ".csv.gz.tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream out = Channels.newOutputStream(channel)) {
+                writeStatement(accountNumber, from, to, out);
+            }
+            // 다 쓴 파일만 보이도록 마지막에 이름을 바꾼다
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to export statement. accountNumber : {}", accountNumber, e);
+            return false;
+        }
+    }
+
+    private long writeArchivedRows(String accountNumber, LocalDateTime from, LocalDateTime to,
+                                   Writer writer) throws IOException {
+        List<ArchivedTransaction> archived =
+                transactionArchive.findByAccount(accountNumber, from, to);
+        StringBuilder line = new StringBuilder(128);
+        for (ArchivedTransaction transaction : archived) {
+            line.setLength(0);
+            line.append(transaction.getTransactionId()).append(',')
+                    .append(transaction.getTransactedAt()).append(',')
+                    .append(transaction.getTransactionType()).append(',')
+                    .append(transaction.getTransactionResultType()).append(',')
+                    .append(transaction.getAmount()).append(',')
+                    .append(transaction.getBalanceSnapShot()).append(',');
+            if (transaction.getRelatedTransactionId() != null) {
+                line.append(transaction.getRelatedTransactionId());
+            }
+            line.append('\n');
+            writer.append(line);
+        }
+        return archived.size();
+    }
+
+    private long writeRows(String accountNumber, LocalDateTime from, LocalDateTime to,
+                           Writer writer) {
+        long[] rows = {0L};
+        StringBuilder line = new StringBuilder(128);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = forwardOnly(con.prepareStatement(STATEMENT_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+            ps.setLong(1, AccountNumbers.toLong(accountNumber));
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            return ps;
+        }, rs -> {
+            line.setLength(0);
+            line.append(rs.getString(1)).append(',')
+                    .append(rs.getTimestamp(2).toLocalDateTime()).append(',')
+                    .append(rs.getString(3)).append(',')
+                    .append(rs.getString(4)).append(',')
+                    .append(rs.getLong(5)).append(',')
+                    .append(rs.getLong(6)).append(',');
+            String related = rs.getString(7);
+            if (related != null) {
+                line.append(related);
+            }
+            line.append('\n');
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private PreparedStatement forwardOnly(PreparedStatement ps) throws SQLException {
+        ps.setFetchSize(fetchSize);
+        return ps;
+    }
+}
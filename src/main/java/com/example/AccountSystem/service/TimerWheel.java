@@ -0,0 +1,100 @@
+package com.example.AccountSystem.service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이머 휠 (64칸 x 3단)
+ * 등록과 만료 모두 항목당 O(1) 이며, 상위 단의 칸은 하위 단이 한 바퀴 돌 때마다 한 칸씩 아래로 내려온다.
+ * 범위(tick x 64^3)를 넘는 항목은 보관하지 않으므로 만료가 가까워졌을 때 다시 등록해야 한다.
+ * schedule 은 어느 스레드에서나 호출할 수 있고, advance 는 한 스레드에서만 호출한다.
+ */
+public class TimerWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final ArrayDeque<Entry<T>>[][] wheels;
+    private final Queue<Entry<T>> inbox = new ConcurrentLinkedQueue<>();
+
+    // 마지막으로 처리한 tick
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.originMillis = nowMillis;
+        this.wheels = new ArrayDeque[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayDeque<>();
+            }
+        }
+    }
+
+    // 휠이 보관할 수 있는 가장 먼 만료 시각까지의 거리
+    public long getSpanMillis() {
+        return tickMillis << (BITS * LEVELS);
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(0L,
+                (deadlineMillis - originMillis + tickMillis - 1) / tickMillis);
+        inbox.add(new Entry<>(item, deadlineTick));
+    }
+
+    /**
+     * nowMillis 까지 tick 을 진행하며 만료된 항목을 onExpire 로 넘긴다.
+     */
+    public void advance(long nowMillis, Consumer<T> onExpire) {
+        long targetTick = (nowMillis - originMillis) / tickMillis;
+
+        Entry<T> entry;
+        while ((entry = inbox.poll()) != null) {
+            place(entry, onExpire);
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            // 하위 단이 한 바퀴 돌았으면 상위 단의 현재 칸을 아래로 내린다
+            for (int level = 1; level < LEVELS
+                    && (currentTick & ((1L << (BITS * level)) - 1)) == 0; level++) {
+                ArrayDeque<Entry<T>> slot =
+                        wheels[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+                for (int i = slot.size(); i > 0; i--) {
+                    place(slot.poll(), onExpire);
+                }
+            }
+
+            ArrayDeque<Entry<T>> due = wheels[0][(int) (currentTick & MASK)];
+            while ((entry = due.poll()) != null) {
+                onExpire.accept(entry.item);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry, Consumer<T> onExpire) {
+        long delta = entry.deadlineTick - currentTick;
+        if (delta <= 0) {
+            onExpire.accept(entry.item);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (BITS * (level + 1))) {
+                wheels[level][(int) ((entry.deadlineTick >>> (BITS * level)) & MASK)]
+                        .add(entry);
+                return;
+            }
+        }
+        // 범위를 벗어난 항목은 버린다
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
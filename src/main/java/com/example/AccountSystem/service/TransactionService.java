@@ -1,142 +1,587 @@
 package com.example.AccountSystem.service;
 
+import com.example.AccountSystem.aop.ShardKey;
+import com.example.AccountSystem.archive.ArchivedTransaction;
+import com.example.AccountSystem.archive.TransactionArchive;
+import com.example.AccountSystem.aop.ShardRouted;
 import com.example.AccountSystem.domain.Account;
 import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.domain.OutboxEvent;
 import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.dto.FraudActivityEvent;
+import com.example.AccountSystem.dto.BatchTransferBalance;
+import com.example.AccountSystem.dto.ImportRecord;
+import com.example.AccountSystem.dto.ServiceResult;
 import com.example.AccountSystem.dto.TransactionDTO;
 import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.fraud.FraudRuleEngine;
 import com.example.AccountSystem.repository.AccountRepository;
 import com.example.AccountSystem.repository.AccountUserRepository;
+import com.example.AccountSystem.repository.OutboxEventRepository;
 import com.example.AccountSystem.repository.TransactionRepository;
 import com.example.AccountSystem.type.AccountStatus;
+import com.example.AccountSystem.type.ErrorCode;
 import com.example.AccountSystem.type.TransactionResultType;
 import com.example.AccountSystem.type.TransactionType;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.example.AccountSystem.type.ErrorCode.*;
 import static com.example.AccountSystem.type.TransactionResultType.F;
 import static com.example.AccountSystem.type.TransactionResultType.S;
-import static com.example.AccountSystem.type.TransactionType.CANCEL;
-import static com.example.AccountSystem.type.TransactionType.USE;
+import static com.example.AccountSystem.type.AccountStatus.IN_USE;
+import static com.example.AccountSystem.type.ShardKeyType.TRANSACTION_ID;
+import static com.example.AccountSystem.type.TransactionType.*;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository transactionRepository;
+    private final OutboxEventRepository outboxEventRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrimaryReader primaryReader;
+    private final ShardRouter shardRouter;
+    private final SpendingLimitService spendingLimitService;
+    private final FraudRuleEngine fraudRuleEngine;
+    private final TransactionArchive transactionArchive;
+    private final ExistenceFilter existenceFilter;
+    private final AccountNumberIndex accountNumberIndex;
 
+    // 같은 거래의 동시 조회는 DB 조회 한 번의 결과를 함께 받는다
+    private final SingleFlight<String, TransactionDTO> transactionQueries = new SingleFlight<>();
+
+    @Value("${account.single-flight.ttl-millis:0}")
+    private long singleFlightTtlMillis;
+
+    @ShardRouted
     @Transactional
     public TransactionDTO useBalance(
-            Long userId, String accountNumber, Long amount) {
-        AccountUser user = accountUserRepository.findById(userId)
-                .orElseThrow(() -> new AccountException(USER_NOT_FOUND));
+            Long userId, @ShardKey String accountNumber, Long amount) {
+        return tryUseBalance(userId, accountNumber, amount).getOrThrow();
+    }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    /**
+     * useBalance 와 같지만 거절 시 예외 대신 ErrorCode 를 담아 반환한다.
+     */
+    @ShardRouted
+    @Transactional
+    public ServiceResult<TransactionDTO> tryUseBalance(
+            Long userId, @ShardKey String accountNumber, Long amount) {
+        Optional<AccountUser> user = accountUserRepository.findById(userId);
+        if (user.isEmpty()) {
+            return ServiceResult.rejected(USER_NOT_FOUND);
+        }
 
-        validateUseBalance(user, account, amount);
+        Optional<Account> account = findAccount(accountNumber);
+        if (account.isEmpty()) {
+            return ServiceResult.rejected(ACCOUNT_NOT_FOUND);
+        }
 
-        account.useBalance(amount);
+        // 사기 의심 규칙 (메모리 통계만 사용)
+        ErrorCode rejection = fraudRuleEngine.evaluate(userId, accountNumber, amount);
+        if (rejection == null) {
+            rejection = checkUseBalance(user.get(), account.get(), amount);
+        }
+        if (rejection == null) {
+            // 1시간/24시간 사용 한도, 매입 전인 승인 금액도 함께 센다
+            rejection = spendingLimitService.check(
+                    accountNumber, amount + account.get().getHeldBalance());
+        }
+        if (rejection != null) {
+            return ServiceResult.rejected(rejection);
+        }
 
-        return TransactionDTO.fromEntity(
-                saveAndGetTransaction(USE, S, account, amount));
+        account.get().useBalance(amount);
+
+        Transaction transaction = saveAndGetTransaction(USE, S, account.get(), amount);
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account.get()));
+        // 롤백된 사용이 통계에 남지 않도록 커밋 이후 반영
+        eventPublisher.publishEvent(new FraudActivityEvent(userId, accountNumber, amount));
+        eventPublisher.publishEvent(new BalanceUsedEvent(transaction.getId(),
+                accountNumber, amount, transaction.getTransactedAt()));
+
+        return ServiceResult.success(TransactionDTO.fromEntity(transaction));
     }
 
     private void validateUseBalance(AccountUser user, Account account, Long amount) {
+        ErrorCode rejection = checkUseBalance(user, account, amount);
+        if (rejection != null) {
+            throw AccountException.of(rejection);
+        }
+    }
+
+    static ErrorCode checkUseBalance(
+            AccountUser user, Account account, Long amount) {
         // 사용자 아이디와 계좌 소유주가 다른 경우
         if (!Objects.equals(user.getId(), account.getAccountUser().getId())) {
-            throw new AccountException(USER_ACCOUNT_UN_MATCH);
+            return USER_ACCOUNT_UN_MATCH;
         }
 
         // 계좌가 이미 해지된 경우
         if (account.getAccountStatus() != AccountStatus.IN_USE) {
-            throw new AccountException(ACCOUNT_ALREADY_UNREGISTERED);
+            return ACCOUNT_ALREADY_UNREGISTERED;
         }
 
-        // 거래금액이 잔액보다 큰 경우
-        if (account.getBalance() < amount) {
-            throw new AccountException(AMOUNT_EXCEED_BALANCE);
+        // 거래금액이 사용 가능 잔액(승인 금액 제외)보다 큰 경우
+        if (account.getAvailableBalance() < amount) {
+            return AMOUNT_EXCEED_BALANCE;
         }
+        return null;
     }
     /** 사용 실패 */
+    @ShardRouted
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    public void saveFailedUseTransaction(@ShardKey String accountNumber, Long amount) {
+        Account account = findAccount(accountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
 
         saveAndGetTransaction(USE, F, account, amount);
     }
 
+    @ShardRouted
     @Transactional
     public TransactionDTO cancelBalance(
             String transactionId,
-            String accountNumber,
+            @ShardKey String accountNumber,
             Long amount) {
 
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
-                .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
+                .orElseThrow(() -> AccountException.of(
+                        // 보관된 오래된 거래는 취소할 수 없다
+                        transactionArchive.findByTransactionId(transactionId).isPresent()
+                                ? TRANSACTION_NOT_CANCELABLE : TRANSACTION_NOT_FOUND));
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        Account account = findAccount(accountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
 
         validateCancelBalance(transaction, account, amount);
 
+        // 남은 취소 가능 금액을 조건부로 차감 (동시에 들어온 부분 취소가 합쳐서 원거래 금액을 넘지 못한다)
+        if (transactionRepository.decreaseCancellableAmount(
+                transaction.getId(), amount) == 0) {
+            throw AccountException.of(CANCEL_AMOUNT_EXCEED);
+        }
+
         account.cancelBalance(amount);
 
+        eventPublisher.publishEvent(AccountChangedEvent.from(account));
+
         return TransactionDTO.fromEntity(
-                saveAndGetTransaction(CANCEL, S, account, amount)
+                saveAndGetTransaction(CANCEL, S, account, amount,
+                        account.getBalance(), transaction.getTransactionId())
         );
     }
 
     private void validateCancelBalance(
             Transaction transaction, Account account, Long amount) {
-        // 거래금액과 취소금액이 다른 경우
-        if(!Objects.equals(transaction.getAmount(), amount)) {
-            throw new AccountException(CANCEL_MUST_FULLY);
+        ErrorCode rejection = checkCancelBalance(transaction, account, amount);
+        if (rejection != null) {
+            throw AccountException.of(rejection);
         }
+    }
+
+    static ErrorCode checkCancelBalance(
+            Transaction transaction, Account account, Long amount) {
         // 해당 계좌의 거래가 아닌 경우
         if(!Objects.equals(transaction.getAccount().getId(), account.getId())) {
-            throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
+            return TRANSACTION_ACCOUNT_UN_MATCH;
+        }
+        // 성공한 사용 거래만 취소할 수 있다
+        if(transaction.getTransactionType() != USE
+                || transaction.getTransactionResultType() != S
+                || transaction.getCancellableAmount() == null) {
+            return TRANSACTION_NOT_CANCELABLE;
+        }
+        // 이미 전액 취소된 경우
+        if(transaction.getCancellableAmount() == 0) {
+            return TRANSACTION_ALREADY_CANCELED;
+        }
+        // 취소금액이 남은 취소 가능 금액보다 큰 경우
+        if(transaction.getCancellableAmount() < amount) {
+            return CANCEL_AMOUNT_EXCEED;
         }
+        return null;
     }
 
     /** 취소 실패 */
+    @ShardRouted
     @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    public void saveFailedCancelTransaction(@ShardKey String accountNumber, Long amount) {
+        Account account = findAccount(accountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
 
         saveAndGetTransaction(CANCEL, F, account, amount);
     }
 
+    @ShardRouted
+    @Transactional
+    public TransactionDTO transferBalance(
+            Long userId,
+            @ShardKey String fromAccountNumber,
+            String toAccountNumber,
+            Long amount) {
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
+
+        if (Objects.equals(fromAccountNumber, toAccountNumber)) {
+            throw AccountException.of(TRANSFER_SAME_ACCOUNT);
+        }
+        validateSameShard(toAccountNumber);
+
+        Account fromAccount = findAccount(fromAccountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
+        Account toAccount = findAccount(toAccountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
+
+        validateUseBalance(user, fromAccount, amount);
+        validateDebit(userId, fromAccount, amount);
+        validateDepositAccount(toAccount);
+
+        fromAccount.useBalance(amount);
+        toAccount.depositBalance(amount);
+
+        Transaction transferOut = saveAndGetTransaction(
+                TRANSFER_OUT, S, fromAccount, amount);
+        saveAndGetTransaction(TRANSFER_IN, S, toAccount, amount,
+                toAccount.getBalance(), transferOut.getTransactionId());
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(fromAccount));
+        eventPublisher.publishEvent(AccountChangedEvent.from(toAccount));
+        eventPublisher.publishEvent(new FraudActivityEvent(userId, fromAccountNumber, amount));
+        eventPublisher.publishEvent(new BalanceUsedEvent(transferOut.getId(),
+                fromAccountNumber, amount, transferOut.getTransactedAt()));
+
+        TransactionDTO transactionDTO = TransactionDTO.fromEntity(transferOut);
+        transactionDTO.setCounterpartAccountNumber(toAccountNumber);
+        return transactionDTO;
+    }
+
+    /**
+     * 출금 계좌 하나의 락만 잡은 상태에서 여러 계좌로 이체한다.
+     * 입금 계좌는 락 없이 DB 에서 원자적으로 더하고, 전체가 하나의 DB 트랜잭션으로 처리된다.
+     * 그 사이 입금 계좌를 수정한 다른 요청은 @Version 충돌로 실패하며 ACCOUNT_TRANSACTION_LOCK 으로 응답한다.
+     */
+    @ShardRouted
+    @Transactional
+    public List<TransactionDTO> batchTransferBalance(
+            Long userId,
+            @ShardKey String fromAccountNumber,
+            List<BatchTransferBalance.Item> transfers) {
+        AccountUser user = accountUserRepository.findById(userId)
+                .orElseThrow(() -> AccountException.of(USER_NOT_FOUND));
+
+        transfers.forEach(transfer -> validateSameShard(transfer.getToAccountNumber()));
+
+        Account fromAccount = findAccount(fromAccountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
+
+        Map<String, Account> toAccounts = accountRepository
+                .findByAccountNumberIn(transfers.stream()
+                        .map(BatchTransferBalance.Item::getToAccountNumber)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(
+                        Account::getAccountNumber, Function.identity()));
+
+        long totalAmount = 0L;
+        for (BatchTransferBalance.Item transfer : transfers) {
+            if (Objects.equals(fromAccountNumber, transfer.getToAccountNumber())) {
+                throw AccountException.of(TRANSFER_SAME_ACCOUNT);
+            }
+            Account toAccount = toAccounts.get(transfer.getToAccountNumber());
+            if (toAccount == null) {
+                throw AccountException.of(ACCOUNT_NOT_FOUND);
+            }
+            validateDepositAccount(toAccount);
+            totalAmount = Math.addExact(totalAmount, transfer.getAmount());
+        }
+
+        validateUseBalance(user, fromAccount, totalAmount);
+        validateDebit(userId, fromAccount, totalAmount);
+
+        long fromBalance = fromAccount.getBalance();
+        fromAccount.useBalance(totalAmount);
+
+        List<Transaction> transactions = new ArrayList<>(transfers.size() * 2);
+        List<TransactionDTO> transactionDTOs = new ArrayList<>(transfers.size());
+        Map<Account, Long> toBalances = new LinkedHashMap<>();
+        for (BatchTransferBalance.Item transfer : transfers) {
+            Account toAccount = toAccounts.get(transfer.getToAccountNumber());
+            Long amount = transfer.getAmount();
+
+            // 입금 계좌는 락이 없으므로 DB 에서 원자적으로 더하고 결과 잔액을 다시 읽는다
+            if (accountRepository.increaseBalance(
+                    toAccount.getId(), amount, IN_USE) == 0) {
+                throw AccountException.of(ACCOUNT_ALREADY_UNREGISTERED);
+            }
+            Long toBalance = accountRepository.findBalanceById(toAccount.getId());
+
+            fromBalance -= amount;
+            Transaction transferOut = buildTransaction(
+                    TRANSFER_OUT, S, fromAccount, amount, fromBalance, null);
+            Transaction transferIn = buildTransaction(
+                    TRANSFER_IN, S, toAccount, amount, toBalance,
+                    transferOut.getTransactionId());
+            transactions.add(transferOut);
+            transactions.add(transferIn);
+
+            TransactionDTO transactionDTO = TransactionDTO.fromEntity(transferOut);
+            transactionDTO.setCounterpartAccountNumber(toAccount.getAccountNumber());
+            transactionDTOs.add(transactionDTO);
+
+            toBalances.put(toAccount, toBalance);
+        }
+
+        transactionRepository.saveAll(transactions);
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(OutboxEvent::from)
+                .collect(Collectors.toList()));
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(fromAccount));
+        // 출금 계좌 기준으로는 한 번의 출금이다
+        eventPublisher.publishEvent(new FraudActivityEvent(userId, fromAccountNumber, totalAmount));
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionType() == TRANSFER_OUT) {
+                eventPublisher.publishEvent(new BalanceUsedEvent(transaction.getId(),
+                        fromAccountNumber, transaction.getAmount(),
+                        transaction.getTransactedAt()));
+            }
+        }
+        // 입금 계좌 엔티티는 DB 보다 오래된 상태이므로 수정하지 않고 이벤트만 만든다
+        toBalances.forEach((toAccount, toBalance) ->
+                eventPublisher.publishEvent(AccountChangedEvent.builder()
+                        .userId(toAccount.getAccountUser().getId())
+                        .accountNumber(toAccount.getAccountNumber())
+                        .balance(toBalance)
+                        .accountStatus(toAccount.getAccountStatus())
+                        .build()));
+
+        return transactionDTOs;
+    }
+
+    // 이체 출금도 사용과 같은 사기 의심 규칙과 1시간/24시간 사용 한도를 적용한다
+    private void validateDebit(Long userId, Account account, long amount) {
+        ErrorCode rejection = fraudRuleEngine.evaluate(
+                userId, account.getAccountNumber(), amount);
+        if (rejection == null) {
+            rejection = spendingLimitService.check(
+                    account.getAccountNumber(), amount + account.getHeldBalance());
+        }
+        if (rejection != null) {
+            throw AccountException.of(rejection);
+        }
+    }
+
+    private void validateDepositAccount(Account account) {
+        // 입금 계좌가 이미 해지된 경우
+        if (account.getAccountStatus() != AccountStatus.IN_USE) {
+            throw AccountException.of(ACCOUNT_ALREADY_UNREGISTERED);
+        }
+    }
+
+    // 이체는 한 샤드 안의 DB 트랜잭션으로만 처리한다
+    private void validateSameShard(String toAccountNumber) {
+        if (shardRouter.belongsToOtherShard(toAccountNumber)) {
+            throw AccountException.of(TRANSFER_CROSS_SHARD);
+        }
+    }
+
+    /** 이체 실패 */
+    @ShardRouted
+    @Transactional
+    public void saveFailedTransferTransaction(@ShardKey String accountNumber, Long amount) {
+        Account account = findAccount(accountNumber)
+                .orElseThrow(() -> AccountException.of(ACCOUNT_NOT_FOUND));
+
+        saveAndGetTransaction(TRANSFER_OUT, F, account, amount);
+    }
+
+    /**
+     * 정산 파일에서 읽은 한 계좌의 레코드를 순서대로 반영한다.
+     * useBalance/cancelBalance 와 같은 검증을 하되 거절된 레코드는 결과로만 돌려주고,
+     * 성공한 거래는 한 번에 저장한다. 이미 반영된 묶음이면 null 을 반환한다.
+     */
+    @ShardRouted
+    @Transactional
+    public List<ServiceResult<TransactionDTO>> applyImportedRecords(
+            @ShardKey String accountNumber, List<ImportRecord> records) {
+        if (transactionRepository.existsByTransactionIdIn(records.stream()
+                .map(ImportRecord::getTransactionId)
+                .collect(Collectors.toList()))) {
+            return null;
+        }
+
+        List<ServiceResult<TransactionDTO>> results = new ArrayList<>(records.size());
+        Optional<Account> account = findAccount(accountNumber);
+        if (account.isEmpty()) {
+            records.forEach(record -> results.add(ServiceResult.rejected(
+                    record.getTransactionType() == null ? INVALID_REQUEST : ACCOUNT_NOT_FOUND)));
+            return results;
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (ImportRecord record : records) {
+            ErrorCode rejection = applyImportedRecord(account.get(), record);
+            if (rejection != null) {
+                results.add(ServiceResult.rejected(rejection));
+                continue;
+            }
+
+            Transaction transaction = buildTransaction(record.getTransactionType(), S,
+                    account.get(), record.getAmount(), account.get().getBalance(),
+                    record.getOriginalTransactionId());
+            transaction.setTransactionId(record.getTransactionId());
+            transactions.add(transaction);
+            results.add(ServiceResult.success(TransactionDTO.fromEntity(transaction)));
+        }
+        if (transactions.isEmpty()) {
+            return results;
+        }
+
+        transactionRepository.saveAll(transactions);
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(OutboxEvent::from)
+                .collect(Collectors.toList()));
+
+        eventPublisher.publishEvent(AccountChangedEvent.from(account.get()));
+        for (Transaction transaction : transactions) {
+            if (transaction.getTransactionType() == USE) {
+                eventPublisher.publishEvent(new BalanceUsedEvent(transaction.getId(),
+                        accountNumber, transaction.getAmount(),
+                        transaction.getTransactedAt()));
+            }
+        }
+        return results;
+    }
+
+    private ErrorCode applyImportedRecord(Account account, ImportRecord record) {
+        if (record.getTransactionType() == USE) {
+            // 계좌 소유주가 아니면 사용자 존재 여부부터 확인한다 (useBalance 와 같은 순서)
+            AccountUser user = Objects.equals(record.getUserId(), account.getAccountUser().getId())
+                    ? account.getAccountUser()
+                    : accountUserRepository.findById(record.getUserId()).orElse(null);
+            if (user == null) {
+                return USER_NOT_FOUND;
+            }
+            ErrorCode rejection = checkUseBalance(user, account, record.getAmount());
+            if (rejection == null) {
+                account.useBalance(record.getAmount());
+            }
+            return rejection;
+        }
+
+        if (record.getTransactionType() == CANCEL) {
+            Optional<Transaction> original = transactionRepository
+                    .findByTransactionId(record.getOriginalTransactionId());
+            if (original.isEmpty()) {
+                return transactionArchive.findByTransactionId(
+                        record.getOriginalTransactionId()).isPresent()
+                        ? TRANSACTION_NOT_CANCELABLE : TRANSACTION_NOT_FOUND;
+            }
+            ErrorCode rejection = checkCancelBalance(original.get(), account, record.getAmount());
+            if (rejection == null && transactionRepository.decreaseCancellableAmount(
+                    original.get().getId(), record.getAmount()) == 0) {
+                rejection = CANCEL_AMOUNT_EXCEED;
+            }
+            if (rejection == null) {
+                account.cancelBalance(record.getAmount());
+            }
+            return rejection;
+        }
+        return INVALID_REQUEST;
+    }
+
+    // 색인에 있으면 PK 로 찾고, 없으면 계좌번호로 찾아 색인에 넣는다
+    private Optional<Account> findAccount(String accountNumber) {
+        long id = accountNumberIndex.find(accountNumber);
+        if (id != AccountNumberIndex.NOT_FOUND) {
+            return accountRepository.findById(id);
+        }
+        Optional<Account> account = accountRepository.findByAccountNumber(accountNumber);
+        account.ifPresent(found -> accountNumberIndex.put(accountNumber, found.getId()));
+        return account;
+    }
+
     private Transaction saveAndGetTransaction(
             TransactionType transactionType,
             TransactionResultType transactionResultType,
             Account account,
             Long amount) {
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResultType(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapShot(account.getBalance())
-                        .transactionId(UUID.randomUUID()
-                                .toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build());
-    }
-
-    public TransactionDTO queryTransaction(String transactionId) {
-        return TransactionDTO.fromEntity(
-                transactionRepository.findByTransactionId(transactionId)
-                        .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND)));
+        return saveAndGetTransaction(transactionType, transactionResultType,
+                account, amount, account.getBalance(), null);
+    }
+
+    private Transaction saveAndGetTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapShot,
+            String relatedTransactionId) {
+        Transaction transaction = buildTransaction(
+                transactionType, transactionResultType, account, amount,
+                balanceSnapShot, relatedTransactionId);
+        Transaction saved = transactionRepository.save(transaction);
+        if (transactionResultType == S) {
+            // 잔액이 바뀐 거래만 같은 트랜잭션에서 outbox 에 남긴다
+            outboxEventRepository.save(OutboxEvent.from(transaction));
+        }
+        return saved;
+    }
+
+    static Transaction buildTransaction(
+            TransactionType transactionType,
+            TransactionResultType transactionResultType,
+            Account account,
+            Long amount,
+            Long balanceSnapShot,
+            String relatedTransactionId) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResultType(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapShot(balanceSnapShot)
+                .transactionId(ShardRouter.newTransactionId(ShardContext.current()))
+                .transactedAt(LocalDateTime.now())
+                .relatedTransactionId(relatedTransactionId)
+                .cancellableAmount(transactionType == USE
+                        && transactionResultType == S ? amount : null)
+                .build();
+    }
+
+    // 조회는 읽기 전용 복제본에서 하고, 없으면 복제 지연일 수 있으므로 쓰기 DB 에서 한 번 더 찾는다
+    // DB 에 없으면 보관 세그먼트에서 찾는다
+    @ShardRouted
+    @Transactional(readOnly = true)
+    public TransactionDTO queryTransaction(@ShardKey(TRANSACTION_ID) String transactionId) {
+        if (existenceFilter.isTransactionAbsent(transactionId)) {
+            throw AccountException.of(TRANSACTION_NOT_FOUND);
+        }
+        return transactionQueries.execute(transactionId, singleFlightTtlMillis,
+                () -> loadTransaction(transactionId));
+    }
+
+    private TransactionDTO loadTransaction(String transactionId) {
+        return transactionRepository.findByTransactionId(transactionId)
+                .or(() -> primaryReader.readFromPrimary(
+                        () -> transactionRepository.findByTransactionId(transactionId)))
+                .map(TransactionDTO::fromEntity)
+                .or(() -> transactionArchive.findByTransactionId(transactionId)
+                        .map(ArchivedTransaction::toDto))
+                .orElseThrow(() -> AccountException.of(TRANSACTION_NOT_FOUND));
     }
 }
@@ -18,8 +18,21 @@ public enum ErrorCode {
     AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 잔액보다 큽니다."),
     TRANSACTION_NOT_FOUND("거래내역을 찾을 수 없습니다."),
     TRANSACTION_ACCOUNT_UN_MATCH("이 거래는 해당 계좌의 거래가 아닙니다."),
-    CANCEL_MUST_FULLY("거래 금액과 취소 금액이 일치하지 않습니다.(부분 취소 불가능)"),
-    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다.")
+    CANCEL_AMOUNT_EXCEED("취소 금액이 취소 가능한 금액보다 큽니다."),
+    TRANSACTION_NOT_CANCELABLE("취소할 수 없는 거래입니다."),
+    TRANSACTION_ALREADY_CANCELED("이미 전액 취소된 거래입니다."),
+    ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
+    TRANSFER_SAME_ACCOUNT("같은 계좌로 이체할 수 없습니다."),
+    TRANSFER_CROSS_SHARD("다른 샤드에 있는 계좌로는 이체할 수 없습니다."),
+    HOLD_NOT_FOUND("해당 승인 내역이 없습니다."),
+    HOLD_ACCOUNT_UN_MATCH("승인 내역의 계좌가 아닙니다."),
+    HOLD_ALREADY_FINALIZED("이미 매입, 해제 또는 만료된 승인입니다."),
+    HOLD_EXPIRED("만료된 승인입니다."),
+    DAILY_LIMIT_EXCEEDED("24시간 사용 한도를 초과했습니다."),
+    HOURLY_LIMIT_EXCEEDED("1시간 사용 한도를 초과했습니다."),
+    FRAUD_SUSPECTED("이상 거래가 의심되어 사용이 거절되었습니다."),
+    TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    SERVICE_BUSY("처리 중인 요청이 많습니다. 잠시 후 다시 시도해주세요.")
 
     ;
 
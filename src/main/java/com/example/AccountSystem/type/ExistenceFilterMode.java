@@ -0,0 +1,10 @@
+package com.example.AccountSystem.type;
+
+public enum ExistenceFilterMode {
+    // 거르지 않음
+    OFF,
+    // 노드 메모리, 단일 노드용
+    LOCAL,
+    // Redisson RBloomFilter, 여러 노드가 함께 쓴다
+    REDIS
+}
@@ -0,0 +1,5 @@
+package com.example.AccountSystem.type;
+
+public enum HoldStatus {
+    AUTHORIZED, CAPTURED, RELEASED, EXPIRED
+}
@@ -0,0 +1,8 @@
+package com.example.AccountSystem.type;
+
+public enum OutboxSink {
+    // Redis 5 이상의 Stream (XADD)
+    STREAM,
+    // Stream 이 없는 Redis(내장 Redis 포함)용 리스트 (RPUSH)
+    LIST
+}
@@ -0,0 +1,8 @@
+package com.example.AccountSystem.type;
+
+public enum RateLimitMode {
+    // 노드별 토큰 버킷
+    LOCAL,
+    // Redisson RRateLimiter 로 모든 노드가 한도를 공유
+    REDIS
+}
@@ -0,0 +1,5 @@
+package com.example.AccountSystem.type;
+
+public enum ShardKeyType {
+    ACCOUNT_NUMBER, TRANSACTION_ID, USER_ID
+}
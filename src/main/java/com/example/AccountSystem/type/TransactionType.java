@@ -1,5 +1,5 @@
 package com.example.AccountSystem.type;
 
 public enum TransactionType {
-    USE, CANCEL
+    USE, CANCEL, TRANSFER_OUT, TRANSFER_IN
 }
@@ -0,0 +1,148 @@
+package com.example.AccountSystem.archive;
+
+import com.example.AccountSystem.service.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.redisson.api.RedissonClient;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static com.example.AccountSystem.type.TransactionType.TRANSFER_IN;
+import static com.example.AccountSystem.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TransactionArchiverTest {
+    private static final String TX1 = "00aa0000000000000000000000000001";
+    private static final String TX2 = "00bb0000000000000000000000000002";
+    private static final String TX3 = "00cc0000000000000000000000000003";
+    private static final String TX5 = "00dd0000000000000000000000000005";
+    private static final LocalDateTime OLD = LocalDateTime.of(2020, 1, 1, 10, 0, 0, 123456000);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionArchive transactionArchive;
+    private TransactionArchiver transactionArchiver;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT, account_number BIGINT, " +
+                "initial_balance BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT, account_id BIGINT, " +
+                "transaction_id VARCHAR(32), transacted_at TIMESTAMP(6), " +
+                "transaction_type VARCHAR(20), transaction_result_type VARCHAR(1), " +
+                "amount BIGINT, balance_snap_shot BIGINT, related_transaction_id VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO account VALUES " +
+                "(1, '1000000001', 10000), (2, '1000000002', 5000)");
+
+        insert(1, 1, TX1, OLD, "USE", "S", 1000, 9000, null);
+        insert(2, 1, TX2, OLD.plusDays(1), "CANCEL", "S", 500, 9500, TX1);
+        insert(3, 2, TX3, OLD, "USE", "F", 300, 5000, null);
+        insert(4, 1, "legacy", OLD, "USE", "F", 100, 9500, null);
+        insert(5, 1, TX5, LocalDateTime.of(2024, 6, 1, 0, 0), "USE", "S", 200, 9300, null);
+
+        transactionArchive = new TransactionArchive(dir.toString());
+        transactionArchiver = new TransactionArchiver(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), mock(RedissonClient.class),
+                new ShardRouter(1, 128), transactionArchive, 400, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successArchive() {
+        // given
+        // when
+        long archived = transactionArchiver.archive(LocalDateTime.of(2023, 1, 1, 0, 0));
+
+        // then
+        assertEquals(3L, archived);
+        assertEquals(List.of(4L, 5L), jdbcTemplate.queryForList(
+                "select id from transaction order by id", Long.class));
+        // 보관된 성공 거래의 잔액 변화 (-1000 + 500) 를 개설 잔액에 더한다
+        assertEquals(9500L, jdbcTemplate.queryForObject(
+                "select initial_balance from account where id = 1", Long.class));
+        assertEquals(5000L, jdbcTemplate.queryForObject(
+                "select initial_balance from account where id = 2", Long.class));
+
+        ArchivedTransaction first = transactionArchive.findByTransactionId(TX1).orElseThrow();
+        assertEquals("1000000001", first.getAccountNumber());
+        assertEquals(USE, first.getTransactionType());
+        assertEquals(S, first.getTransactionResultType());
+        assertEquals(1000L, first.getAmount());
+        assertEquals(9000L, first.getBalanceSnapShot());
+        assertEquals(OLD, first.getTransactedAt());
+        assertNull(first.getRelatedTransactionId());
+        assertEquals(TX1, transactionArchive.findByTransactionId(TX2)
+                .orElseThrow().getRelatedTransactionId());
+        assertTrue(transactionArchive.findByTransactionId(TX5).isEmpty());
+
+        assertEquals(List.of(TX1, TX2), transactionArchive.findByAccount("1000000001",
+                        OLD.minusDays(1), OLD.plusDays(2)).stream()
+                .map(ArchivedTransaction::getTransactionId)
+                .toList());
+    }
+
+    @Test
+    void successWriteSegment_WideValues() throws Exception {
+        // given
+        List<ArchivedTransaction> rows = List.of(
+                row("2000000000", TX2, 1L, OLD.plusYears(3)),
+                row("1000000001", TX1, 10_000_000_000L, OLD));
+
+        // when
+        ArchiveSegment segment = ArchiveSegment.open(ArchiveSegment.write(dir, "0-1-2", rows));
+
+        // then
+        assertEquals(2, segment.getRowCount());
+        ArchivedTransaction wide = segment.find(TX1);
+        assertEquals("1000000001", wide.getAccountNumber());
+        assertEquals(10_000_000_000L, wide.getAmount());
+        assertEquals(OLD, wide.getTransactedAt());
+        ArchivedTransaction narrow = segment.find(TX2);
+        assertEquals("2000000000", narrow.getAccountNumber());
+        assertEquals(1L, narrow.getAmount());
+        assertNull(segment.find(TX3));
+        assertNull(segment.find("not-a-transaction-id"));
+    }
+
+    private ArchivedTransaction row(String accountNumber, String transactionId,
+                                    long amount, LocalDateTime transactedAt) {
+        return ArchivedTransaction.builder()
+                .accountNumber(accountNumber)
+                .transactionType(TRANSFER_IN)
+                .transactionResultType(S)
+                .amount(amount)
+                .balanceSnapShot(amount)
+                .transactionId(transactionId)
+                .transactedAt(transactedAt)
+                .build();
+    }
+
+    private void insert(long id, long accountId, String transactionId,
+                        LocalDateTime transactedAt, String type, String result,
+                        long amount, long snapShot, String related) {
+        jdbcTemplate.update("INSERT INTO transaction VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, transactionId, Timestamp.valueOf(transactedAt), type, result,
+                amount, snapShot, related);
+    }
+}
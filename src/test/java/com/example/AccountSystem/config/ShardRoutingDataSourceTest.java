@@ -0,0 +1,72 @@
+package com.example.AccountSystem.config;
+
+import com.example.AccountSystem.service.ShardContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 샤드 3개를 각각 별도의 내장 H2 로 띄워 라우팅을 확인한다.
+ */
+class ShardRoutingDataSourceTest {
+    private static final int SHARD_COUNT = 3;
+
+    private final JdbcTemplate[] shards = new JdbcTemplate[SHARD_COUNT];
+    private JdbcTemplate routed;
+
+    @BeforeEach
+    void setUp() {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:shard" + shard + ";DB_CLOSE_DELAY=-1", "sa", "");
+            targets.put(shard, dataSource);
+            shards[shard] = new JdbcTemplate(dataSource);
+            shards[shard].execute("CREATE TABLE account (account_number VARCHAR(10))");
+        }
+
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setLenientFallback(false);
+        dataSource.afterPropertiesSet();
+        routed = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (JdbcTemplate shard : shards) {
+            shard.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @Test
+    void routeByShardContext() {
+        // given
+        // when
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            int target = shard;
+            ShardContext.call(shard, () -> routed.update(
+                    "INSERT INTO account VALUES (?)", "111111111" + target));
+        }
+        routed.update("INSERT INTO account VALUES (?)", "9999999999");
+
+        // then
+        assertEquals(List.of("1111111110", "9999999999"), accountNumbers(0));
+        assertEquals(List.of("1111111111"), accountNumbers(1));
+        assertEquals(List.of("1111111112"), accountNumbers(2));
+    }
+
+    private List<String> accountNumbers(int shard) {
+        return shards[shard].queryForList(
+                "SELECT account_number FROM account ORDER BY account_number",
+                String.class);
+    }
+}
@@ -1,29 +1,42 @@
 package com.example.AccountSystem.controller;
 
 import com.example.AccountSystem.dto.AccountDTO;
+import com.example.AccountSystem.dto.BulkCreateAccount;
 import com.example.AccountSystem.dto.CreateAccount;
 import com.example.AccountSystem.dto.DeleteAccount;
+import com.example.AccountSystem.dto.ServiceResult;
 import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.AccountProvisioningService;
 import com.example.AccountSystem.service.AccountService;
+import com.example.AccountSystem.service.AccountStreamService;
+import com.example.AccountSystem.service.RateLimiter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
 import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.AccountSystem.type.ErrorCode.MAX_ACCOUNT_PER_USER_10;
+import static com.example.AccountSystem.type.ErrorCode.TOO_MANY_REQUESTS;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AccountController.class)
@@ -31,6 +44,15 @@ class AccountControllerTest {
     @MockitoBean
     private AccountService accountService;
 
+    @MockitoBean
+    private AccountProvisioningService accountProvisioningService;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    @MockitoBean
+    private AccountStreamService accountStreamService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -61,6 +83,55 @@ class AccountControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void successCreateAccounts() throws Exception {
+        // given
+        given(accountProvisioningService.createAccounts(anyList()))
+                .willReturn(List.of(
+                        ServiceResult.success(AccountDTO.builder()
+                                .userId(1L)
+                                .accountNumber("1234567890")
+                                .registeredAt(LocalDateTime.now())
+                                .build()),
+                        ServiceResult.rejected(MAX_ACCOUNT_PER_USER_10)));
+        // when
+        // then
+        mockMvc.perform(post("/account/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new BulkCreateAccount.Request(List.of(
+                                new CreateAccount.Request(1L, 5000L),
+                                new CreateAccount.Request(2L, 0L)))
+                )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.results[1].userId").value(2))
+                .andExpect(jsonPath("$.results[1].errorCode").value("MAX_ACCOUNT_PER_USER_10"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("요청 제한 초과 - 계좌 생성 실패")
+    void failedCreateAccount_tooManyRequests() throws Exception {
+        // given
+        given(rateLimiter.isLimited(anyString(), anyString()))
+                .willReturn(true);
+        // when
+        // then
+        mockMvc.perform(post("/account")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new CreateAccount.Request(1111L, 5000L)
+                )))
+                .andDo(print())
+                .andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"))
+                .andExpect(jsonPath("$.errorMessage")
+                        .value(TOO_MANY_REQUESTS.getDescription()));
+
+        verify(accountService, never()).createAccount(anyLong(), anyLong());
+    }
+
     @Test
     void successDeleteAccount() throws Exception {
         // given
@@ -115,6 +186,34 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$[2].balance").value(3000L));
     }
 
+    @Test
+    @DisplayName("요청 제한 초과 - 계좌 조회 실패")
+    void failedGetAccountByUserId_tooManyRequests() throws Exception {
+        // given
+        given(rateLimiter.isLimited("getAccountByUserId", "U1"))
+                .willReturn(true);
+        // when
+        // then
+        mockMvc.perform(get("/account?user_id=1"))
+                .andDo(print())
+                .andExpect(jsonPath("$.errorCode").value("TOO_MANY_REQUESTS"));
+
+        verify(accountService, never()).getAccountByUserId(anyLong());
+    }
+
+    @Test
+    void successStreamAccounts() throws Exception {
+        // given
+        given(accountStreamService.subscribe(anyLong()))
+                .willReturn(new SseEmitter());
+        // when
+        // then
+        mockMvc.perform(get("/account/stream?user_id=1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     void failedGetAccountByUserId() throws Exception {
         // given
@@ -0,0 +1,111 @@
+package com.example.AccountSystem.controller;
+
+import com.example.AccountSystem.dto.AuthorizeBalance;
+import com.example.AccountSystem.dto.CaptureHold;
+import com.example.AccountSystem.dto.HoldDTO;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.pipeline.TransactionPipelineFactory;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.ExistenceFilter;
+import com.example.AccountSystem.service.HoldService;
+import com.example.AccountSystem.service.IdempotencyStore;
+import com.example.AccountSystem.service.LockService;
+import com.example.AccountSystem.service.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.example.AccountSystem.type.HoldStatus.AUTHORIZED;
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(HoldController.class)
+@Import({TransactionPipelineFactory.class, AccountLockCombiner.class})
+class HoldControllerTest {
+    @MockitoBean
+    private HoldService holdService;
+
+    @MockitoBean
+    private LockService lockService;
+
+    @MockitoBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockitoBean
+    private ExistenceFilter existenceFilter;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void successAuthorize() throws Exception {
+        // given
+        given(holdService.authorize(anyLong(), anyString(), anyLong(), isNull()))
+                .willReturn(HoldDTO.builder()
+                        .accountNumber("1234567890")
+                        .holdId("holdId")
+                        .amount(1000L)
+                        .holdStatus(AUTHORIZED)
+                        .expiresAt(LocalDateTime.now().plusDays(7))
+                        .build());
+        // when
+        // then
+        mockMvc.perform(post("/transaction/authorize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new AuthorizeBalance.Request(1L,
+                                        "1234567890", 1000L, null)
+                        )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.holdId").value("holdId"))
+                .andExpect(jsonPath("$.holdStatus").value("AUTHORIZED"))
+                .andExpect(jsonPath("$.amount").value(1000))
+                .andDo(print());
+    }
+
+    @Test
+    void successCapture() throws Exception {
+        // given
+        given(holdService.capture(anyString(), anyString()))
+                .willReturn(TransactionDTO.builder()
+                        .accountNumber("1234567890")
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        // when
+        // then
+        mockMvc.perform(post("/transaction/capture")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CaptureHold.Request("holdId", "1234567890")
+                        )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.holdId").value("holdId"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"))
+                .andDo(print());
+    }
+}
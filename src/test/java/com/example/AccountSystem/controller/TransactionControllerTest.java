@@ -2,12 +2,20 @@ package com.example.AccountSystem.controller;
 
 import com.example.AccountSystem.dto.CancelBalance;
 import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.dto.TransferBalance;
 import com.example.AccountSystem.dto.UseBalance;
+import com.example.AccountSystem.pipeline.TransactionPipelineFactory;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.ExistenceFilter;
+import com.example.AccountSystem.service.IdempotencyStore;
+import com.example.AccountSystem.service.LockService;
+import com.example.AccountSystem.service.RateLimiter;
 import com.example.AccountSystem.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,10 +34,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TransactionController.class)
+@Import({TransactionPipelineFactory.class, AccountLockCombiner.class})
 class TransactionControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private LockService lockService;
+
+    @MockitoBean
+    private IdempotencyStore idempotencyStore;
+
+    @MockitoBean
+    private ExistenceFilter existenceFilter;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -112,4 +133,34 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.amount").value(1000))
                 .andExpect(jsonPath("$.transactionId").value("transactionId"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void successTransferBalance() throws Exception {
+        // given
+        given(transactionService.transferBalance(
+                anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(TransactionDTO.builder()
+                        .accountNumber("1111111111")
+                        .counterpartAccountNumber("2222222222")
+                        .transactionResultType(S)
+                        .transactionId("transactionId")
+                        .amount(1000L)
+                        .transactedAt(LocalDateTime.now())
+                        .build());
+        // when
+        // then
+        mockMvc.perform(post("/transaction/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new TransferBalance.Request(1L,
+                                        "1111111111", "2222222222", 1000L)
+                        )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fromAccountNumber").value("1111111111"))
+                .andExpect(jsonPath("$.toAccountNumber").value("2222222222"))
+                .andExpect(jsonPath("$.transactionResult").value("S"))
+                .andExpect(jsonPath("$.transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.amount").value(1000))
+                .andDo(print());
+    }
+}
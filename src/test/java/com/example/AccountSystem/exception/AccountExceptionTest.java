@@ -0,0 +1,53 @@
+package com.example.AccountSystem.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.AccountSystem.type.ErrorCode.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountExceptionTest {
+
+    @Test
+    void cachedPerErrorCode() {
+        // given
+        // when
+        AccountException first = AccountException.of(AMOUNT_EXCEED_BALANCE);
+        AccountException second = AccountException.of(AMOUNT_EXCEED_BALANCE);
+
+        // then
+        assertSame(first, second);
+        assertNotSame(first, AccountException.of(USER_NOT_FOUND));
+        assertEquals(AMOUNT_EXCEED_BALANCE.getDescription(), first.getMessage());
+    }
+
+    @Test
+    void noStackTrace() {
+        // given
+        AccountException exception = AccountException.of(ACCOUNT_TRANSACTION_LOCK);
+
+        // when
+        exception.addSuppressed(new IllegalStateException());
+
+        // then
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @Test
+    void logWindowSuppressesBurst() {
+        // given
+        GlobalExceptionHandler.LogWindow window = new GlobalExceptionHandler.LogWindow();
+
+        // when
+        long first = window.tryAcquire(2);
+        long second = window.tryAcquire(2);
+        long third = window.tryAcquire(2);
+        long fourth = window.tryAcquire(2);
+
+        // then
+        assertEquals(0L, first);
+        assertEquals(0L, second);
+        assertEquals(-1L, third);
+        assertEquals(-1L, fourth);
+    }
+}
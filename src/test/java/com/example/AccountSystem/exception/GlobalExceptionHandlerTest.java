@@ -0,0 +1,30 @@
+package com.example.AccountSystem.exception;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.dto.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+    private final GlobalExceptionHandler globalExceptionHandler =
+            new GlobalExceptionHandler(10);
+
+    @Test
+    void optimisticLockingFailureIsLockConflict() {
+        // given
+        // 일괄 이체가 락 없이 입금한 계좌를 같은 때 사용한 경우
+        ObjectOptimisticLockingFailureException exception =
+                new ObjectOptimisticLockingFailureException(Account.class, 1L);
+
+        // when
+        ErrorResponse response =
+                globalExceptionHandler.handleOptimisticLockingFailure(exception);
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, response.getErrorCode());
+        assertEquals(ACCOUNT_TRANSACTION_LOCK.getDescription(), response.getErrorMessage());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.AccountSystem.fraud;
+
+import com.example.AccountSystem.config.FraudProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.example.AccountSystem.type.ErrorCode.FRAUD_SUSPECTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class FraudRuleEngineTest {
+    private FraudProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FraudProperties();
+        properties.getRules().put("debit-velocity", new FraudRuleSettings(true, 3, 60));
+        properties.getRules().put("amount-spike", new FraudRuleSettings(true, 10, 60));
+        properties.getRules().put("distinct-accounts", new FraudRuleSettings(true, 2, 60));
+        properties.setBudgetMicros(10_000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void successEvaluate() {
+        // given
+        FraudRuleEngine engine = engine(List.of(
+                new DebitVelocityRule(), new AmountSpikeRule(), new DistinctAccountsRule()));
+        engine.record(1L, "1234567890", 1000L);
+        engine.record(1L, "1234567890", 1000L);
+
+        // when
+        // then
+        assertNull(engine.evaluate(1L, "1234567890", 1000L));
+        assertEquals(3L, meterRegistry.get("account.fraud.rule.latency").timers().size());
+    }
+
+    @Test
+    @DisplayName("짧은 시간 내 사용 횟수 초과 - 사기 의심")
+    void evaluateFailed_debitVelocity() {
+        // given
+        FraudRuleEngine engine = engine(List.of(new DebitVelocityRule()));
+        for (int i = 0; i < 3; i++) {
+            engine.record(1L, "1234567890", 1000L);
+        }
+
+        // when
+        // then
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1234567890", 1000L));
+        assertNull(engine.evaluate(1L, "1111111111", 1000L));
+    }
+
+    @Test
+    @DisplayName("평균 대비 큰 금액 - 사기 의심")
+    void evaluateFailed_amountSpike() {
+        // given
+        FraudRuleEngine engine = engine(List.of(new AmountSpikeRule()));
+        for (int i = 0; i < 5; i++) {
+            engine.record(1L, "1234567890", 1000L);
+        }
+
+        // when
+        // then
+        assertNull(engine.evaluate(1L, "1234567890", 10_000L));
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1234567890", 10_001L));
+    }
+
+    @Test
+    @DisplayName("한 사용자가 여러 계좌에서 사용 - 사기 의심")
+    void evaluateFailed_distinctAccounts() {
+        // given
+        FraudRuleEngine engine = engine(List.of(new DistinctAccountsRule()));
+        engine.record(1L, "1000000001", 1000L);
+        engine.record(1L, "1000000002", 1000L);
+
+        // when
+        // then
+        assertNull(engine.evaluate(1L, "1000000001", 1000L));
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1000000003", 1000L));
+    }
+
+    @Test
+    @DisplayName("설정 변경 반영 - 규칙 비활성화")
+    void applyOverrides() {
+        // given
+        FraudRuleEngine engine = engine(List.of(new DebitVelocityRule()));
+        for (int i = 0; i < 3; i++) {
+            engine.record(1L, "1234567890", 1000L);
+        }
+
+        // when
+        engine.apply(Map.of("debit-velocity", "enabled=false"));
+
+        // then
+        assertNull(engine.evaluate(1L, "1234567890", 1000L));
+    }
+
+    @Test
+    @DisplayName("잘못된 설정 변경 값 - 해당 규칙만 기본 설정 유지")
+    void skipInvalidOverride() {
+        // given
+        FraudRuleEngine engine = engine(List.of(
+                new DebitVelocityRule(), new DistinctAccountsRule()));
+        for (int i = 0; i < 3; i++) {
+            engine.record(1L, "1234567890", 1000L);
+        }
+
+        // when
+        engine.apply(Map.of(
+                "debit-velocity", "threshold=abc",
+                "distinct-accounts", "threshold=17"));
+
+        // then
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1234567890", 1000L));
+    }
+
+    @Test
+    @DisplayName("통계 범위를 넘는 기본 threshold - 시작 실패")
+    void rejectThresholdOverCapacity() {
+        // given
+        properties.getRules().put("debit-velocity", new FraudRuleSettings(true, 33, 60));
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class,
+                () -> engine(List.of(new DebitVelocityRule())));
+    }
+
+    @Test
+    @DisplayName("평가 시간 예산 연속 초과 - 규칙 건너뜀")
+    void skipRuleOverBudget() {
+        // given
+        properties.setBudgetMicros(0);
+        properties.setMaxOverBudget(2);
+        FraudRule slowRule = new FraudRule() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public boolean isSuspicious(UseAttempt attempt, FraudRuleSettings settings) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        FraudRuleEngine engine = engine(List.of(slowRule));
+
+        // when
+        // then
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1234567890", 1000L));
+        assertEquals(FRAUD_SUSPECTED, engine.evaluate(1L, "1234567890", 1000L));
+        assertNull(engine.evaluate(1L, "1234567890", 1000L));
+        assertEquals(2.0, meterRegistry.get("account.fraud.rule.over-budget")
+                .counter().count());
+    }
+
+    private FraudRuleEngine engine(List<FraudRule> rules) {
+        return new FraudRuleEngine(rules, properties,
+                mock(RedissonClient.class), Optional.of(meterRegistry));
+    }
+}
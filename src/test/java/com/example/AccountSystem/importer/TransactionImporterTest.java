@@ -0,0 +1,167 @@
+package com.example.AccountSystem.importer;
+
+import com.example.AccountSystem.dto.ImportRecord;
+import com.example.AccountSystem.dto.ImportResult;
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.LockService;
+import com.example.AccountSystem.service.ShardRouter;
+import com.example.AccountSystem.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.AccountSystem.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.AccountSystem.type.TransactionType.CANCEL;
+import static com.example.AccountSystem.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionImporterTest {
+    private static final String ORIGINAL = "00aa0000000000000000000000000001";
+
+    @Mock
+    private TransactionService transactionService;
+    @Mock
+    private LockService lockService;
+    @Mock
+    private RedissonClient redissonClient;
+
+    @TempDir
+    Path dir;
+
+    private TransactionImporter transactionImporter;
+
+    // 계좌별로 넘겨받은 레코드
+    private final Map<String, List<ImportRecord>> applied = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionImporter = new TransactionImporter(transactionService,
+                new AccountLockCombiner(lockService, 50, 5000L), redissonClient,
+                new ShardRouter(1, 128), 2, 2, dir.resolve("inbox").toString(),
+                dir.resolve("result").toString());
+    }
+
+    @Test
+    void successImportFile() throws Exception {
+        // given
+        Path file = write("""
+                # settlement 2024-03-01
+                D,1,1000000001,1000
+                D,2,2000000002,500
+                R,%s,1000000001,300
+                D,1,1000000001,99999
+                X,broken
+                """.formatted(ORIGINAL));
+        given(transactionService.applyImportedRecords(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    List<ImportRecord> records = invocation.getArgument(1);
+                    applied.computeIfAbsent(invocation.getArgument(0),
+                            k -> new ArrayList<>()).addAll(records);
+                    return records.stream()
+                            .map(record -> record.getAmount() > 10000
+                                    ? ServiceResult.<TransactionDTO>rejected(AMOUNT_EXCEED_BALANCE)
+                                    : ServiceResult.success(TransactionDTO.builder()
+                                    .transactionId(record.getTransactionId())
+                                    .build()))
+                            .toList();
+                });
+
+        // when
+        ImportResult result = transactionImporter.importFile(file);
+
+        // then
+        assertEquals(5, result.getRecords());
+        assertEquals(3L, result.getApplied());
+        assertEquals(2L, result.getRejected());
+        assertTrue(result.isComplete());
+
+        // 같은 계좌의 레코드는 파일 순서대로, 계좌 락 안에서 반영된다
+        List<ImportRecord> first = applied.get("1000000001");
+        assertEquals(List.of(1, 3, 4), first.stream().map(ImportRecord::getRecordNo).toList());
+        assertEquals(USE, first.get(0).getTransactionType());
+        assertEquals(1L, first.get(0).getUserId());
+        assertEquals(CANCEL, first.get(1).getTransactionType());
+        assertEquals(ORIGINAL, first.get(1).getOriginalTransactionId());
+        assertEquals(300L, first.get(1).getAmount());
+        assertNull(applied.get("2000000002").get(0).getOriginalTransactionId());
+
+        List<String> lines = Files.readAllLines(
+                dir.resolve("result").resolve(result.getImportId() + ".result.csv"),
+                StandardCharsets.UTF_8);
+        assertEquals(5, lines.size());
+        assertTrue(lines.contains("5,,INVALID_REQUEST,"));
+        assertTrue(lines.contains("4,1000000001,AMOUNT_EXCEED_BALANCE,"));
+        assertTrue(lines.contains("1,1000000001,S," + first.get(0).getTransactionId()));
+    }
+
+    @Test
+    void successImportFile_ResumeFromCheckpoint() throws Exception {
+        // given
+        Path file = write("D,1,1000000001,1000\nD,1,1000000001,2000\nD,1,1000000001,3000\n");
+        given(transactionService.applyImportedRecords(anyString(), anyList()))
+                .willAnswer(invocation -> {
+                    List<ImportRecord> records = invocation.getArgument(1);
+                    return records.stream()
+                            .map(record -> ServiceResult.success(TransactionDTO.builder()
+                                    .transactionId(record.getTransactionId())
+                                    .build()))
+                            .toList();
+                });
+        ImportResult first = transactionImporter.importFile(file);
+
+        // when
+        ImportResult second = transactionImporter.importFile(file);
+
+        // then
+        assertEquals(3L, first.getApplied());
+        assertEquals(first.getImportId(), second.getImportId());
+        assertEquals(0L, second.getApplied());
+        assertEquals(3L, second.getSkipped());
+    }
+
+    @Test
+    void successImportFile_AlreadyApplied() throws Exception {
+        // given
+        Path file = write("D,1,1000000001,1000\n");
+        given(transactionService.applyImportedRecords(anyString(), anyList()))
+                .willReturn(null);
+
+        // when
+        ImportResult result = transactionImporter.importFile(file);
+
+        // then
+        // 거래 아이디는 파일 내용과 레코드 번호로 정해진다
+        String transactionId = ShardRouter.newTransactionId(0, result.getImportId() + ":1");
+        assertEquals(1L, result.getSkipped());
+        assertEquals(0L, result.getApplied());
+        assertEquals(List.of("1,1000000001,ALREADY_APPLIED," + transactionId), Files.readAllLines(
+                dir.resolve("result").resolve(result.getImportId() + ".result.csv"),
+                StandardCharsets.UTF_8));
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = dir.resolve("settlement.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
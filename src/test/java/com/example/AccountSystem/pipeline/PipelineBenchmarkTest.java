@@ -0,0 +1,109 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.aop.AccountLockIdInterface;
+import com.example.AccountSystem.dto.UseBalance;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.LockPolicy;
+import com.example.AccountSystem.service.LockService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 기존 @Around 애스펙트 방식과 파이프라인 방식의 요청당 오버헤드 비교 (./gradlew benchmark 로 실행)
+ * 두 방식 모두 같은 AccountLockCombiner 를 거치며, 락 자체는 비용이 없는 mock 이다.
+ */
+@Tag("benchmark")
+class PipelineBenchmarkTest {
+    private static final int ITERATIONS = 500_000;
+
+    private final LockService lockService =
+            mock(LockService.class, withSettings().stubOnly());
+    private final AccountLockCombiner accountLockCombiner =
+            new AccountLockCombiner(lockService, 50, 5000L);
+
+    @Test
+    void compareWithAspect() throws Exception {
+        LockedEndpoint endpoint = aspectProxy();
+        Handler<UseBalance.Request, String> pipeline = Pipeline.<UseBalance.Request, String>builder()
+                .then(LockStage.singleAccount(accountLockCombiner, LockPolicy.DEFAULT,
+                        UseBalance.Request::getAccountNumber))
+                .then(FailureRecordingStage.recordFailure(request -> { }))
+                .build(request -> request.getAccountNumber());
+        UseBalance.Request request = new UseBalance.Request(1L, "1234567890", 1000L);
+
+        for (int round = 0; round < 3; round++) {
+            long aspect = measure(() -> endpoint.handle(request));
+            long compiled = measure(() -> pipeline.handle(request));
+            System.out.printf("round %d  aspect %,6d ns/op  pipeline %,6d ns/op%n",
+                    round, aspect, compiled);
+        }
+    }
+
+    private static long measure(Call call) throws Exception {
+        int sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += call.run().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 0) {
+            throw new IllegalStateException();
+        }
+        return elapsed / ITERATIONS;
+    }
+
+    private LockedEndpoint aspectProxy() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new LockedEndpoint());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LegacyLockAspect(accountLockCombiner));
+        return factory.getProxy();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        String run() throws Exception;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface Locked {
+    }
+
+    public static class LockedEndpoint {
+        @Locked
+        public String handle(UseBalance.Request request) {
+            return request.getAccountNumber();
+        }
+    }
+
+    // 파이프라인 도입 전 LockAopAspect 와 같은 방식의 바인딩
+    @Aspect
+    static class LegacyLockAspect {
+        private final AccountLockCombiner accountLockCombiner;
+
+        LegacyLockAspect(AccountLockCombiner accountLockCombiner) {
+            this.accountLockCombiner = accountLockCombiner;
+        }
+
+        @Around("@annotation(locked) && args(request)")
+        public Object around(
+                ProceedingJoinPoint pjp,
+                Locked locked,
+                AccountLockIdInterface request) throws Throwable {
+            return accountLockCombiner.execute(
+                    request.getAccountNumber(), LockPolicy.DEFAULT, pjp::proceed);
+        }
+    }
+}
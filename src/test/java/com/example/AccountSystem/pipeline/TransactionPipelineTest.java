@@ -0,0 +1,356 @@
+package com.example.AccountSystem.pipeline;
+
+import com.example.AccountSystem.config.LockPolicyProperties;
+import com.example.AccountSystem.controller.TransactionController;
+import com.example.AccountSystem.dto.BatchTransferBalance;
+import com.example.AccountSystem.dto.CancelBalance;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.dto.TransferBalance;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.service.AccountLockCombiner;
+import com.example.AccountSystem.service.ExistenceFilter;
+import com.example.AccountSystem.service.IdempotencyStore;
+import com.example.AccountSystem.service.LockPolicy;
+import com.example.AccountSystem.service.LockService;
+import com.example.AccountSystem.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.AccountSystem.type.ErrorCode.TRANSACTION_NOT_FOUND;
+import static com.example.AccountSystem.type.TransactionResultType.S;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPipelineTest {
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private ExistenceFilter existenceFilter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockPolicyProperties lockPolicyProperties;
+    private TransactionController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockPolicyProperties = new LockPolicyProperties();
+        controller = new TransactionController(transactionService,
+                new TransactionPipelineFactory(
+                        new AccountLockCombiner(lockService, 64, 5000L),
+                        lockService, idempotencyStore, existenceFilter,
+                        lockPolicyProperties, Optional.of(meterRegistry)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void lockAndUnlock() throws Exception {
+        // given
+        givenCancelSucceeds();
+
+        // when
+        controller.cancelBalance(cancelRequest("1234567890"));
+
+        // then
+        verify(lockService, times(1)).lock(eq("1234567890"), eq(LockPolicy.DEFAULT), anyLong());
+        verify(lockService, times(1)).unlock(eq("1234567890"), eq(LockPolicy.DEFAULT), anyLong());
+    }
+
+    @Test
+    void lockAndUnlock_evenIfThrow_andRecordFailure() {
+        // given
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willThrow(AccountException.of(TRANSACTION_NOT_FOUND));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> controller.cancelBalance(cancelRequest("1234567890")));
+
+        // then
+        assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verify(lockService, times(1)).lock(eq("1234567890"), any(), anyLong());
+        verify(lockService, times(1)).unlock(eq("1234567890"), any(), anyLong());
+        verify(transactionService, times(1))
+                .saveFailedCancelTransaction("1234567890", 1000L);
+    }
+
+    @Test
+    void absentAccountIsRejectedBeforeLock() {
+        // given
+        given(existenceFilter.isAccountAbsent("1234567890"))
+                .willReturn(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> controller.cancelBalance(cancelRequest("1234567890")));
+
+        // then
+        assertEquals(ACCOUNT_NOT_FOUND, exception.getErrorCode());
+        verifyNoInteractions(lockService);
+        verify(transactionService, never())
+                .saveFailedCancelTransaction(anyString(), anyLong());
+    }
+
+    @Test
+    void absentTransactionIsRejectedBeforeLock() {
+        // given
+        given(existenceFilter.isTransactionAbsent("transactionId"))
+                .willReturn(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> controller.cancelBalance(cancelRequest("1234567890")));
+
+        // then
+        assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verifyNoInteractions(lockService);
+    }
+
+    @Test
+    void requestTimeoutShortensLockWait() throws Exception {
+        // given
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(LockStage.REQUEST_TIMEOUT_HEADER, "300");
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(httpRequest));
+        ArgumentCaptor<LockPolicy> policyCaptor =
+                ArgumentCaptor.forClass(LockPolicy.class);
+        givenCancelSucceeds();
+
+        // when
+        controller.cancelBalance(cancelRequest("1234567890"));
+
+        // then
+        verify(lockService).lock(eq("1234567890"), policyCaptor.capture(), anyLong());
+        assertEquals(300L, policyCaptor.getValue().getWaitMillis());
+    }
+
+    @Test
+    void batchTransferUsesWatchdogLease() throws Exception {
+        // given
+        ArgumentCaptor<LockPolicy> policyCaptor =
+                ArgumentCaptor.forClass(LockPolicy.class);
+        given(transactionService.batchTransferBalance(anyLong(), anyString(), anyList()))
+                .willReturn(List.of());
+
+        // when
+        controller.batchTransferBalance(new BatchTransferBalance.Request(
+                1L, "1234567890",
+                List.of(new BatchTransferBalance.Item("2222222222", 1000L))));
+
+        // then
+        verify(lockService).lock(eq("1234567890"), policyCaptor.capture(), anyLong());
+        assertEquals(-1L, policyCaptor.getValue().getLeaseMillis());
+    }
+
+    @Test
+    void endpointLockPolicyOverridesDeclaredPolicy() throws Exception {
+        // given
+        LockPolicyProperties.Policy cancelPolicy = new LockPolicyProperties.Policy();
+        cancelPolicy.setFair(true);
+        cancelPolicy.setLeaseMillis(20000L);
+        lockPolicyProperties.getEndpoints().put("cancel", cancelPolicy);
+        controller = new TransactionController(transactionService,
+                new TransactionPipelineFactory(
+                        new AccountLockCombiner(lockService, 64, 5000L),
+                        lockService, idempotencyStore, existenceFilter,
+                        lockPolicyProperties, Optional.of(meterRegistry)));
+        ArgumentCaptor<LockPolicy> policyCaptor =
+                ArgumentCaptor.forClass(LockPolicy.class);
+        givenCancelSucceeds();
+
+        // when
+        controller.cancelBalance(cancelRequest("1234567890"));
+
+        // then
+        verify(lockService).lock(eq("1234567890"), policyCaptor.capture(), anyLong());
+        assertTrue(policyCaptor.getValue().isFair());
+        assertEquals(20000L, policyCaptor.getValue().getLeaseMillis());
+        assertEquals(5000L, policyCaptor.getValue().getWaitMillis());
+    }
+
+    @Test
+    void pipelineSerializesSameAccountUnderLoad() throws Exception {
+        // given
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willAnswer(invocation -> {
+                    String accountNumber = invocation.getArgument(1);
+                    AtomicInteger counter = inFlight.computeIfAbsent(
+                            accountNumber, k -> new AtomicInteger());
+                    maxInFlight.accumulateAndGet(
+                            counter.incrementAndGet(), Math::max);
+                    Thread.sleep(1L);
+                    counter.decrementAndGet();
+                    return TransactionDTO.builder()
+                            .accountNumber(accountNumber)
+                            .transactionResultType(S)
+                            .amount(invocation.getArgument(2))
+                            .build();
+                });
+
+        int requests = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<CancelBalance.Response>> responses = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < requests; i++) {
+            String accountNumber = "100000000" + (i % 4);
+            responses.add(executor.submit(() ->
+                    controller.cancelBalance(cancelRequest(accountNumber))));
+        }
+        for (Future<CancelBalance.Response> response : responses) {
+            assertEquals(S, response.get(10, TimeUnit.SECONDS)
+                    .getTransactionResult());
+        }
+        executor.shutdown();
+
+        // then
+        verify(transactionService, times(requests))
+                .cancelBalance(anyString(), anyString(), anyLong());
+        // 같은 계좌의 요청은 노드 안에서 동시에 실행되지 않는다
+        assertEquals(1, maxInFlight.get());
+        verify(lockService, atLeast(4)).lock(anyString(), any(), anyLong());
+        verify(lockService, atMost(requests)).lock(anyString(), any(), anyLong());
+        assertEquals(requests, meterRegistry.get(MetricsStage.METRIC_NAME)
+                .tag("endpoint", "cancel")
+                .tag("outcome", "success")
+                .timer().count());
+    }
+
+    @Test
+    void queryIsNotLocked() {
+        // given
+        given(transactionService.queryTransaction(anyString()))
+                .willReturn(TransactionDTO.builder()
+                        .accountNumber("1234567890")
+                        .transactionResultType(S)
+                        .build());
+
+        // when
+        controller.queryTransaction("transactionId");
+
+        // then
+        verifyNoInteractions(lockService);
+    }
+
+    @Test
+    void transferLocksBothAccountsInOrder() throws Exception {
+        // given
+        given(lockService.lockAll(anyCollection(), any()))
+                .willReturn(List.of("1111111111", "2222222222"));
+        given(transactionService.transferBalance(
+                anyLong(), anyString(), anyString(), anyLong()))
+                .willReturn(TransactionDTO.builder()
+                        .accountNumber("2222222222")
+                        .counterpartAccountNumber("1111111111")
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .build());
+
+        // when
+        controller.transferBalance(new TransferBalance.Request(
+                1L, "2222222222", "1111111111", 1000L));
+
+        // then
+        verify(lockService).lockAll(
+                eq(List.of("2222222222", "1111111111")), any());
+        verify(lockService).unlockAll(
+                eq(List.of("1111111111", "2222222222")), any());
+        verify(lockService, never()).lock(anyString(), any(), anyLong());
+    }
+
+    @Test
+    void idempotentRequestReturnsSavedResponse() throws Exception {
+        // given
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(IdempotencyStage.IDEMPOTENCY_KEY_HEADER, "key-1");
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(httpRequest));
+        CancelBalance.Response saved = CancelBalance.Response.builder()
+                .accountNumber("1234567890")
+                .transactionResult(S)
+                .transactionId("savedTransactionId")
+                .build();
+        given(idempotencyStore.find("cancel:1234567890:key-1"))
+                .willReturn(Optional.of(saved));
+
+        // when
+        CancelBalance.Response response =
+                controller.cancelBalance(cancelRequest("1234567890"));
+
+        // then
+        assertSame(saved, response);
+        verify(transactionService, never())
+                .cancelBalance(anyString(), anyString(), anyLong());
+        verify(idempotencyStore, never()).save(anyString(), any());
+    }
+
+    @Test
+    void idempotencyKeyIsResolvedBeforeLock() throws Exception {
+        // given
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(IdempotencyStage.IDEMPOTENCY_KEY_HEADER, "key-1");
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(httpRequest));
+        // 락 안쪽이 다른 요청 스레드에서 실행되는 경우처럼 요청 컨텍스트를 비운다
+        doAnswer(invocation -> {
+            RequestContextHolder.resetRequestAttributes();
+            return null;
+        }).when(lockService).lock(anyString(), any(), anyLong());
+        givenCancelSucceeds();
+
+        // when
+        controller.cancelBalance(cancelRequest("1234567890"));
+
+        // then
+        verify(idempotencyStore).find("cancel:1234567890:key-1");
+        verify(idempotencyStore).save(eq("cancel:1234567890:key-1"), any());
+    }
+
+    private void givenCancelSucceeds() {
+        given(transactionService.cancelBalance(anyString(), anyString(), anyLong()))
+                .willReturn(TransactionDTO.builder()
+                        .accountNumber("1234567890")
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .build());
+    }
+
+    private static CancelBalance.Request cancelRequest(String accountNumber) {
+        return new CancelBalance.Request("transactionId", accountNumber, 1000L);
+    }
+}
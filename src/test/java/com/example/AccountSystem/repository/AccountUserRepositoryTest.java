@@ -0,0 +1,119 @@
+package com.example.AccountSystem.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 스레드마다 따로 커밋해야 하므로 테스트 트랜잭션을 쓰지 않는다
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountUserRepositoryTest {
+    private static final long USER_ID = 100L;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into account_user(id, name, active_account_count) " +
+                "values (?, 'Pororo', 0)", USER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from account_user where id = ?", USER_ID);
+    }
+
+    @Test
+    @DisplayName("동시에 개설해도 활성 계좌 수는 10개를 넘지 않음")
+    void increaseActiveAccountCount_Concurrent() throws Exception {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger increased = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                Integer updated = transactionTemplate.execute(status ->
+                        accountUserRepository.increaseActiveAccountCount(USER_ID, 1, 10));
+                if (updated == 1) {
+                    increased.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        // when
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertEquals(10, increased.get());
+        assertEquals(10, activeAccountCount());
+    }
+
+    @Test
+    @DisplayName("한 번에 여러 개 - 제한을 넘으면 하나도 늘리지 않음")
+    void increaseActiveAccountCount_OverLimit() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.execute(status ->
+                accountUserRepository.increaseActiveAccountCount(USER_ID, 8, 10));
+
+        // when
+        Integer updated = transactionTemplate.execute(status ->
+                accountUserRepository.increaseActiveAccountCount(USER_ID, 3, 10));
+
+        // then
+        assertEquals(0, updated);
+        assertEquals(8, activeAccountCount());
+    }
+
+    @Test
+    @DisplayName("해지 - 0 아래로 내려가지 않음")
+    void decreaseActiveAccountCount_NotBelowZero() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        Integer updated = transactionTemplate.execute(status ->
+                accountUserRepository.decreaseActiveAccountCount(USER_ID));
+
+        // then
+        assertEquals(0, updated);
+        assertEquals(0, activeAccountCount());
+    }
+
+    private int activeAccountCount() {
+        return jdbcTemplate.queryForObject(
+                "select active_account_count from account_user where id = ?",
+                Integer.class, USER_ID);
+    }
+}
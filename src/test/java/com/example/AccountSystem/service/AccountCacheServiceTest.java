@@ -0,0 +1,116 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.AccountDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RMapCache;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.AccountSystem.type.AccountStatus.IN_USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMapCache<Object, Object> mapCache;
+
+    @Mock
+    private RMapCache<Object, Object> versionCache;
+
+    @InjectMocks
+    private AccountCacheService accountCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountCacheService, "enabled", true);
+        ReflectionTestUtils.setField(accountCacheService, "ttlSeconds", 60L);
+        lenient().when(redissonClient.getMapCache("ACCOUNT_VIEW")).thenReturn(mapCache);
+        lenient().when(redissonClient.getMapCache("ACCOUNT_VIEW_VERSION"))
+                .thenReturn(versionCache);
+    }
+
+    @Test
+    void getAccounts_hit() {
+        // given
+        ArrayList<AccountDTO> accounts = new ArrayList<>(List.of(
+                AccountDTO.builder()
+                        .userId(1L)
+                        .accountNumber("1234567890")
+                        .balance(1000L)
+                        .build()));
+        given(mapCache.get(1L))
+                .willReturn(new AccountCacheService.CachedAccounts(7L, accounts));
+        given(versionCache.get(1L)).willReturn(7L);
+
+        // when
+        Optional<List<AccountDTO>> cached = accountCacheService.getAccounts(1L);
+
+        // then
+        assertTrue(cached.isPresent());
+        assertEquals("1234567890", cached.get().get(0).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("조회 중에 제거된 캐시 - 저장된 목록을 쓰지 않음")
+    void getAccounts_evictedDuringLoadIsMiss() {
+        // given
+        // 조회 전에는 버전이 없었고, 그 사이 제거로 버전이 바뀌었다
+        given(mapCache.get(1L)).willReturn(
+                new AccountCacheService.CachedAccounts(null, new ArrayList<>()));
+        given(versionCache.get(1L)).willReturn(3L);
+
+        // when
+        Optional<List<AccountDTO>> cached = accountCacheService.getAccounts(1L);
+
+        // then
+        assertFalse(cached.isPresent());
+    }
+
+    @Test
+    void getAccounts_redisFailureIsMiss() {
+        // given
+        given(mapCache.get(1L)).willThrow(new IllegalStateException("down"));
+
+        // when
+        Optional<List<AccountDTO>> cached = accountCacheService.getAccounts(1L);
+
+        // then
+        assertFalse(cached.isPresent());
+    }
+
+    @Test
+    void evictOnAccountChanged() {
+        // when
+        accountCacheService.onAccountChanged(AccountChangedEvent.builder()
+                .userId(1L)
+                .accountNumber("1234567890")
+                .balance(0L)
+                .accountStatus(IN_USE)
+                .build());
+
+        // then
+        verify(versionCache, times(1))
+                .fastPut(eq(1L), anyLong(), anyLong(), eq(TimeUnit.SECONDS));
+        verify(mapCache, times(1)).fastRemove(1L);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.exception.AccountException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountLockCombinerTest {
+    @Mock
+    private LockService lockService;
+
+    private AccountLockCombiner accountLockCombiner;
+
+    @BeforeEach
+    void setUp() {
+        accountLockCombiner = new AccountLockCombiner(lockService, 10, 3000L);
+    }
+
+    @Test
+    void singleRequestLocksOnce() throws Throwable {
+        // when
+        String result = accountLockCombiner.execute("1234567890", () -> "done");
+
+        // then
+        assertEquals("done", result);
+        verify(lockService, times(1)).lock(eq("1234567890"), any(), anyLong());
+        verify(lockService, times(1)).unlock(eq("1234567890"), any(), anyLong());
+    }
+
+    @Test
+    void queuedRequestsShareOneLock() throws Exception {
+        // given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        // when
+        Future<Integer> leader = executor.submit(execute(() -> {
+            leaderStarted.countDown();
+            releaseLeader.await();
+            return 0;
+        }));
+        leaderStarted.await();
+
+        List<Future<Integer>> followers = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            int value = i;
+            followers.add(executor.submit(execute(() -> value)));
+        }
+        Thread.sleep(200L);
+        releaseLeader.countDown();
+
+        // then
+        assertEquals(0, leader.get(3, TimeUnit.SECONDS));
+        for (int i = 0; i < followers.size(); i++) {
+            assertEquals(i + 1, followers.get(i).get(3, TimeUnit.SECONDS));
+        }
+        verify(lockService, times(1)).lock(eq("1234567890"), any(), anyLong());
+        verify(lockService, times(1)).unlock(eq("1234567890"), any(), anyLong());
+        executor.shutdown();
+    }
+
+    @Test
+    void leaderReturnsWhileRequestsKeepArriving() throws Exception {
+        // given
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        AtomicBoolean arriving = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+
+        Future<Integer> leader = executor.submit(execute(() -> {
+            leaderStarted.countDown();
+            releaseLeader.await();
+            return 0;
+        }));
+        leaderStarted.await();
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> {
+                while (arriving.get()) {
+                    try {
+                        accountLockCombiner.execute("1234567890", () -> {
+                            Thread.sleep(1L);
+                            return 1;
+                        });
+                        completed.incrementAndGet();
+                    } catch (Throwable t) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        Thread.sleep(50L);
+
+        // when
+        releaseLeader.countDown();
+
+        // then
+        assertEquals(0, leader.get(1, TimeUnit.SECONDS));
+        assertTrue(arriving.get());
+        arriving.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(3, TimeUnit.SECONDS));
+        assertTrue(completed.get() > 0);
+        assertEquals(0, failed.get());
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+        // given
+        accountLockCombiner = new AccountLockCombiner(lockService, 1, 3000L);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<Integer> leader = executor.submit(execute(() -> {
+            leaderStarted.countDown();
+            releaseLeader.await();
+            return 0;
+        }));
+        leaderStarted.await();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockCombiner.execute("1234567890", () -> 1));
+        releaseLeader.countDown();
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals(0, leader.get(3, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void lockFailurePropagates() {
+        // given
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock(anyString(), any(), anyLong());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountLockCombiner.execute("1234567890", () -> 1));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(lockService, never()).unlock(anyString(), any(), anyLong());
+    }
+
+    private Callable<Integer> execute(
+            AccountLockCombiner.LockedOperation<Integer> operation) {
+        return () -> {
+            try {
+                return accountLockCombiner.execute("1234567890", operation);
+            } catch (Exception e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new ExecutionException(t);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountNumberIndexTest {
+
+    @Test
+    void findAfterResize() {
+        // given
+        AccountNumberIndex index = new AccountNumberIndex(null, new ShardRouter(1, 128), 1000);
+
+        // when
+        for (int i = 1; i <= 5000; i++) {
+            index.put(String.valueOf(1000000000L + i * 7919L), (long) i);
+        }
+
+        // then
+        assertEquals(5000, index.size());
+        for (int i = 1; i <= 5000; i++) {
+            assertEquals(i, index.find(String.valueOf(1000000000L + i * 7919L)));
+        }
+        assertEquals(AccountNumberIndex.NOT_FOUND, index.find("9999999999"));
+    }
+
+    @Test
+    @DisplayName("계좌번호 형식이 아님 - 색인에서 찾지 않음")
+    void invalidAccountNumber() {
+        // given
+        AccountNumberIndex index = new AccountNumberIndex(null, new ShardRouter(1, 128), 1000);
+
+        // when
+        index.put("abcdefghij", 1L);
+        index.put("0123456789", 2L);
+
+        // then
+        assertEquals(0, index.size());
+        assertEquals(AccountNumberIndex.NOT_FOUND, index.find("abcdefghij"));
+        assertEquals(AccountNumberIndex.NOT_FOUND, index.find("123456789"));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.dto.AccountDTO;
+import com.example.AccountSystem.dto.CreateAccount;
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.repository.AccountRepository;
+import com.example.AccountSystem.repository.AccountUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.example.AccountSystem.type.ErrorCode.MAX_ACCOUNT_PER_USER_10;
+import static com.example.AccountSystem.type.ErrorCode.USER_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccountProvisioningServiceTest {
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountUserRepository accountUserRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<Account>> accountsCaptor;
+
+    private AccountProvisioningService accountProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        accountProvisioningService = new AccountProvisioningService(accountRepository,
+                accountUserRepository, eventPublisher, new ShardRouter(1, 128),
+                transactionManager, 1000);
+    }
+
+    @Test
+    void successCreateAccounts() {
+        // given
+        // 이미 계좌가 8개 있는 사용자
+        AccountUser user = AccountUser.builder()
+                .name("Pororo")
+                .activeAccountCount(8)
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findAllById(any()))
+                .willReturn(List.of(user));
+        given(accountUserRepository.increaseActiveAccountCount(1L, 2, 10))
+                .willReturn(1);
+        given(accountRepository.findExistingAccountNumbers(anyCollection()))
+                .willReturn(List.of());
+
+        // when
+        List<ServiceResult<AccountDTO>> results = accountProvisioningService.createAccounts(
+                List.of(new CreateAccount.Request(1L, 1000L),
+                        new CreateAccount.Request(2L, 1000L),
+                        new CreateAccount.Request(1L, 2000L),
+                        new CreateAccount.Request(1L, 3000L)));
+
+        // then
+        verify(accountRepository, times(1)).saveAll(accountsCaptor.capture());
+        assertEquals(2, accountsCaptor.getValue().size());
+        assertEquals(2000L, accountsCaptor.getValue().get(1).getInitialBalance());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(USER_NOT_FOUND, results.get(1).getErrorCode());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(MAX_ACCOUNT_PER_USER_10, results.get(3).getErrorCode());
+        assertFalse(results.get(0).getValue().getAccountNumber()
+                .equals(results.get(2).getValue().getAccountNumber()));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("그 사이 다른 요청이 개설해 제한 초과 - 일괄 개설 실패")
+    void createAccountsFailed_ConcurrentlyReachedMax() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("Pororo")
+                .activeAccountCount(9)
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findAllById(any()))
+                .willReturn(List.of(user));
+        // 조회 후 다른 요청이 먼저 늘려 조건부 update 가 반영되지 않음
+        given(accountUserRepository.increaseActiveAccountCount(1L, 1, 10))
+                .willReturn(0);
+
+        // when
+        List<ServiceResult<AccountDTO>> results = accountProvisioningService.createAccounts(
+                List.of(new CreateAccount.Request(1L, 1000L)));
+
+        // then
+        assertEquals(MAX_ACCOUNT_PER_USER_10, results.get(0).getErrorCode());
+        verify(accountRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("계좌 수 백필 전 사용자 - 개설 실패")
+    void createAccountsFailed_ActiveAccountCountNotBackfilled() {
+        // given
+        AccountUser notBackfilled = AccountUser.builder()
+                .name("Pororo")
+                .activeAccountCount(null)
+                .build();
+        notBackfilled.setId(1L);
+        AccountUser user = AccountUser.builder()
+                .name("Crong")
+                .build();
+        user.setId(2L);
+
+        given(accountUserRepository.findAllById(any()))
+                .willReturn(List.of(notBackfilled, user));
+        given(accountUserRepository.increaseActiveAccountCount(2L, 1, 10))
+                .willReturn(1);
+        given(accountRepository.findExistingAccountNumbers(anyCollection()))
+                .willReturn(List.of());
+
+        // when
+        List<ServiceResult<AccountDTO>> results = accountProvisioningService.createAccounts(
+                List.of(new CreateAccount.Request(1L, 1000L),
+                        new CreateAccount.Request(2L, 1000L)));
+
+        // then
+        assertEquals(MAX_ACCOUNT_PER_USER_10, results.get(0).getErrorCode());
+        assertTrue(results.get(1).isSuccess());
+        verify(accountUserRepository, never())
+                .increaseActiveAccountCount(eq(1L), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("이미 쓰인 계좌번호 - 다시 뽑음")
+    void allocateAccountNumbers_Collision() {
+        // given
+        given(accountRepository.findExistingAccountNumbers(anyCollection()))
+                // 첫 조회에서는 뽑은 번호가 모두 이미 쓰인 번호
+                .willAnswer(invocation ->
+                        List.copyOf(invocation.<Collection<String>>getArgument(0)))
+                .willReturn(List.of());
+
+        // when
+        List<String> accountNumbers = accountProvisioningService.allocateAccountNumbers(0, 3);
+
+        // then
+        assertEquals(3, new HashSet<>(accountNumbers).size());
+        verify(accountRepository, times(2)).findExistingAccountNumbers(anyCollection());
+    }
+}
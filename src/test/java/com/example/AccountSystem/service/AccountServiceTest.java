@@ -14,11 +14,14 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.IntFunction;
 
 import static com.example.AccountSystem.type.AccountStatus.UNREGISTERED;
 import static com.example.AccountSystem.type.ErrorCode.*;
@@ -26,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -38,6 +42,15 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private AccountCacheService accountCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardRouter shardRouter;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -52,6 +65,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
 
+        given(accountUserRepository.increaseActiveAccountCount(anyLong(), anyInt(), anyInt()))
+                .willReturn(1);
+
         given(accountRepository.save(any()))
                 .willReturn(Account.builder()
                         .accountUser(user)
@@ -94,6 +110,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
 
+        given(accountUserRepository.increaseActiveAccountCount(anyLong(), anyInt(), anyInt()))
+                .willReturn(1);
+
         given(accountRepository.existsByAccountNumber(anyString()))
                 .willReturn(true)
                 .willReturn(false);
@@ -124,8 +143,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(user));
 
-        given(accountRepository.countByAccountUser(any()))
-                .willReturn(10);
+        // 해지되지 않은 계좌가 이미 10개라 조건부 update 가 반영되지 않음
+        given(accountUserRepository.increaseActiveAccountCount(1L, 1, 10))
+                .willReturn(0);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
@@ -133,6 +153,7 @@ class AccountServiceTest {
 
         // then
         assertEquals(MAX_ACCOUNT_PER_USER_10, exception.getErrorCode());
+        verify(accountRepository, never()).save(any());
     }
 
     @Test
@@ -164,6 +185,7 @@ class AccountServiceTest {
         assertEquals(1L, accountDTO.getUserId());
         assertEquals("1234567890", accountDTO.getAccountNumber());
         assertEquals(UNREGISTERED, captor.getValue().getAccountStatus());
+        verify(accountUserRepository, times(1)).decreaseActiveAccountCount(1L);
     }
 
     @Test
@@ -335,6 +357,70 @@ class AccountServiceTest {
         assertEquals(2000L, accountDTOS.get(1).getBalance());
         assertEquals("3333333333", accountDTOS.get(2).getAccountNumber());
         assertEquals(3000L, accountDTOS.get(2).getBalance());
+        verify(accountCacheService, times(1))
+                .putAccounts(eq(1L), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("샤드가 여러 개 - 모든 샤드의 계좌를 합쳐서 조회")
+    void getAccountByUserId_fanOut() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountUser(any()))
+                .willReturn(List.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("1111111111")
+                        .balance(1000L)
+                        .build()))
+                .willReturn(List.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("2222222222")
+                        .balance(2000L)
+                        .build()));
+        given(shardRouter.getShardCount()).willReturn(2);
+        given(shardRouter.fanOut(any())).willAnswer(invocation -> {
+            IntFunction<List<AccountDTO>> query = invocation.getArgument(0);
+            List<AccountDTO> result = new ArrayList<>(query.apply(0));
+            result.addAll(query.apply(1));
+            return result;
+        });
+
+        // when
+        List<AccountDTO> accountDTOS = accountService.getAccountByUserId(1L);
+
+        // then
+        assertEquals(2, accountDTOS.size());
+        assertEquals("1111111111", accountDTOS.get(0).getAccountNumber());
+        assertEquals("2222222222", accountDTOS.get(1).getAccountNumber());
+        verify(accountRepository, times(2)).findByAccountUser(any());
+    }
+
+    @Test
+    @DisplayName("캐시 적중 - DB 조회 없이 계좌 조회")
+    void getAccountByUserId_cacheHit() {
+        // given
+        given(accountCacheService.getAccounts(anyLong()))
+                .willReturn(Optional.of(List.of(
+                        AccountDTO.builder()
+                                .userId(1L)
+                                .accountNumber("1111111111")
+                                .balance(1000L)
+                                .build())));
+
+        // when
+        List<AccountDTO> accountDTOS = accountService.getAccountByUserId(1L);
+
+        // then
+        assertEquals(1, accountDTOS.size());
+        assertEquals("1111111111", accountDTOS.get(0).getAccountNumber());
+        verify(accountUserRepository, never()).findById(anyLong());
+        verify(accountRepository, never()).findByAccountUser(any());
     }
 
     @Test
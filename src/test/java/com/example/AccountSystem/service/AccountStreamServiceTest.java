@@ -0,0 +1,106 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.AccountChangedEvent;
+import com.example.AccountSystem.dto.AccountInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static com.example.AccountSystem.type.AccountStatus.IN_USE;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStreamServiceTest {
+    @Mock
+    private RedissonClient redissonClient;
+
+    private AccountStreamService accountStreamService;
+
+    @BeforeEach
+    void setUp() {
+        accountStreamService = new AccountStreamService(redissonClient, 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountStreamService.shutdown();
+    }
+
+    @Test
+    void subscribe() {
+        // given
+        // when
+        SseEmitter first = accountStreamService.subscribe(1L);
+        SseEmitter second = accountStreamService.subscribe(1L);
+        accountStreamService.subscribe(2L);
+
+        // then
+        assertNotSame(first, second);
+        assertEquals(3, accountStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void deliverCommittedChange() {
+        // given
+        accountStreamService.subscribe(1L);
+
+        // when
+        // then
+        assertDoesNotThrow(() -> accountStreamService.onAccountChanged(
+                AccountChangedEvent.builder()
+                        .userId(1L)
+                        .accountNumber("1234567890")
+                        .balance(9000L)
+                        .accountStatus(IN_USE)
+                        .build()));
+        // 구독자가 없는 사용자
+        assertDoesNotThrow(() -> accountStreamService.onAccountChanged(
+                AccountChangedEvent.builder()
+                        .userId(2L)
+                        .accountNumber("1111111111")
+                        .balance(0L)
+                        .accountStatus(IN_USE)
+                        .build()));
+    }
+
+    @Test
+    void deliverKeepsOrderPerSubscriber() throws Exception {
+        // given
+        int count = 200;
+        List<Long> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(count);
+        accountStreamService.subscribe(1L, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) {
+                builder.build().stream()
+                        .filter(data -> data.getData() instanceof AccountInfo)
+                        .forEach(data -> received.add(
+                                ((AccountInfo) data.getData()).getBalance()));
+                done.countDown();
+            }
+        });
+
+        // when
+        for (long balance = 0; balance < count; balance++) {
+            accountStreamService.deliver(1L, new AccountInfo("1234567890", balance));
+        }
+
+        // then
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(LongStream.range(0, count).boxed().toList(), received);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ActiveAccountCountBackfillTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:active-count;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE account_user (id BIGINT, active_account_count INT)");
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT, account_user_id BIGINT, " +
+                "account_status VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO account_user VALUES (1, NULL), (2, 5), (3, NULL)");
+        jdbcTemplate.update("INSERT INTO account VALUES " +
+                "(1, 1, 'IN_USE'), (2, 1, 'IN_USE'), (3, 1, 'UNREGISTERED'), (4, 2, 'IN_USE')");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successBackfill() {
+        // given
+        ActiveAccountCountBackfill backfill =
+                new ActiveAccountCountBackfill(jdbcTemplate, new ShardRouter(1, 128));
+
+        // when
+        backfill.backfill();
+
+        // then
+        assertEquals(2, activeAccountCount(1));
+        // 이미 채워진 사용자는 그대로
+        assertEquals(5, activeAccountCount(2));
+        // 계좌가 없는 사용자
+        assertEquals(0, activeAccountCount(3));
+    }
+
+    private Integer activeAccountCount(long id) {
+        return jdbcTemplate.queryForObject(
+                "select active_account_count from account_user where id = ?",
+                Integer.class, id);
+    }
+}
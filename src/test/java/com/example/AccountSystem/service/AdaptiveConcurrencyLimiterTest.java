@@ -0,0 +1,79 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    @DisplayName("한도 초과 - 대기 없이 거절")
+    void rejectOverLimit() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings(2));
+        AdaptiveConcurrencyLimiter.Ticket first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Ticket second = limiter.tryAcquire();
+
+        // when
+        AdaptiveConcurrencyLimiter.Ticket rejected = limiter.tryAcquire();
+        first.release();
+
+        // then
+        assertNotNull(second);
+        assertNull(rejected);
+        assertNotNull(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void adjustLimitByLatency() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings(20));
+
+        // when
+        // 한도를 채워 쓰는 동안 응답 시간이 그대로면 한도를 늘린다
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(5 * MILLIS, limiter.getLimit());
+        }
+        int grown = limiter.getLimit();
+
+        // 응답 시간이 크게 늘면 한도를 줄인다
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(50 * MILLIS, limiter.getLimit());
+        }
+        int shrunk = limiter.getLimit();
+
+        // then
+        assertTrue(grown > 20);
+        assertTrue(shrunk < grown);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않음 - 한도 유지")
+    void keepLimitWhenUnderused() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings(20));
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(5 * MILLIS, 1);
+        }
+
+        // then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static ConcurrencyLimitProperties.Limit settings(int initialLimit) {
+        ConcurrencyLimitProperties.Limit settings = new ConcurrencyLimitProperties.Limit();
+        settings.setInitialLimit(initialLimit);
+        settings.setMinLimit(1);
+        settings.setMaxLimit(100);
+        return settings;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CancellableAmountBackfillTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:cancellable-amount;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT, amount BIGINT, " +
+                "transaction_type VARCHAR(20), transaction_result_type VARCHAR(1), " +
+                "cancellable_amount BIGINT)");
+        jdbcTemplate.update("INSERT INTO transaction VALUES " +
+                "(1, 1000, 'USE', 'S', NULL), (2, 2000, 'USE', 'S', 500), " +
+                "(3, 3000, 'USE', 'F', NULL), (4, 4000, 'CANCEL', 'S', NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successBackfill() {
+        // given
+        CancellableAmountBackfill backfill =
+                new CancellableAmountBackfill(jdbcTemplate, new ShardRouter(1, 128));
+
+        // when
+        backfill.backfill();
+
+        // then
+        assertEquals(1000L, cancellableAmount(1));
+        // 이미 채워진(부분 취소된) 거래는 그대로
+        assertEquals(500L, cancellableAmount(2));
+        // 실패한 사용, 취소 거래는 취소할 수 없다
+        assertNull(cancellableAmount(3));
+        assertNull(cancellableAmount(4));
+    }
+
+    private Long cancellableAmount(long id) {
+        return jdbcTemplate.queryForObject(
+                "select cancellable_amount from transaction where id = ?",
+                Long.class, id);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 처리 용량의 3배 부하에서 동시 처리 한도 유무에 따른 p99 비교 (./gradlew benchmark 로 실행)
+ * 커넥션 10개, 요청당 5ms 인 서버(초당 2,000건)에 초당 6,000건을 1초 동안 보낸다.
+ */
+@Tag("benchmark")
+class ConcurrencyLimitLoadTest {
+    private static final int CONNECTIONS = 10;
+    private static final long SERVICE_MILLIS = 5;
+    private static final int OFFERED_PER_SECOND = 6_000;
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void p99StaysBoundedAtThreeTimesCapacity() throws Exception {
+        long unlimited = run("한도 없음", null);
+
+        ConcurrencyLimitProperties.Limit settings = new ConcurrencyLimitProperties.Limit();
+        long limited = run("적응형 한도", new AdaptiveConcurrencyLimiter(settings));
+
+        assertTrue(limited < TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limited * 5 < unlimited);
+    }
+
+    private static long run(String name, AdaptiveConcurrencyLimiter limiter)
+            throws InterruptedException {
+        Semaphore pool = new Semaphore(CONNECTIONS, true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        long interval = TimeUnit.SECONDS.toNanos(1) / OFFERED_PER_SECOND;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long next = start; next - start < DURATION_NANOS; next += interval) {
+                while (System.nanoTime() < next) {
+                    Thread.onSpinWait();
+                }
+
+                AdaptiveConcurrencyLimiter.Ticket ticket =
+                        limiter == null ? null : limiter.tryAcquire();
+                if (limiter != null && ticket == null) {
+                    rejected.incrementAndGet();
+                    continue;
+                }
+
+                long arrival = next;
+                clients.execute(() -> {
+                    try {
+                        pool.acquire();
+                        try {
+                            Thread.sleep(SERVICE_MILLIS);
+                        } finally {
+                            pool.release();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        if (ticket != null) {
+                            ticket.release();
+                        }
+                        latencies.add(System.nanoTime() - arrival);
+                    }
+                });
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) (sorted.size() * 0.99) - 1);
+        System.out.printf("%-8s admitted %,6d rejected %,6d p99 %,8.1f ms%n",
+                name, sorted.size(), rejected.get(), p99 / 1_000_000.0);
+        return p99;
+    }
+}
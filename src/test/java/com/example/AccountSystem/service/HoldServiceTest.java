@@ -0,0 +1,318 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.Account;
+import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.domain.Hold;
+import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.dto.HoldDTO;
+import com.example.AccountSystem.dto.HoldExpiry;
+import com.example.AccountSystem.dto.TransactionDTO;
+import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.repository.AccountRepository;
+import com.example.AccountSystem.repository.AccountUserRepository;
+import com.example.AccountSystem.repository.HoldRepository;
+import com.example.AccountSystem.repository.OutboxEventRepository;
+import com.example.AccountSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.example.AccountSystem.type.AccountStatus.IN_USE;
+import static com.example.AccountSystem.type.ErrorCode.*;
+import static com.example.AccountSystem.type.HoldStatus.*;
+import static com.example.AccountSystem.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+    @Mock
+    private HoldRepository holdRepository;
+    @Mock
+    private AccountRepository accountRepository;
+    @Mock
+    private AccountUserRepository accountUserRepository;
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private SpendingLimitService spendingLimitService;
+    @InjectMocks
+    private HoldService holdService;
+
+    @Test
+    void successAuthorize() {
+        // given
+        AccountUser user = user();
+        Account account = account(user, 10000L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(holdRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        HoldDTO holdDTO = holdService.authorize(1L, "1000000000", 3000L, 60L);
+
+        // then
+        assertEquals(AUTHORIZED, holdDTO.getHoldStatus());
+        assertEquals(3000L, holdDTO.getAmount());
+        assertEquals(10000L, account.getBalance());
+        assertEquals(7000L, account.getAvailableBalance());
+        verify(eventPublisher).publishEvent(any(HoldExpiry.class));
+    }
+
+    @Test
+    @DisplayName("사용 가능 잔액 부족 - 승인 실패")
+    void authorizeFailed_exceedAvailableBalance() {
+        // given
+        AccountUser user = user();
+        Account account = account(user, 10000L);
+        account.hold(8000L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> holdService.authorize(1L, "1000000000", 3000L, 60L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("사용 한도 초과 - 승인 실패")
+    void authorizeFailed_spendingLimitExceeded() {
+        // given
+        AccountUser user = user();
+        Account account = account(user, 10000L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(spendingLimitService.check(anyString(), anyLong()))
+                .willReturn(HOURLY_LIMIT_EXCEEDED);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> holdService.authorize(1L, "1000000000", 3000L, 60L));
+
+        // then
+        assertEquals(HOURLY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(10000L, account.getAvailableBalance());
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("승인 금액 합계가 사용 한도 초과 - 두 번째 승인 실패")
+    void authorizeFailed_heldAmountsExceedSpendingLimit() {
+        // given
+        HoldService limitedHoldService = holdServiceWithLimit(5000L);
+        AccountUser user = user();
+        Account account = account(user, 10000L);
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(holdRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        limitedHoldService.authorize(1L, "1000000000", 3000L, 60L);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> limitedHoldService.authorize(1L, "1000000000", 3000L, 60L));
+
+        // then
+        assertEquals(HOURLY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(3000L, account.getHeldBalance());
+    }
+
+    @Test
+    @DisplayName("승인 이후 사용으로 한도 소진 - 매입 실패")
+    void captureFailed_spendingLimitExceeded() {
+        // given
+        SpendingLimitService limit = new SpendingLimitService(transactionRepository,
+                null, null, true, 10000L, 5000L, false);
+        HoldService limitedHoldService = holdServiceWithLimit(limit);
+        Account account = account(user(), 10000L);
+        account.hold(3000L);
+        given(holdRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold(account, LocalDateTime.now().plusMinutes(1))));
+        limit.onBalanceUsed(new BalanceUsedEvent(
+                1L, "1000000000", 3000L, LocalDateTime.now()));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> limitedHoldService.capture("1000000000", "holdId"));
+
+        // then
+        assertEquals(HOURLY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+        assertEquals(3000L, account.getHeldBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void successCapture() {
+        // given
+        Account account = account(user(), 10000L);
+        account.hold(3000L);
+        Hold hold = hold(account, LocalDateTime.now().plusMinutes(1));
+        given(holdRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        TransactionDTO transactionDTO = holdService.capture("1000000000", "holdId");
+
+        // then
+        verify(transactionRepository).save(captor.capture());
+        assertEquals(USE, captor.getValue().getTransactionType());
+        assertEquals("holdId", captor.getValue().getRelatedTransactionId());
+        assertEquals(3000L, transactionDTO.getAmount());
+        assertEquals(7000L, account.getBalance());
+        assertEquals(0L, account.getHeldBalance());
+        assertEquals(CAPTURED, hold.getHoldStatus());
+        assertEquals(transactionDTO.getTransactionId(), hold.getTransactionId());
+        verify(eventPublisher).publishEvent(any(BalanceUsedEvent.class));
+    }
+
+    @Test
+    @DisplayName("만료 시각이 지난 승인 - 매입 실패")
+    void captureFailed_expired() {
+        // given
+        Account account = account(user(), 10000L);
+        account.hold(3000L);
+        given(holdRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold(account, LocalDateTime.now().minusSeconds(1))));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> holdService.capture("1000000000", "holdId"));
+
+        // then
+        assertEquals(HOLD_EXPIRED, exception.getErrorCode());
+        assertEquals(3000L, account.getHeldBalance());
+    }
+
+    @Test
+    @DisplayName("이미 해제된 승인 - 매입 실패")
+    void captureFailed_alreadyReleased() {
+        // given
+        Account account = account(user(), 10000L);
+        Hold hold = hold(account, LocalDateTime.now().plusMinutes(1));
+        hold.finish(RELEASED);
+        given(holdRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> holdService.capture("1000000000", "holdId"));
+
+        // then
+        assertEquals(HOLD_ALREADY_FINALIZED, exception.getErrorCode());
+    }
+
+    @Test
+    void successRelease() {
+        // given
+        Account account = account(user(), 10000L);
+        account.hold(3000L);
+        Hold hold = hold(account, LocalDateTime.now().plusMinutes(1));
+        given(holdRepository.findByHoldId(anyString()))
+                .willReturn(Optional.of(hold));
+
+        // when
+        HoldDTO holdDTO = holdService.release("1000000000", "holdId");
+
+        // then
+        assertEquals(RELEASED, holdDTO.getHoldStatus());
+        assertEquals(10000L, account.getAvailableBalance());
+    }
+
+    @Test
+    void expireOnlyAfterDeadline() {
+        // given
+        Account account = account(user(), 10000L);
+        account.hold(6000L);
+        Hold notYet = hold(account, LocalDateTime.now().plusMinutes(1));
+        Hold expired = hold(account, LocalDateTime.now().minusSeconds(1));
+        given(holdRepository.findByHoldId("notYet")).willReturn(Optional.of(notYet));
+        given(holdRepository.findByHoldId("expired")).willReturn(Optional.of(expired));
+
+        // when
+        boolean first = holdService.expire("1000000000", "notYet");
+        boolean second = holdService.expire("1000000000", "expired");
+        boolean again = holdService.expire("1000000000", "expired");
+
+        // then
+        assertFalse(first);
+        assertTrue(second);
+        assertFalse(again);
+        assertEquals(EXPIRED, expired.getHoldStatus());
+        assertEquals(AUTHORIZED, notYet.getHoldStatus());
+        assertEquals(3000L, account.getHeldBalance());
+    }
+
+    private HoldService holdServiceWithLimit(long hourlyLimit) {
+        return holdServiceWithLimit(new SpendingLimitService(transactionRepository,
+                null, null, true, 10000L, hourlyLimit, false));
+    }
+
+    private HoldService holdServiceWithLimit(SpendingLimitService limit) {
+        return new HoldService(holdRepository, accountRepository,
+                accountUserRepository, transactionRepository,
+                outboxEventRepository, eventPublisher, limit);
+    }
+
+    private static AccountUser user() {
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+        return user;
+    }
+
+    private static Account account(AccountUser user, Long balance) {
+        return Account.builder()
+                .accountUser(user)
+                .accountNumber("1000000000")
+                .accountStatus(IN_USE)
+                .balance(balance)
+                .build();
+    }
+
+    private static Hold hold(Account account, LocalDateTime expiresAt) {
+        return Hold.builder()
+                .account(account)
+                .holdId("holdId")
+                .amount(3000L)
+                .holdStatus(AUTHORIZED)
+                .authorizedAt(LocalDateTime.now())
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
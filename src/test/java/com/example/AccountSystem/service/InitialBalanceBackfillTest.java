@@ -0,0 +1,57 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InitialBalanceBackfillTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:backfill;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT, " +
+                "initial_balance BIGINT, balance BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT, account_id BIGINT, " +
+                "transaction_type VARCHAR(20), transaction_result_type VARCHAR(1), amount BIGINT)");
+        jdbcTemplate.update("INSERT INTO account VALUES " +
+                "(1, NULL, 9500), (2, 7000, 5000), (3, NULL, 3000)");
+        jdbcTemplate.update("INSERT INTO transaction VALUES " +
+                "(1, 1, 'USE', 'S', 1000), " +
+                "(2, 1, 'USE', 'F', 3000), " +
+                "(3, 1, 'TRANSFER_IN', 'S', 500), " +
+                "(4, 2, 'USE', 'S', 2000)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successBackfill() {
+        // given
+        InitialBalanceBackfill backfill =
+                new InitialBalanceBackfill(jdbcTemplate, new ShardRouter(1, 128));
+
+        // when
+        backfill.backfill();
+
+        // then
+        assertEquals(10000L, initialBalance(1));
+        // 이미 채워진 계좌는 그대로
+        assertEquals(7000L, initialBalance(2));
+        // 거래가 없는 계좌
+        assertEquals(3000L, initialBalance(3));
+    }
+
+    private Long initialBalance(long id) {
+        return jdbcTemplate.queryForObject(
+                "select initial_balance from account where id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.ReconciliationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LedgerReconcilerTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path reportDir;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:reconcile;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT, account_number BIGINT, " +
+                "initial_balance BIGINT, balance BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT, account_id BIGINT, " +
+                "transaction_id VARCHAR(32), transaction_type VARCHAR(20), " +
+                "transaction_result_type VARCHAR(1), amount BIGINT, balance_snap_shot BIGINT)");
+        jdbcTemplate.update("INSERT INTO account VALUES " +
+                "(1, '1000000001', 10000, 9500), " +
+                "(2, '1000000002', 5000, 5000), " +
+                "(3, '1000000003', 1000, 1500)");
+
+        insert(1, 1, "tx1", "USE", "S", 1000, 9000);
+        insert(2, 1, "tx2", "USE", "F", 3000, 9000);
+        insert(3, 1, "tx3", "TRANSFER_IN", "S", 500, 9500);
+        insert(4, 3, "tx4", "CANCEL", "S", 500, 1500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successReconcile() {
+        // given
+        LedgerReconciler reconciler = reconciler(1);
+
+        // when
+        ReconciliationResult result = reconciler.reconcile("run1");
+
+        // then
+        assertEquals(3L, result.getAccounts());
+        assertEquals(4L, result.getTransactions());
+        assertEquals(0L, result.getMismatches());
+    }
+
+    @Test
+    @DisplayName("잔액과 스냅샷 불일치 - 보고서에 기록")
+    void reconcile_Mismatch() throws IOException {
+        // given
+        jdbcTemplate.update("UPDATE account SET balance = 4000 WHERE id = 2");
+        jdbcTemplate.update("UPDATE transaction SET balance_snap_shot = 9100 WHERE id = 2");
+        LedgerReconciler reconciler = reconciler(2);
+
+        // when
+        ReconciliationResult result = reconciler.reconcile("run2");
+
+        // then
+        List<String> lines = Files.readAllLines(
+                reportDir.resolve("run2.mismatch.csv"), StandardCharsets.UTF_8);
+        assertEquals(2L, result.getMismatches());
+        assertEquals(List.of("1000000001,SNAPSHOT,tx2,9000,9100",
+                "1000000002,BALANCE,,5000,4000"), lines.stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("개설 잔액이 채워지지 않은 계좌 - 점검하지 않음")
+    void reconcile_SkipNotBackfilled() {
+        // given
+        jdbcTemplate.update("UPDATE account SET initial_balance = NULL, balance = 1 WHERE id = 1");
+        LedgerReconciler reconciler = reconciler(2);
+
+        // when
+        ReconciliationResult result = reconciler.reconcile("run4");
+
+        // then
+        assertEquals(3L, result.getAccounts());
+        assertEquals(0L, result.getMismatches());
+    }
+
+    @Test
+    void successReconcile_ResumeFromCheckpoint() throws IOException {
+        // given
+        Files.writeString(reportDir.resolve("run3.checkpoint"), "0:1\n");
+        LedgerReconciler reconciler = reconciler(2);
+
+        // when
+        ReconciliationResult result = reconciler.reconcile("run3");
+
+        // then
+        assertEquals(1, result.getSkippedRanges());
+        assertEquals(1L, result.getAccounts());
+        assertEquals(1L, result.getTransactions());
+        assertEquals(List.of("0:1", "0:3"), Files.readAllLines(
+                reportDir.resolve("run3.checkpoint"), StandardCharsets.UTF_8));
+    }
+
+    private LedgerReconciler reconciler(int rangeSize) {
+        return new LedgerReconciler(jdbcTemplate, new ShardRouter(1, 128),
+                2, rangeSize, 2, reportDir.toString());
+    }
+
+    private void insert(long id, long accountId, String transactionId, String type,
+                        String result, long amount, long snapShot) {
+        jdbcTemplate.update("INSERT INTO transaction VALUES (?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, transactionId, type, result, amount, snapShot);
+    }
+}
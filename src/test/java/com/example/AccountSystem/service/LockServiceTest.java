@@ -4,16 +4,25 @@ import com.example.AccountSystem.exception.AccountException;
 import com.example.AccountSystem.type.ErrorCode;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -23,6 +32,9 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private RFuture<Boolean> acquired;
+
     @InjectMocks
     private LockService lockService;
 
@@ -55,4 +67,90 @@ class LockServiceTest {
         assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    void fairLockPolicy() throws InterruptedException {
+        // given
+        given(redissonClient.getFairLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        // when
+        lockService.lock("1234567890", new LockPolicy(300L, -1L, true));
+
+        // then
+        verify(rLock).tryLock(300L, -1L, TimeUnit.MILLISECONDS);
+        verify(redissonClient, never()).getLock(anyString());
+    }
+
+    @Test
+    void interruptedWaitFailsLock() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willThrow(new InterruptedException());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lock("1234567890"));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    void lockWithOwnerId() throws Exception {
+        // given
+        given(acquired.get()).willReturn(true);
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                .willReturn(acquired);
+
+        // when
+        lockService.lock("1234567890", LockPolicy.DEFAULT, -1L);
+
+        // then
+        verify(rLock).tryLockAsync(5000L, 15000L, TimeUnit.MILLISECONDS, -1L);
+    }
+
+    @Test
+    void lockAllInAccountNumberOrder() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+
+        // when
+        List<String> locked = lockService.lockAll(
+                List.of("2222222222", "1111111111"), LockPolicy.DEFAULT);
+
+        // then
+        assertEquals(List.of("1111111111", "2222222222"), locked);
+        InOrder inOrder = inOrder(redissonClient);
+        inOrder.verify(redissonClient).getLock("ACLK: 1111111111");
+        inOrder.verify(redissonClient).getLock("ACLK: 2222222222");
+    }
+
+    @Test
+    void lockAllReleasesAcquiredLocksOnFailure() throws InterruptedException {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true)
+                .willReturn(false);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockService.lockAll(
+                        List.of("1111111111", "2222222222"), LockPolicy.DEFAULT));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(rLock, times(1)).unlock();
+    }
+}
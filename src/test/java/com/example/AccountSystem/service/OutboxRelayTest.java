@@ -0,0 +1,64 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.domain.OutboxEvent;
+import com.example.AccountSystem.type.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OutboxRelayTest {
+    @Test
+    void skipLastBatch() {
+        // given
+        List<OutboxEvent> events = List.of(
+                event(1L, "1234567890"),
+                event(2L, "1111111111"),
+                event(3L, "1234567890"));
+
+        // when
+        List<OutboxEvent> unpublished =
+                OutboxRelay.skipPublished(events, Set.of("1", "2"));
+
+        // then
+        assertEquals(1, unpublished.size());
+        assertEquals(3L, unpublished.get(0).getId());
+    }
+
+    @Test
+    void publishAllWithoutLastBatch() {
+        // given
+        List<OutboxEvent> events = List.of(event(1L, "1234567890"));
+
+        // when
+        // then
+        assertSame(events, OutboxRelay.skipPublished(events, Set.of()));
+    }
+
+    @Test
+    void eventIdIsUniqueAcrossShards() {
+        // given
+        OutboxEvent event = event(1L, "1234567890");
+
+        // when
+        String first = OutboxRelay.toEntries(0, event).get("eventId");
+        String second = OutboxRelay.toEntries(1, event).get("eventId");
+
+        // then
+        assertEquals("0:1", first);
+        assertNotEquals(first, second);
+    }
+
+    private static OutboxEvent event(Long id, String accountNumber) {
+        OutboxEvent event = OutboxEvent.builder()
+                .accountNumber(accountNumber)
+                .transactionType(TransactionType.USE)
+                .build();
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.config.RateLimitProperties;
+import com.example.AccountSystem.type.RateLimitMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RRateLimiter;
+import org.redisson.api.RateIntervalUnit;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimiterTest {
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private RRateLimiter rRateLimiter;
+
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setDefaults(new RateLimitProperties.Limit(10, 3));
+        properties.getEndpoints().put("createAccount", new RateLimitProperties.Limit(1, 1));
+        rateLimiter = new RateLimiter(redissonClient, properties);
+    }
+
+    @Test
+    void tokenBucketRefill() {
+        // given
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit(10, 3);
+        RateLimiter.TokenBucket bucket = new RateLimiter.TokenBucket(limit);
+        long now = 1_000_000_000L;
+
+        // when
+        // then
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+        // 100ms 마다 한 건씩 다시 허용
+        assertTrue(bucket.tryAcquire(now + 100_000_000L));
+        assertFalse(bucket.tryAcquire(now + 100_000_000L));
+    }
+
+    @Test
+    @DisplayName("엔드포인트/키별 한도 초과")
+    void limitedPerEndpointAndKey() {
+        // given
+        // when
+        // then
+        assertFalse(rateLimiter.isLimited("createAccount", "U1"));
+        assertTrue(rateLimiter.isLimited("createAccount", "U1"));
+        assertFalse(rateLimiter.isLimited("createAccount", "U2"));
+        assertFalse(rateLimiter.isLimited("useBalance", "U1"));
+    }
+
+    @Test
+    void disabled() {
+        // given
+        properties.setEnabled(false);
+
+        // when
+        // then
+        for (int i = 0; i < 10; i++) {
+            assertFalse(rateLimiter.isLimited("createAccount", "U1"));
+        }
+    }
+
+    @Test
+    @DisplayName("Redis 모드 - RRateLimiter 로 판단")
+    void redisMode() {
+        // given
+        properties.setMode(RateLimitMode.REDIS);
+        given(redissonClient.getRateLimiter(anyString()))
+                .willReturn(rRateLimiter);
+        given(rRateLimiter.tryAcquire())
+                .willReturn(true, false);
+
+        // when
+        // then
+        assertFalse(rateLimiter.isLimited("useBalance", "A1234567890"));
+        assertTrue(rateLimiter.isLimited("useBalance", "A1234567890"));
+        // 초당 10건, 한 번에 3건 -> 300ms 에 3건
+        verify(rRateLimiter).trySetRate(
+                RateType.OVERALL, 3, 300, RateIntervalUnit.MILLISECONDS);
+    }
+
+    @Test
+    void evictIdleKeepsRedisLimiterInUse() {
+        // given
+        properties.setMode(RateLimitMode.REDIS);
+        given(redissonClient.getRateLimiter(anyString()))
+                .willReturn(rRateLimiter);
+        given(rRateLimiter.tryAcquire())
+                .willReturn(true);
+        rateLimiter.isLimited("useBalance", "A1234567890");
+
+        // when
+        rateLimiter.evictIdle();
+        rateLimiter.isLimited("useBalance", "A1234567890");
+
+        // then
+        verify(redissonClient, times(1)).getRateLimiter(anyString());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 - 노드 버킷으로 대체")
+    void redisFailureFallsBackToLocal() {
+        // given
+        properties.setMode(RateLimitMode.REDIS);
+        given(redissonClient.getRateLimiter(anyString()))
+                .willThrow(new IllegalStateException("redis down"));
+
+        // when
+        // then
+        assertFalse(rateLimiter.isLimited("createAccount", "U1"));
+        assertTrue(rateLimiter.isLimited("createAccount", "U1"));
+    }
+}
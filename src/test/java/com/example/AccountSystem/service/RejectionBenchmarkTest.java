@@ -0,0 +1,69 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.ServiceResult;
+import com.example.AccountSystem.exception.AccountException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static com.example.AccountSystem.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 거절 처리 비용 비교 (./gradlew benchmark 로 실행)
+ * MVC/AOP/JPA 프록시를 거친 호출 깊이를 흉내 내기 위해 150 프레임 아래에서 거절을 만든다.
+ */
+@Tag("benchmark")
+class RejectionBenchmarkTest {
+    private static final int STACK_DEPTH = 150;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void rejectionThroughput() {
+        long stackful = measure("stack trace 생성", () -> throwAndCatch(
+                () -> new RuntimeException(AMOUNT_EXCEED_BALANCE.getDescription())));
+        long stackless = measure("stackless 예외", () -> throwAndCatch(
+                () -> new AccountException(AMOUNT_EXCEED_BALANCE)));
+        long cached = measure("캐시된 예외", () -> throwAndCatch(
+                () -> AccountException.of(AMOUNT_EXCEED_BALANCE)));
+        long result = measure("결과 반환", () ->
+                ServiceResult.rejected(AMOUNT_EXCEED_BALANCE).isSuccess() ? 1 : 0);
+
+        assertTrue(stackless > stackful);
+        assertTrue(cached > stackful);
+        assertTrue(result > stackful);
+    }
+
+    private static long measure(String name, Supplier<Integer> rejection) {
+        // warm-up
+        atDepth(STACK_DEPTH, rejection, ITERATIONS / 10);
+
+        long start = System.nanoTime();
+        atDepth(STACK_DEPTH, rejection, ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+
+        long opsPerSecond = ITERATIONS * 1_000_000_000L / Math.max(1, elapsed);
+        System.out.printf("%-16s %,12d ops/s%n", name, opsPerSecond);
+        return opsPerSecond;
+    }
+
+    private static int atDepth(int depth, Supplier<Integer> rejection, int iterations) {
+        if (depth > 0) {
+            return atDepth(depth - 1, rejection, iterations);
+        }
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += rejection.get();
+        }
+        return sink;
+    }
+
+    private static int throwAndCatch(Supplier<RuntimeException> exception) {
+        try {
+            throw exception.get();
+        } catch (RuntimeException e) {
+            return e.getMessage().length();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void noFalseNegativeAcrossLayers() {
+        // given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+
+        // when
+        for (int i = 0; i < 20000; i++) {
+            filter.add(ShardRouter.newTransactionId(0, "tx" + i));
+        }
+
+        // then
+        // 용량을 넘겨 넣었으므로 층이 늘어난다
+        assertTrue(filter.getLayerCount() > 1);
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(filter.mightContain(ShardRouter.newTransactionId(0, "tx" + i)));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        // given
+        ScalableBloomFilter filter = new ScalableBloomFilter(1000, 0.01);
+        for (int i = 0; i < 20000; i++) {
+            filter.add(String.valueOf(1000000000L + i));
+        }
+
+        // when
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain(String.valueOf(5000000000L + i))) {
+                falsePositives++;
+            }
+        }
+
+        // then
+        assertTrue(falsePositives < 2000, "false positives : " + falsePositives);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.type.ShardKeyType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest {
+
+    @Test
+    void distributeAccountsEvenly() {
+        // given
+        ShardRouter shardRouter = new ShardRouter(4, 128);
+        int[] counts = new int[4];
+
+        // when
+        for (long i = 0; i < 40000; i++) {
+            counts[shardRouter.shardOfAccountNumber(
+                    String.valueOf(1000000000L + i * 7919))]++;
+        }
+
+        // then
+        for (int count : counts) {
+            assertTrue(count > 7000 && count < 13000, "count : " + count);
+        }
+    }
+
+    @Test
+    void addingShardMovesOnlyPartOfAccounts() {
+        // given
+        ShardRouter threeShards = new ShardRouter(3, 128);
+        ShardRouter fourShards = new ShardRouter(4, 128);
+        int moved = 0;
+
+        // when
+        for (long i = 0; i < 10000; i++) {
+            String accountNumber = String.valueOf(1000000000L + i * 104729);
+            int before = threeShards.shardOfAccountNumber(accountNumber);
+            int after = fourShards.shardOfAccountNumber(accountNumber);
+            if (before != after) {
+                // 새로 추가된 샤드로만 옮겨진다
+                assertEquals(3, after);
+                moved++;
+            }
+        }
+
+        // then
+        assertTrue(moved > 1500 && moved < 3500, "moved : " + moved);
+    }
+
+    @Test
+    void transactionIdCarriesShard() {
+        // given
+        ShardRouter shardRouter = new ShardRouter(16, 16);
+
+        // when
+        String transactionId = ShardRouter.newTransactionId(11);
+
+        // then
+        assertEquals(32, transactionId.length());
+        assertTrue(transactionId.startsWith("0b"));
+        assertEquals(11, shardRouter.shardOf(
+                ShardKeyType.TRANSACTION_ID, transactionId));
+    }
+
+    @Test
+    void singleShardAlwaysRoutesToZero() {
+        // given
+        ShardRouter shardRouter = new ShardRouter(1, 128);
+
+        // when
+        // then
+        assertEquals(0, shardRouter.shardOfAccountNumber("1234567890"));
+        assertEquals(0, shardRouter.shardOf(ShardKeyType.USER_ID, 1L));
+        assertFalse(shardRouter.belongsToOtherShard("1234567890"));
+    }
+
+    @Test
+    void fanOutQueriesEveryShardInParallel() {
+        // given
+        ShardRouter shardRouter = new ShardRouter(3, 16);
+
+        // when
+        List<Integer> shards = shardRouter.fanOut(
+                shard -> List.of(ShardContext.current()));
+        shardRouter.shutdown();
+
+        // then
+        assertEquals(IntStream.range(0, 3).boxed().toList(), shards);
+        assertEquals(0, ShardContext.current());
+    }
+}
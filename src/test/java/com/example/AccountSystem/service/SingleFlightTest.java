@@ -0,0 +1,98 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.exception.AccountException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.AccountSystem.type.ErrorCode.TRANSACTION_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+    @Test
+    void shareInFlightLoad() throws Exception {
+        // given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("key", 0, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        })));
+        started.await(1, TimeUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", 0, () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        // 나머지 요청이 진행 중인 조회에 합류할 시간을 준다
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        for (Future<String> result : results) {
+            assertEquals("value", result.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.size());
+        executor.shutdown();
+    }
+
+    @Test
+    void reuseResultWithinTtl() {
+        // given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        int first = singleFlight.execute("key", 60_000, loads::incrementAndGet);
+        int second = singleFlight.execute("key", 60_000, loads::incrementAndGet);
+        int withoutTtl = singleFlight.execute("key", 0, loads::incrementAndGet);
+
+        // then
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(2, withoutTtl);
+    }
+
+    @Test
+    @DisplayName("조회 실패 - 결과를 재사용하지 않음")
+    void doNotReuseFailure() {
+        // given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        // when
+        assertThrows(AccountException.class, () -> singleFlight.execute("key", 60_000,
+                () -> {
+                    throw AccountException.of(TRANSACTION_NOT_FOUND);
+                }));
+
+        // then
+        assertEquals("value", singleFlight.execute("key", 60_000, () -> "value"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 사용 한도 확인 비용 (./gradlew benchmark 로 실행)
+ * 잔액 사용 경로에 더해지는 비용이 1µs 보다 충분히 작아야 한다.
+ */
+@Tag("benchmark")
+class SpendingLimitBenchmarkTest {
+    private static final int ACCOUNTS = 10_000;
+    private static final int ITERATIONS = 5_000_000;
+
+    @Test
+    void checkLatency() {
+        SpendingLimitService service = new SpendingLimitService(
+                null, null, mock(ShardRouter.class),
+                true, Long.MAX_VALUE / 4, Long.MAX_VALUE / 4, false);
+        String[] accountNumbers = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = String.valueOf(1_000_000_000L + i);
+            service.onBalanceUsed(new BalanceUsedEvent(
+                    (long) i, accountNumbers[i], 1000L, LocalDateTime.now()));
+        }
+
+        // warm-up
+        run(service, accountNumbers, ITERATIONS / 10);
+
+        long start = System.nanoTime();
+        int passed = run(service, accountNumbers, ITERATIONS);
+        long nanosPerCheck = (System.nanoTime() - start) / ITERATIONS;
+
+        System.out.printf("spending limit check %,d ns/op%n", nanosPerCheck);
+        assertTrue(passed == ITERATIONS);
+        assertTrue(nanosPerCheck < 1_000);
+    }
+
+    private static int run(SpendingLimitService service, String[] accountNumbers,
+                           int iterations) {
+        int passed = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (service.check(accountNumbers[i % ACCOUNTS], 100L) == null) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RedissonClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.AccountSystem.type.ErrorCode.DAILY_LIMIT_EXCEEDED;
+import static com.example.AccountSystem.type.ErrorCode.HOURLY_LIMIT_EXCEEDED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SpendingLimitServiceTest {
+    @Mock
+    private TransactionRepository transactionRepository;
+    @Mock
+    private RedissonClient redissonClient;
+    @Mock
+    private ShardRouter shardRouter;
+
+    private SpendingLimitService spendingLimitService;
+
+    @BeforeEach
+    void setUp() {
+        spendingLimitService = new SpendingLimitService(transactionRepository,
+                redissonClient, shardRouter, true, 10_000L, 3_000L, false);
+    }
+
+    @Test
+    void successCheck() {
+        // given
+        spendingLimitService.onBalanceUsed(new BalanceUsedEvent(
+                1L, "1234567890", 2000L, LocalDateTime.now()));
+
+        // when
+        // then
+        assertNull(spendingLimitService.check("1234567890", 1000L));
+        assertNull(spendingLimitService.check("1111111111", 3000L));
+    }
+
+    @Test
+    @DisplayName("1시간 사용 한도 초과")
+    void checkFailed_hourlyLimit() {
+        // given
+        spendingLimitService.onBalanceUsed(new BalanceUsedEvent(
+                1L, "1234567890", 2000L, LocalDateTime.now()));
+
+        // when
+        // then
+        assertEquals(HOURLY_LIMIT_EXCEEDED,
+                spendingLimitService.check("1234567890", 1001L));
+    }
+
+    @Test
+    @DisplayName("24시간 사용 한도 초과 - 시작 시 거래 내역으로 복원")
+    void checkFailed_dailyLimitAfterRebuild() {
+        // given
+        LocalDateTime twoHoursAgo = LocalDateTime.now().minusHours(2);
+        given(shardRouter.getShardCount()).willReturn(1);
+        given(transactionRepository.findUsedSince(
+                any(), any(), any(), anyLong(), any()))
+                .willReturn(List.of(
+                        new BalanceUsedEvent(1L, "1234567890", 3000L, twoHoursAgo),
+                        new BalanceUsedEvent(2L, "1234567890", 3000L, twoHoursAgo),
+                        new BalanceUsedEvent(3L, "1234567890", 3000L, twoHoursAgo)));
+
+        // when
+        spendingLimitService.rebuild();
+
+        // then
+        assertNull(spendingLimitService.check("1234567890", 1000L));
+        assertEquals(DAILY_LIMIT_EXCEEDED,
+                spendingLimitService.check("1234567890", 1001L));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpendingWindowTest {
+    private static final long START = 29_000_000L;
+
+    @Test
+    void slidingSums() {
+        // given
+        SpendingWindow window = new SpendingWindow(START);
+        window.add(START, 1000L);
+        window.add(START + 30, 2000L);
+
+        // when
+        // then
+        assertEquals(3000L, window.getHourSum(START + 30));
+        assertEquals(3000L, window.getDaySum(START + 30));
+
+        // 첫 사용이 1시간 창에서 빠짐
+        assertEquals(2000L, window.getHourSum(START + 60));
+        assertEquals(3000L, window.getDaySum(START + 60));
+
+        // 첫 사용이 24시간 창에서 빠짐
+        assertEquals(0L, window.getHourSum(START + SpendingWindow.DAY_MINUTES));
+        assertEquals(2000L, window.getDaySum(START + SpendingWindow.DAY_MINUTES));
+        assertFalse(window.isEmpty(START + SpendingWindow.DAY_MINUTES));
+    }
+
+    @Test
+    void addPastMinute() {
+        // given
+        SpendingWindow window = new SpendingWindow(START + 120);
+
+        // when
+        window.add(START + 100, 500L);
+        window.add(START, 700L);
+        window.add(START - SpendingWindow.DAY_MINUTES, 900L);
+
+        // then
+        assertEquals(500L, window.getHourSum(START + 120));
+        assertEquals(1200L, window.getDaySum(START + 120));
+    }
+
+    @Test
+    @DisplayName("하루 이상 사용이 없음 - 전체 초기화")
+    void clearAfterIdleDay() {
+        // given
+        SpendingWindow window = new SpendingWindow(START);
+        window.add(START, 1000L);
+
+        // when
+        boolean empty = window.isEmpty(START + 5 * SpendingWindow.DAY_MINUTES);
+
+        // then
+        assertTrue(empty);
+        assertEquals(0L, window.getHourSum(START + 5 * SpendingWindow.DAY_MINUTES));
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.AccountSystem.service;
+
+import com.example.AccountSystem.archive.TransactionArchive;
+import com.example.AccountSystem.exception.AccountException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static com.example.AccountSystem.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementExportServiceTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private StatementExportService statementExportService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:statement;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE account (id BIGINT, account_number BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE transaction (id BIGINT, account_id BIGINT, " +
+                "transaction_id VARCHAR(32), transacted_at TIMESTAMP, " +
+                "transaction_type VARCHAR(20), transaction_result_type VARCHAR(1), " +
+                "amount BIGINT, balance_snap_shot BIGINT, related_transaction_id VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO account VALUES (1, '1234567890'), (2, '1111111111')");
+
+        insert(1, 1, "tx1", FROM.plusDays(1), "USE", 1000, 9000, null);
+        insert(2, 1, "tx2", FROM.plusDays(2), "CANCEL", 1000, 10000, "tx1");
+        insert(3, 1, "tx3", TO, "USE", 500, 9500, null);
+        insert(4, 2, "tx4", FROM.plusDays(3), "USE", 100, 900, null);
+
+        statementExportService = new StatementExportService(
+                jdbcTemplate, new ShardRouter(1, 128),
+                new TransactionArchive("archive"),
+                2, 2, "statements");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void successWriteStatement() throws IOException {
+        // given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long rows = statementExportService.writeStatement("1234567890", FROM, TO, out);
+
+        // then
+        String[] lines = gunzip(new ByteArrayInputStream(out.toByteArray())).split("\n");
+        assertEquals(2L, rows);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("transactionId,"));
+        assertEquals("tx1,2024-03-02T00:00,USE,S,1000,9000,", lines[1]);
+        assertEquals("tx2,2024-03-03T00:00,CANCEL,S,1000,10000,tx1", lines[2]);
+    }
+
+    @Test
+    @DisplayName("해당 계좌 없음 - 내역서 생성 실패")
+    void validateAccountFailed_AccountNotFound() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> statementExportService.validateAccount("9999999999"));
+
+        // then
+        assertEquals(ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    void successExportAll(@TempDir Path dir) throws Exception {
+        // given
+        // when
+        int exported = statementExportService.exportAll(FROM, TO, dir);
+
+        // then
+        assertEquals(2, exported);
+        try (InputStream in = Files.newInputStream(dir.resolve("1111111111.csv.gz"))) {
+            assertEquals(2, gunzip(in).split("\n").length);
+        }
+        assertTrue(Files.exists(dir.resolve("1234567890.csv.gz")));
+        assertTrue(Files.notExists(dir.resolve("1234567890.csv.gz.tmp")));
+    }
+
+    private void insert(long id, long accountId, String transactionId,
+                        LocalDateTime transactedAt, String type,
+                        long amount, long balance, String related) {
+        jdbcTemplate.update("INSERT INTO transaction VALUES (?, ?, ?, ?, ?, 'S', ?, ?, ?)",
+                id, accountId, transactionId, transactedAt, type, amount, balance, related);
+    }
+
+    private static String gunzip(InputStream in) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.AccountSystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void expireAtDeadlineAcrossLevels() {
+        // given
+        TimerWheel<String> wheel = new TimerWheel<>(1000L, 0L);
+        List<String> expired = new ArrayList<>();
+        // 1단(64초 미만), 2단(64^2초 미만), 3단(64^3초 미만)
+        wheel.schedule("10s", 10_000L);
+        wheel.schedule("100s", 100_000L);
+        wheel.schedule("5000s", 5_000_000L);
+
+        // when
+        wheel.advance(9_000L, expired::add);
+        List<String> before = new ArrayList<>(expired);
+        wheel.advance(10_000L, expired::add);
+        wheel.advance(99_000L, expired::add);
+        List<String> beforeSecond = new ArrayList<>(expired);
+        wheel.advance(100_000L, expired::add);
+        wheel.advance(4_999_000L, expired::add);
+        List<String> beforeThird = new ArrayList<>(expired);
+        wheel.advance(5_000_000L, expired::add);
+
+        // then
+        assertTrue(before.isEmpty());
+        assertEquals(List.of("10s"), beforeSecond);
+        assertEquals(List.of("10s", "100s"), beforeThird);
+        assertEquals(List.of("10s", "100s", "5000s"), expired);
+    }
+
+    @Test
+    void expireImmediatelyWhenPastDeadline() {
+        // given
+        TimerWheel<String> wheel = new TimerWheel<>(1000L, 0L);
+        List<String> expired = new ArrayList<>();
+        wheel.advance(60_000L, expired::add);
+
+        // when
+        wheel.schedule("overdue", 30_000L);
+        wheel.advance(60_000L, expired::add);
+
+        // then
+        assertEquals(List.of("overdue"), expired);
+    }
+
+    @Test
+    void dropBeyondSpan() {
+        // given
+        TimerWheel<String> wheel = new TimerWheel<>(1000L, 0L);
+        List<String> expired = new ArrayList<>();
+
+        // when
+        wheel.schedule("far", wheel.getSpanMillis() + 1000L);
+        wheel.advance(wheel.getSpanMillis() + 1000L, expired::add);
+
+        // then
+        assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    void neverExpireEarly() {
+        // given
+        TimerWheel<Long> wheel = new TimerWheel<>(1L, 0L);
+        List<long[]> fired = new ArrayList<>();
+        for (long deadline = 1; deadline < 260_000; deadline += 997) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        // when
+        for (long now = 0; now < 261_000; now += 250) {
+            long at = now;
+            wheel.advance(now, deadline -> fired.add(new long[]{deadline, at}));
+        }
+
+        // then
+        assertEquals(261, fired.size());
+        for (long[] fire : fired) {
+            assertTrue(fire[1] >= fire[0], "fired early : " + fire[0]);
+            assertTrue(fire[1] - fire[0] < 250, "fired late : " + fire[0]);
+        }
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.AccountSystem.service;
 
+import com.example.AccountSystem.archive.ArchivedTransaction;
+import com.example.AccountSystem.archive.TransactionArchive;
 import com.example.AccountSystem.domain.Account;
 import com.example.AccountSystem.domain.AccountUser;
+import com.example.AccountSystem.domain.OutboxEvent;
 import com.example.AccountSystem.domain.Transaction;
+import com.example.AccountSystem.dto.BalanceUsedEvent;
+import com.example.AccountSystem.dto.BatchTransferBalance;
+import com.example.AccountSystem.dto.FraudActivityEvent;
+import com.example.AccountSystem.dto.ImportRecord;
+import com.example.AccountSystem.dto.ServiceResult;
 import com.example.AccountSystem.dto.TransactionDTO;
 import com.example.AccountSystem.exception.AccountException;
+import com.example.AccountSystem.fraud.FraudRuleEngine;
 import com.example.AccountSystem.repository.AccountRepository;
 import com.example.AccountSystem.repository.AccountUserRepository;
+import com.example.AccountSystem.repository.OutboxEventRepository;
 import com.example.AccountSystem.repository.TransactionRepository;
 import com.example.AccountSystem.type.ErrorCode;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static com.example.AccountSystem.type.AccountStatus.IN_USE;
@@ -25,12 +38,14 @@ import static com.example.AccountSystem.type.AccountStatus.UNREGISTERED;
 import static com.example.AccountSystem.type.ErrorCode.*;
 import static com.example.AccountSystem.type.TransactionResultType.F;
 import static com.example.AccountSystem.type.TransactionResultType.S;
-import static com.example.AccountSystem.type.TransactionType.CANCEL;
-import static com.example.AccountSystem.type.TransactionType.USE;
+import static com.example.AccountSystem.type.TransactionType.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -39,9 +54,29 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
     private AccountRepository accountRepository;
     @Mock
     private AccountUserRepository accountUserRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private PrimaryReader primaryReader;
+    @Mock
+    private ShardRouter shardRouter;
+    @Mock
+    private SpendingLimitService spendingLimitService;
+    @Mock
+    private FraudRuleEngine fraudRuleEngine;
+    @Mock
+    private TransactionArchive transactionArchive;
+    @Mock
+    private ExistenceFilter existenceFilter;
+    @Mock
+    private AccountNumberIndex accountNumberIndex;
+    @Captor
+    private ArgumentCaptor<List<Transaction>> transactionsCaptor;
     @InjectMocks
     private TransactionService transactionService;
 
@@ -87,6 +122,11 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).save(captor.capture());
         assertEquals(5000L, captor.getValue().getAmount());
         assertEquals(5000L, captor.getValue().getBalanceSnapShot());
+        ArgumentCaptor<OutboxEvent> outboxCaptor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository, times(1)).save(outboxCaptor.capture());
+        assertEquals("1234567890", outboxCaptor.getValue().getAccountNumber());
+        assertEquals(captor.getValue().getTransactionId(),
+                outboxCaptor.getValue().getTransactionId());
         assertEquals(USE, transactionDTO.getTransactionType());
         assertEquals(S, transactionDTO.getTransactionResultType());
         assertEquals(1000L, transactionDTO.getAmount());
@@ -226,6 +266,109 @@ class TransactionServiceTest {
         assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("잔액 부족 - 예외 없이 거절 결과 반환")
+    void tryUseBalance_rejectedWithoutException() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(100L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        ServiceResult<TransactionDTO> result = transactionService.tryUseBalance(
+                1L, "1234567890", 1000L);
+
+        // then
+        verify(transactionRepository, never()).save(any());
+        assertFalse(result.isSuccess());
+        assertEquals(AMOUNT_EXCEED_BALANCE, result.getErrorCode());
+        assertEquals(100L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("1시간 사용 한도 초과 - 잔액 사용 실패")
+    void useBalanceFailed_spendingLimitExceeded() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        given(spendingLimitService.check(anyString(), anyLong()))
+                .willReturn(HOURLY_LIMIT_EXCEEDED);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1234567890", 1000L));
+
+        // then
+        verify(transactionRepository, never()).save(any());
+        assertEquals(HOURLY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(10000L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("사기 의심 - 잔액 사용 실패")
+    void useBalanceFailed_fraudSuspected() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        given(fraudRuleEngine.evaluate(anyLong(), anyString(), anyLong()))
+                .willReturn(FRAUD_SUSPECTED);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1234567890", 1000L));
+
+        // then
+        verify(transactionRepository, never()).save(any());
+        verify(spendingLimitService, never()).check(anyString(), anyLong());
+        assertEquals(FRAUD_SUSPECTED, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("사용실패 트랜잭션 저장테스트")
     void saveFailedUseTransaction() {
@@ -267,6 +410,7 @@ class TransactionServiceTest {
         assertEquals(5000L, captor.getValue().getAmount());
         assertEquals(10000L, captor.getValue().getBalanceSnapShot());
         assertEquals(F, captor.getValue().getTransactionResultType());
+        verify(outboxEventRepository, never()).save(any());
     }
 
     @Test
@@ -285,13 +429,14 @@ class TransactionServiceTest {
                 .build();
 
         Transaction transaction = Transaction.builder()
-                .transactionType(CANCEL)
+                .transactionType(USE)
                 .transactionResultType(S)
                 .account(account)
                 .amount(1000L)
                 .balanceSnapShot(9000L)
                 .transactionId("transactionId")
                 .transactedAt(LocalDateTime.now())
+                .cancellableAmount(1000L)
                 .build();
 
         given(transactionRepository.findByTransactionId(anyString()))
@@ -300,6 +445,9 @@ class TransactionServiceTest {
         given(accountRepository.findByAccountNumber(anyString()))
                 .willReturn(Optional.of(account));
 
+        given(transactionRepository.decreaseCancellableAmount(any(), anyLong()))
+                .willReturn(1);
+
         given(transactionRepository.save(any()))
                 .willReturn(Transaction.builder()
                         .transactionType(CANCEL)
@@ -321,6 +469,7 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).save(captor.capture());
         assertEquals(1000L, captor.getValue().getAmount());
         assertEquals(51000L, captor.getValue().getBalanceSnapShot());
+        assertEquals("transactionId", captor.getValue().getRelatedTransactionId());
         assertEquals(CANCEL, transactionDTO.getTransactionType());
         assertEquals(S, transactionDTO.getTransactionResultType());
         assertEquals(1000L, transactionDTO.getAmount());
@@ -365,8 +514,8 @@ class TransactionServiceTest {
     }
 
     @Test
-    @DisplayName("거래금액과 취소금액이 다름 - 거래 취소 실패")
-    void cancelBalanceFailed_CancelMustFully() {
+    @DisplayName("취소 가능 금액 초과 - 거래 취소 실패")
+    void cancelBalanceFailed_CancelAmountExceed() {
         // given
         AccountUser user = AccountUser.builder()
                 .name("MinSu")
@@ -381,13 +530,14 @@ class TransactionServiceTest {
                 .build();
 
         Transaction transaction = Transaction.builder()
-                .transactionType(CANCEL)
+                .transactionType(USE)
                 .transactionResultType(S)
                 .account(account)
                 .amount(1000L)
                 .balanceSnapShot(9000L)
                 .transactionId("transactionId")
                 .transactedAt(LocalDateTime.now())
+                .cancellableAmount(1000L)
                 .build();
 
         given(transactionRepository.findByTransactionId(anyString()))
@@ -402,7 +552,7 @@ class TransactionServiceTest {
                 "1234567890", 5000L));
 
         // then
-        assertEquals(CANCEL_MUST_FULLY, exception.getErrorCode());
+        assertEquals(CANCEL_AMOUNT_EXCEED, exception.getErrorCode());
     }
     
     @Test
@@ -554,4 +704,626 @@ class TransactionServiceTest {
         assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("색인에 있는 계좌 - 계좌번호 대신 id 로 조회")
+    void useBalance_FindAccountByIndexedId() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountNumberIndex.find("1234567890"))
+                .willReturn(7L);
+        given(accountRepository.findById(7L))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransactionDTO transactionDTO = transactionService.useBalance(
+                1L, "1234567890", 5000L);
+
+        // then
+        assertEquals(5000L, transactionDTO.getBalanceSnapShot());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("필터에 없는 거래 - DB 조회 없이 거래 조회 실패")
+    void queryTransactionFailed_AbsentInFilter() {
+        // given
+        given(existenceFilter.isTransactionAbsent("transactionId"))
+                .willReturn(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.queryTransaction("transactionId"));
+
+        // then
+        assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        verify(transactionRepository, never()).findByTransactionId(anyString());
+        verify(transactionArchive, never()).findByTransactionId(anyString());
+    }
+
+    @Test
+    void successTransferBalance() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(user)
+                .accountNumber("1111111111")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        Account toAccount = Account.builder()
+                .accountUser(user)
+                .accountNumber("2222222222")
+                .accountStatus(IN_USE)
+                .balance(500L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("2222222222"))
+                .willReturn(Optional.of(toAccount));
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+
+        // when
+        TransactionDTO transactionDTO = transactionService.transferBalance(
+                1L, "1111111111", "2222222222", 3000L);
+
+        // then
+        verify(transactionRepository, times(2)).save(captor.capture());
+        Transaction transferOut = captor.getAllValues().get(0);
+        Transaction transferIn = captor.getAllValues().get(1);
+        assertEquals(TRANSFER_OUT, transferOut.getTransactionType());
+        assertEquals(7000L, transferOut.getBalanceSnapShot());
+        assertEquals(TRANSFER_IN, transferIn.getTransactionType());
+        assertEquals(3500L, transferIn.getBalanceSnapShot());
+        assertEquals(transferOut.getTransactionId(),
+                transferIn.getRelatedTransactionId());
+        assertEquals(7000L, fromAccount.getBalance());
+        assertEquals(3500L, toAccount.getBalance());
+        assertEquals("2222222222", transactionDTO.getCounterpartAccountNumber());
+        verify(eventPublisher).publishEvent(any(BalanceUsedEvent.class));
+        verify(eventPublisher).publishEvent(any(FraudActivityEvent.class));
+    }
+
+    @Test
+    @DisplayName("사용 한도 초과 - 이체 실패")
+    void transferBalanceFailed_spendingLimitExceeded() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(user)
+                .accountNumber("1111111111")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("2222222222"))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("2222222222")
+                        .accountStatus(IN_USE)
+                        .balance(0L)
+                        .build()));
+        given(spendingLimitService.check("1111111111", 3000L))
+                .willReturn(DAILY_LIMIT_EXCEEDED);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(
+                        1L, "1111111111", "2222222222", 3000L));
+
+        // then
+        assertEquals(DAILY_LIMIT_EXCEEDED, exception.getErrorCode());
+        assertEquals(10000L, fromAccount.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("같은 계좌로 이체 - 이체 실패")
+    void transferBalanceFailed_sameAccount() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(
+                        1L, "1111111111", "1111111111", 1000L));
+
+        // then
+        assertEquals(TRANSFER_SAME_ACCOUNT, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("다른 샤드의 계좌로 이체 - 이체 실패")
+    void transferBalanceFailed_crossShard() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(shardRouter.belongsToOtherShard("2222222222"))
+                .willReturn(true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(
+                        1L, "1111111111", "2222222222", 1000L));
+
+        // then
+        assertEquals(TRANSFER_CROSS_SHARD, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 이체 실패")
+    void transferBalanceFailed_exceedAmount() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(user)
+                .accountNumber("1111111111")
+                .accountStatus(IN_USE)
+                .balance(100L)
+                .build();
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumber("2222222222"))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("2222222222")
+                        .accountStatus(IN_USE)
+                        .balance(0L)
+                        .build()));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(
+                        1L, "1111111111", "2222222222", 1000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    void successBatchTransferBalance() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account fromAccount = Account.builder()
+                .accountUser(user)
+                .accountNumber("1111111111")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        fromAccount.setId(1L);
+
+        Account toAccount1 = Account.builder()
+                .accountUser(user)
+                .accountNumber("2222222222")
+                .accountStatus(IN_USE)
+                .balance(0L)
+                .build();
+        toAccount1.setId(2L);
+
+        Account toAccount2 = Account.builder()
+                .accountUser(user)
+                .accountNumber("3333333333")
+                .accountStatus(IN_USE)
+                .balance(100L)
+                .build();
+        toAccount2.setId(3L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(fromAccount));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(toAccount1, toAccount2));
+        given(accountRepository.increaseBalance(anyLong(), anyLong(), any()))
+                .willReturn(1);
+        given(accountRepository.findBalanceById(2L)).willReturn(1000L);
+        given(accountRepository.findBalanceById(3L)).willReturn(2100L);
+
+        // when
+        List<TransactionDTO> transactionDTOs = transactionService.batchTransferBalance(
+                1L, "1111111111", List.of(
+                        new BatchTransferBalance.Item("2222222222", 1000L),
+                        new BatchTransferBalance.Item("3333333333", 2000L)));
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(transactionsCaptor.capture());
+        List<Transaction> saved = transactionsCaptor.getValue();
+        assertEquals(4, saved.size());
+        assertEquals(9000L, saved.get(0).getBalanceSnapShot());
+        assertEquals(1000L, saved.get(1).getBalanceSnapShot());
+        assertEquals(7000L, saved.get(2).getBalanceSnapShot());
+        assertEquals(2100L, saved.get(3).getBalanceSnapShot());
+        assertEquals(7000L, fromAccount.getBalance());
+        assertEquals(2, transactionDTOs.size());
+        assertEquals("3333333333",
+                transactionDTOs.get(1).getCounterpartAccountNumber());
+        verify(spendingLimitService).check("1111111111", 3000L);
+        verify(eventPublisher, times(2)).publishEvent(any(BalanceUsedEvent.class));
+    }
+
+    @Test
+    @DisplayName("입금 계좌 없음 - 일괄 이체 실패")
+    void batchTransferBalanceFailed_toAccountNotFound() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(user));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(user)
+                        .accountNumber("1111111111")
+                        .accountStatus(IN_USE)
+                        .balance(10000L)
+                        .build()));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.batchTransferBalance(
+                        1L, "1111111111", List.of(
+                                new BatchTransferBalance.Item("2222222222", 1000L))));
+
+        // then
+        assertEquals(ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("부분 취소 - 남은 금액만큼 취소")
+    void successPartialCancelBalance() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(9000L)
+                .build();
+        account.setId(1L);
+
+        Transaction transaction = Transaction.builder()
+                .transactionType(USE)
+                .transactionResultType(S)
+                .account(account)
+                .amount(1000L)
+                .balanceSnapShot(9000L)
+                .transactionId("transactionId")
+                .transactedAt(LocalDateTime.now())
+                .cancellableAmount(600L)
+                .build();
+        transaction.setId(10L);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(transaction));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        given(transactionRepository.decreaseCancellableAmount(10L, 400L))
+                .willReturn(1);
+        given(transactionRepository.save(any()))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TransactionDTO transactionDTO = transactionService.cancelBalance(
+                "transactionId", "1234567890", 400L);
+
+        // then
+        assertEquals(CANCEL, transactionDTO.getTransactionType());
+        assertEquals(400L, transactionDTO.getAmount());
+        assertEquals(9400L, transactionDTO.getBalanceSnapShot());
+        assertEquals(9400L, account.getBalance());
+    }
+
+    @Test
+    @DisplayName("동시 부분 취소로 남은 금액 부족 - 거래 취소 실패")
+    void cancelBalanceFailed_concurrentCancelExhausted() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(9000L)
+                .build();
+        account.setId(1L);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .account(account)
+                        .amount(1000L)
+                        .transactionId("transactionId")
+                        .cancellableAmount(1000L)
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+        // 조회 이후 다른 요청이 먼저 취소해 조건부 차감이 실패
+        given(transactionRepository.decreaseCancellableAmount(any(), anyLong()))
+                .willReturn(0);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance(
+                        "transactionId", "1234567890", 1000L));
+
+        // then
+        assertEquals(CANCEL_AMOUNT_EXCEED, exception.getErrorCode());
+        assertEquals(9000L, account.getBalance());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("이미 전액 취소된 거래 - 거래 취소 실패")
+    void cancelBalanceFailed_alreadyCanceled() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        account.setId(1L);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .account(account)
+                        .amount(1000L)
+                        .transactionId("transactionId")
+                        .cancellableAmount(0L)
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance(
+                        "transactionId", "1234567890", 1000L));
+
+        // then
+        assertEquals(TRANSACTION_ALREADY_CANCELED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("사용 거래가 아님 - 거래 취소 실패")
+    void cancelBalanceFailed_notCancelable() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+        account.setId(1L);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .transactionType(CANCEL)
+                        .transactionResultType(S)
+                        .account(account)
+                        .amount(1000L)
+                        .transactionId("transactionId")
+                        .build()));
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance(
+                        "transactionId", "1234567890", 1000L));
+
+        // then
+        assertEquals(TRANSACTION_NOT_CANCELABLE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("복제본에 없는 거래 - 쓰기 DB 에서 조회")
+    void queryTransaction_fallbackToPrimary() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(50000L)
+                .build();
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        given(primaryReader.readFromPrimary(any()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .account(account)
+                        .amount(1000L)
+                        .transactionId("transactionId")
+                        .build()));
+
+        // when
+        TransactionDTO transactionDTO = transactionService.queryTransaction(
+                "transactionId");
+
+        // then
+        assertEquals("transactionId", transactionDTO.getTransactionId());
+        assertEquals("1234567890", transactionDTO.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("테이블에 없는 거래 - 보관 세그먼트에서 조회")
+    void queryTransaction_fallbackToArchive() {
+        // given
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.empty());
+        given(primaryReader.readFromPrimary(any()))
+                .willReturn(Optional.empty());
+        given(transactionArchive.findByTransactionId(anyString()))
+                .willReturn(Optional.of(ArchivedTransaction.builder()
+                        .accountNumber("1234567890")
+                        .transactionType(USE)
+                        .transactionResultType(S)
+                        .amount(1000L)
+                        .balanceSnapShot(9000L)
+                        .transactionId("transactionId")
+                        .build()));
+
+        // when
+        TransactionDTO transactionDTO = transactionService.queryTransaction(
+                "transactionId");
+
+        // then
+        assertEquals("transactionId", transactionDTO.getTransactionId());
+        assertEquals(9000L, transactionDTO.getBalanceSnapShot());
+    }
+
+    @Test
+    void successApplyImportedRecords() {
+        // given
+        AccountUser user = AccountUser.builder()
+                .name("MinSu")
+                .build();
+        user.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(user)
+                .accountNumber("1234567890")
+                .accountStatus(IN_USE)
+                .balance(10000L)
+                .build();
+
+        given(transactionRepository.existsByTransactionIdIn(anyList()))
+                .willReturn(false);
+        given(accountRepository.findByAccountNumber(anyString()))
+                .willReturn(Optional.of(account));
+
+        // when
+        List<ServiceResult<TransactionDTO>> results = transactionService.applyImportedRecords(
+                "1234567890", List.of(
+                        importedUse(1, 1L, 3000L, "id1"),
+                        importedUse(2, 1L, 8000L, "id2"),
+                        ImportRecord.builder().recordNo(3).transactionId("id3").build(),
+                        importedUse(4, 1L, 7000L, "id4")));
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(transactionsCaptor.capture());
+        assertEquals(2, transactionsCaptor.getValue().size());
+        assertEquals("id1", transactionsCaptor.getValue().get(0).getTransactionId());
+        assertEquals(7000L, transactionsCaptor.getValue().get(0).getBalanceSnapShot());
+        assertEquals(0L, transactionsCaptor.getValue().get(1).getBalanceSnapShot());
+        assertEquals(0L, account.getBalance());
+        assertEquals("id1", results.get(0).getValue().getTransactionId());
+        assertEquals(AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals(INVALID_REQUEST, results.get(2).getErrorCode());
+        assertEquals("id4", results.get(3).getValue().getTransactionId());
+    }
+
+    @Test
+    @DisplayName("이미 반영된 묶음 - 다시 반영하지 않음")
+    void applyImportedRecords_AlreadyApplied() {
+        // given
+        given(transactionRepository.existsByTransactionIdIn(anyList()))
+                .willReturn(true);
+
+        // when
+        List<ServiceResult<TransactionDTO>> results = transactionService.applyImportedRecords(
+                "1234567890", List.of(importedUse(1, 1L, 1000L, "id1")));
+
+        // then
+        assertNull(results);
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    private ImportRecord importedUse(int recordNo, Long userId, long amount,
+                                     String transactionId) {
+        return ImportRecord.builder()
+                .recordNo(recordNo)
+                .transactionType(USE)
+                .userId(userId)
+                .amount(amount)
+                .transactionId(transactionId)
+                .build();
+    }
+}